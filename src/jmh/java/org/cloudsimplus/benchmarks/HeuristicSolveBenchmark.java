@@ -0,0 +1,79 @@
+package org.cloudsimplus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.cloudbus.cloudsim.distributions.UniformDistr;
+import org.cloudsimplus.GeometricCoolingSchedule;
+import org.cloudsimplus.SimulatedAnnealingHeuristic;
+import org.cloudsimplus.heuristics.CloudletToVmMappingSimulatedAnnealing;
+import org.cloudsimplus.heuristics.CloudletToVmMappingSolution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time to solve a whole Cloudlet to VM mapping by the {@link SimulatedAnnealingHeuristic}
+ * and by the CloudSim Plus {@link CloudletToVmMappingSimulatedAnnealing}, both with the same cooling schedule
+ * and neighbors by iteration, so that they run the same number of iterations
+ * (unless the first one finds a perfectly balanced mapping earlier).
+ *
+ * <p>The largest sizes take long for the CloudSim Plus heuristic, so the sizes can be narrowed with
+ * the JMH {@code -p} option, such as {@code -p cloudlets=1000,10000 -p vms=100}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HeuristicSolveBenchmark {
+	private static final double INITIAL_TEMPERATURE = 1.0;
+	private static final double COLD_TEMPERATURE = 0.0001;
+	private static final double COOLING_RATE = 0.01;
+	private static final int NEIGHBORHOOD_SEARCHES = 5;
+
+	@Param({"100", "1000", "10000", "100000"})
+	private int cloudlets;
+
+	@Param({"10", "100", "1000", "10000"})
+	private int vms;
+
+	private SimulatedAnnealingHeuristic heuristic;
+	private CloudletToVmMappingSimulatedAnnealing cloudSimPlusHeuristic;
+
+	@Setup
+	public void setup() {
+		final MappingWorkload workload = new MappingWorkload(cloudlets, vms);
+
+		heuristic = new SimulatedAnnealingHeuristic(new GeometricCoolingSchedule(INITIAL_TEMPERATURE, COLD_TEMPERATURE, COOLING_RATE));
+		heuristic.setSeed(MappingWorkload.SEED);
+		heuristic.setSearchesByIteration(NEIGHBORHOOD_SEARCHES);
+		heuristic.setCloudletList(workload.getCloudletList());
+		heuristic.setVmList(workload.getVmList());
+
+		cloudSimPlusHeuristic = new CloudletToVmMappingSimulatedAnnealing(INITIAL_TEMPERATURE, new UniformDistr(0, 1, MappingWorkload.SEED));
+		cloudSimPlusHeuristic.setColdTemperature(COLD_TEMPERATURE);
+		cloudSimPlusHeuristic.setCoolingRate(COOLING_RATE);
+		cloudSimPlusHeuristic.setSearchesByIteration(NEIGHBORHOOD_SEARCHES);
+		cloudSimPlusHeuristic.setCloudletList(workload.getCloudletList());
+		cloudSimPlusHeuristic.setVmList(workload.getVmList());
+	}
+
+	@Benchmark
+	public CloudletToVmMappingSolution simulatedAnnealingHeuristic() {
+		return heuristic.solve();
+	}
+
+	@Benchmark
+	public CloudletToVmMappingSolution cloudletToVmMappingSimulatedAnnealing() {
+		return cloudSimPlusHeuristic.solve();
+	}
+}
@@ -0,0 +1,118 @@
+package org.cloudsimplus.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.cloudbus.cloudsim.distributions.UniformDistr;
+import org.cloudsimplus.SimulatedAnnealingHeuristic;
+import org.cloudsimplus.SimulatedAnnealingMove;
+import org.cloudsimplus.SimulatedAnnealingSolution;
+import org.cloudsimplus.heuristics.CloudletToVmMappingSimulatedAnnealing;
+import org.cloudsimplus.heuristics.CloudletToVmMappingSolution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the operations a Simulated Annealing search runs at each iteration
+ * on a random mapping: computing the cost of a solution and creating a neighbor of it.
+ * The operations of the {@link SimulatedAnnealingSolution} are compared with the ones of the
+ * CloudSim Plus {@link CloudletToVmMappingSolution}, which recomputes the cost from all Cloudlets
+ * and copies the whole mapping to create each neighbor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MappingSolutionBenchmark {
+	@Param({"100", "1000", "10000", "100000"})
+	private int cloudlets;
+
+	@Param({"10", "100", "1000", "10000"})
+	private int vms;
+
+	private SimulatedAnnealingHeuristic heuristic;
+	private SimulatedAnnealingSolution solution;
+	private final SimulatedAnnealingMove move = new SimulatedAnnealingMove();
+	private final SplittableRandom random = new SplittableRandom(MappingWorkload.SEED);
+
+	private CloudletToVmMappingSimulatedAnnealing cloudSimPlusHeuristic;
+	private CloudletToVmMappingSolution cloudSimPlusSolution;
+
+	@Setup
+	public void setup() {
+		final MappingWorkload workload = new MappingWorkload(cloudlets, vms);
+
+		heuristic = new SimulatedAnnealingHeuristic();
+		heuristic.setSeed(MappingWorkload.SEED);
+		heuristic.setCloudletList(workload.getCloudletList());
+		heuristic.setVmList(workload.getVmList());
+		solution = heuristic.getInitialSolution();
+
+		cloudSimPlusHeuristic = new CloudletToVmMappingSimulatedAnnealing(1, new UniformDistr(0, 1, MappingWorkload.SEED));
+		cloudSimPlusHeuristic.setCloudletList(workload.getCloudletList());
+		cloudSimPlusHeuristic.setVmList(workload.getVmList());
+		cloudSimPlusSolution = cloudSimPlusHeuristic.getInitialSolution();
+	}
+
+	@Benchmark
+	public double computeCostDiffOfAllVms() {
+		return solution.computeCostDiffOfAllVms();
+	}
+
+	@Benchmark
+	public double getCost() {
+		return solution.getCost();
+	}
+
+	@Benchmark
+	public double cloudSimPlusGetCost() {
+		return cloudSimPlusSolution.getCost(true);
+	}
+
+	/**
+	 * Creates a neighbor as a copy of the solution with a move applied,
+	 * as the {@link CloudletToVmMappingSolution} does.
+	 */
+	@Benchmark
+	public CloudletToVmMappingSolution createNeighbor() {
+		return heuristic.createNeighbor(solution);
+	}
+
+	@Benchmark
+	public CloudletToVmMappingSolution cloudSimPlusCreateNeighbor() {
+		return cloudSimPlusHeuristic.createNeighbor(cloudSimPlusSolution);
+	}
+
+	/**
+	 * Generates a move and computes its cost delta without changing the solution,
+	 * which is how {@link SimulatedAnnealingHeuristic#solve()} evaluates each neighbor.
+	 */
+	@Benchmark
+	public double evaluateMove() {
+		heuristic.getMoveGenerator().generate(solution, random, move);
+		return solution.computeCostDelta(move);
+	}
+
+	/**
+	 * Applies a move in place and reverts it, as done when a neighbor is rejected.
+	 */
+	@Benchmark
+	public double applyAndUndoMove() {
+		heuristic.getMoveGenerator().generate(solution, random, move);
+		solution.applyMove(move);
+		final double cost = solution.getCost();
+		solution.undoMove();
+		return cost;
+	}
+}
@@ -0,0 +1,57 @@
+package org.cloudsimplus.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import ch.qos.logback.classic.Level;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.cloudsimplus.util.Log;
+
+/**
+ * Creates the Cloudlets and VMs to be mapped by the benchmarks, with a random number of PEs
+ * between 1 and {@link #MAX_PES} as in {@link org.cloudsimplus.DatacenterBrokerHeuristicCustom}.
+ * No simulation is created, since the mapping heuristics just need the PEs of each Cloudlet and VM,
+ * so the benchmarks measure the mapping alone.
+ */
+final class MappingWorkload {
+	static final int MAX_PES = 4;
+	private static final long CLOUDLET_LENGTH = 10_000;
+	private static final long VM_MIPS = 1000;
+
+	/**
+	 * Seed of the workload, so that all benchmarks of a given size map the same Cloudlets and VMs.
+	 */
+	static final long SEED = 1;
+
+	private final List<Cloudlet> cloudletList;
+	private final List<Vm> vmList;
+
+	MappingWorkload(final int cloudlets, final int vms) {
+		// The CloudSim Plus heuristics log each iteration, which would be measured too
+		Log.setLevel(Level.WARN);
+
+		final SplittableRandom random = new SplittableRandom(SEED);
+		this.cloudletList = new ArrayList<>(cloudlets);
+		for (int i = 0; i < cloudlets; i++) {
+			cloudletList.add(new CloudletSimple(i, CLOUDLET_LENGTH, random.nextInt(1, MAX_PES + 1)));
+		}
+
+		this.vmList = new ArrayList<>(vms);
+		for (int i = 0; i < vms; i++) {
+			vmList.add(new VmSimple(i, VM_MIPS, random.nextInt(1, MAX_PES + 1)));
+		}
+	}
+
+	List<Cloudlet> getCloudletList() {
+		return cloudletList;
+	}
+
+	List<Vm> getVmList() {
+		return vmList;
+	}
+}
@@ -0,0 +1,72 @@
+package org.cloudsimplus;
+
+/**
+ * A {@link CoolingSchedule} that adapts the cooling to a target rate of accepted moves.
+ * It keeps an exponential moving average of the acceptance rate and, at each iteration,
+ * multiplies the temperature by {@code 1 - coolingRate * (2 * rate/target - 1)}.
+ * When the acceptance rate is at the target, it cools as the {@link GeometricCoolingSchedule};
+ * when more moves are accepted, it cools faster; and when the search is getting stuck,
+ * it slows down the cooling or even reheats (never above the initial temperature).
+ */
+public class AdaptiveCoolingSchedule extends CoolingScheduleAbstract {
+	/**
+	 * The weight of the last evaluated move in the moving average of the acceptance rate.
+	 */
+	private static final double ACCEPTANCE_SMOOTHING = 0.01;
+
+	private final double targetAcceptanceRate;
+	private double acceptanceRate;
+
+	/**
+	 * Creates an adaptive cooling schedule.
+	 *
+	 * @param coolingRate the rate the temperature decreases, greater than 0 and up to 0.5,
+	 *                    so that the temperature stays positive even when cooling at twice the rate
+	 * @param targetAcceptanceRate the desired rate of accepted moves, between 0 and 1 (exclusive)
+	 */
+	public AdaptiveCoolingSchedule(
+		final double initialTemperature, final double coldTemperature,
+		final double coolingRate, final double targetAcceptanceRate)
+	{
+		super(initialTemperature, coldTemperature, coolingRate);
+		if (coolingRate > 0.5) {
+			throw new IllegalArgumentException("The cooling rate of an adaptive schedule must not be greater than 0.5.");
+		}
+		if (targetAcceptanceRate <= 0 || targetAcceptanceRate >= 1) {
+			throw new IllegalArgumentException("The target acceptance rate must be between 0 and 1 (exclusive).");
+		}
+		this.targetAcceptanceRate = targetAcceptanceRate;
+		this.acceptanceRate = targetAcceptanceRate;
+	}
+
+	public double getTargetAcceptanceRate() {
+		return targetAcceptanceRate;
+	}
+
+	/**
+	 * Gets the moving average of the acceptance rate.
+	 */
+	public double getAcceptanceRate() {
+		return acceptanceRate;
+	}
+
+	/**
+	 * Resets the moving average of the acceptance rate to the target,
+	 * so that a new search doesn't start from the rate the last one ended with.
+	 */
+	@Override
+	public void start() {
+		acceptanceRate = targetAcceptanceRate;
+	}
+
+	@Override
+	public void notifyMoveEvaluated(final boolean accepted) {
+		acceptanceRate += ACCEPTANCE_SMOOTHING * ((accepted ? 1 : 0) - acceptanceRate);
+	}
+
+	@Override
+	public double nextTemperature(final double temperature, final long iteration) {
+		final double deviation = Math.min(2 * acceptanceRate / targetAcceptanceRate - 1, 2);
+		return Math.min(temperature * (1 - getCoolingRate() * deviation), getInitialTemperature());
+	}
+}
@@ -0,0 +1,126 @@
+package org.cloudsimplus;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Chooses, for each move, one of several {@link MoveGenerator}s with probability
+ * proportional to the recent acceptance rate of its moves,
+ * so that the search focuses on the strategies that currently pay off.
+ * The acceptance rate of each strategy is an exponential moving average,
+ * and every strategy keeps a minimum share of the moves,
+ * so that it can be picked again if it becomes useful later in the search.
+ */
+public class AdaptiveMoveGenerator implements MoveGenerator {
+	/**
+	 * Weight of the latest move in the moving average of the acceptance rate of its strategy.
+	 */
+	public static final double DEFAULT_SMOOTHING = 0.05;
+
+	/**
+	 * The minimum share of the moves given to each strategy, divided by the number of strategies.
+	 */
+	public static final double DEFAULT_MIN_SHARE = 0.2;
+
+	private final MoveGenerator[] generators;
+	private final double[] acceptanceRates;
+	private final double smoothing;
+	private final double minShare;
+
+	/**
+	 * Creates a generator that adapts among all the available strategies:
+	 * {@link RandomSwapMoveGenerator}, {@link RandomRelocationMoveGenerator},
+	 * {@link LoadBalancingMoveGenerator}, {@link CostRangeSwapMoveGenerator}
+	 * and {@link ChainMoveGenerator}.
+	 */
+	public AdaptiveMoveGenerator() {
+		this(List.of(
+			new RandomSwapMoveGenerator(), new RandomRelocationMoveGenerator(),
+			new LoadBalancingMoveGenerator(), new CostRangeSwapMoveGenerator(),
+			new ChainMoveGenerator()));
+	}
+
+	public AdaptiveMoveGenerator(final List<MoveGenerator> generators) {
+		this(generators, DEFAULT_SMOOTHING, DEFAULT_MIN_SHARE);
+	}
+
+	/**
+	 * Creates a generator that adapts among given strategies.
+	 *
+	 * @param generators the strategies to choose from
+	 * @param smoothing weight of the latest move in the acceptance rate of its strategy, in (0, 1]
+	 * @param minShare the minimum share of the moves given to each strategy, divided by the number of strategies, in [0, 1]
+	 */
+	public AdaptiveMoveGenerator(final List<MoveGenerator> generators, final double smoothing, final double minShare) {
+		if (generators.isEmpty()) {
+			throw new IllegalArgumentException("At least one move generator must be given.");
+		}
+		if (smoothing <= 0 || smoothing > 1) {
+			throw new IllegalArgumentException("The smoothing must be in the range (0, 1].");
+		}
+		if (minShare < 0 || minShare > 1) {
+			throw new IllegalArgumentException("The minimum share must be in the range [0, 1].");
+		}
+
+		this.generators = generators.toArray(new MoveGenerator[0]);
+		this.acceptanceRates = new double[this.generators.length];
+		// All strategies start with the same chance
+		Arrays.fill(acceptanceRates, 1);
+		this.smoothing = smoothing;
+		this.minShare = minShare;
+	}
+
+	public List<MoveGenerator> getGenerators() {
+		return List.of(generators);
+	}
+
+	/**
+	 * Gets the current acceptance rate of the moves of a strategy.
+	 *
+	 * @param generator the index of the strategy in {@link #getGenerators()}
+	 */
+	public double getAcceptanceRate(final int generator) {
+		return acceptanceRates[generator];
+	}
+
+	@Override
+	public void generate(final SimulatedAnnealingSolution solution, final SplittableRandom random, final SimulatedAnnealingMove move) {
+		final MoveGenerator generator = generators[selectGenerator(random)];
+		generator.generate(solution, random, move);
+		move.setGenerator(generator);
+	}
+
+	/**
+	 * Selects a strategy by roulette wheel, where each one gets its minimum share
+	 * plus a share of the remaining probability proportional to its acceptance rate.
+	 */
+	private int selectGenerator(final SplittableRandom random) {
+		double totalRate = 0;
+		for (final double rate : acceptanceRates) {
+			totalRate += rate;
+		}
+
+		final double uniformShare = minShare / generators.length;
+		double value = random.nextDouble();
+		for (int i = 0; i < generators.length - 1; i++) {
+			final double rateShare = totalRate == 0 ? 1.0 / generators.length : acceptanceRates[i] / totalRate;
+			value -= uniformShare + (1 - minShare) * rateShare;
+			if (value < 0) {
+				return i;
+			}
+		}
+		return generators.length - 1;
+	}
+
+	@Override
+	public void notifyMoveEvaluated(final SimulatedAnnealingMove move, final boolean accepted) {
+		for (int i = 0; i < generators.length; i++) {
+			if (generators[i] == move.getGenerator()) {
+				acceptanceRates[i] += smoothing * ((accepted ? 1 : 0) - acceptanceRates[i]);
+				generators[i].notifyMoveEvaluated(move, accepted);
+				return;
+			}
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package org.cloudsimplus;
+
+import java.util.Locale;
+
+/**
+ * The state of a {@link SimulatedAnnealingHeuristic} search at a given iteration,
+ * recorded by an {@link AnnealingTelemetry}.
+ *
+ * @param iteration the iteration the sample was taken at, from 1
+ * @param elapsedNanos the wall-clock time since the search started
+ * @param temperature the temperature at the iteration
+ * @param currentCost the cost of the solution the search is at
+ * @param bestCost the cost of the best solution found so far
+ * @param acceptanceRate the rate of moves accepted since the previous sample
+ * @param moveType the name of the {@link MoveGenerator} of the latest evaluated move
+ */
+public record AnnealingSample(
+	long iteration, long elapsedNanos, double temperature,
+	double currentCost, double bestCost, double acceptanceRate, String moveType)
+{
+	public static String getCsvHeader() {
+		return "iteration,elapsedNanos,temperature,currentCost,bestCost,acceptanceRate,moveType";
+	}
+
+	public String toCsvRow() {
+		return String.format(
+			Locale.ROOT, "%d,%d,%s,%s,%s,%s,%s",
+			iteration, elapsedNanos, temperature, currentCost, bestCost, acceptanceRate, moveType);
+	}
+
+	/**
+	 * Formats this sample as a JSON object in a single line.
+	 */
+	public String toJson() {
+		return String.format(
+			Locale.ROOT,
+			"{\"iteration\":%d,\"elapsedNanos\":%d,\"temperature\":%s,\"currentCost\":%s,\"bestCost\":%s,\"acceptanceRate\":%s,\"moveType\":\"%s\"}",
+			iteration, elapsedNanos, temperature, currentCost, bestCost, acceptanceRate, moveType);
+	}
+}
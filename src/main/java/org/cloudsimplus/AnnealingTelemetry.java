@@ -0,0 +1,243 @@
+package org.cloudsimplus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Records how a {@link SimulatedAnnealingHeuristic} search converges:
+ * every {@link #getSampleInterval() sample interval} iterations, it takes an {@link AnnealingSample}
+ * with the temperature, current and best costs, the acceptance rate since the previous sample
+ * and the type of the latest move.
+ * The samples are kept into a ring buffer of primitive arrays,
+ * so that long searches keep just the latest {@link #getCapacity() capacity} samples
+ * and recording them doesn't allocate objects.
+ * Sample objects are just created when read, exported or given to the {@link #addListener(Consumer) listeners}.
+ *
+ * <p>A telemetry is {@link #start() started} by the heuristic when the search begins,
+ * which clears the previous samples, so it must not be shared by heuristics running in parallel.</p>
+ */
+public class AnnealingTelemetry {
+	public static final int DEFAULT_CAPACITY = 4096;
+
+	private final int capacity;
+	private final int sampleInterval;
+	private final long[] iterations;
+	private final long[] elapsedNanos;
+	private final double[] temperatures;
+	private final double[] currentCosts;
+	private final double[] bestCosts;
+	private final double[] acceptanceRates;
+	private final int[] moveTypes;
+	/**
+	 * The move generators seen so far, whose positions are the move types stored in {@link #moveTypes}.
+	 */
+	private final List<MoveGenerator> generators = new ArrayList<>();
+	private final List<Consumer<AnnealingSample>> listeners = new ArrayList<>();
+
+	/**
+	 * Position of the oldest sample in the ring buffer.
+	 */
+	private int head;
+	private int size;
+	private long startNanos;
+	private int evaluatedMoves;
+	private int acceptedMoves;
+
+	/**
+	 * Creates a telemetry that samples every iteration.
+	 */
+	public AnnealingTelemetry() {
+		this(DEFAULT_CAPACITY, 1);
+	}
+
+	/**
+	 * Creates a telemetry.
+	 *
+	 * @param capacity the maximum number of samples kept, dropping the oldest ones
+	 * @param sampleInterval the number of iterations between samples
+	 */
+	public AnnealingTelemetry(final int capacity, final int sampleInterval) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("The telemetry capacity must be greater than zero.");
+		}
+		if (sampleInterval <= 0) {
+			throw new IllegalArgumentException("The sample interval must be greater than zero.");
+		}
+		this.capacity = capacity;
+		this.sampleInterval = sampleInterval;
+		this.iterations = new long[capacity];
+		this.elapsedNanos = new long[capacity];
+		this.temperatures = new double[capacity];
+		this.currentCosts = new double[capacity];
+		this.bestCosts = new double[capacity];
+		this.acceptanceRates = new double[capacity];
+		this.moveTypes = new int[capacity];
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public int getSampleInterval() {
+		return sampleInterval;
+	}
+
+	/**
+	 * Adds a listener notified of each sample as it's taken, in the thread running the search.
+	 */
+	public AnnealingTelemetry addListener(final Consumer<AnnealingSample> listener) {
+		listeners.add(listener);
+		return this;
+	}
+
+	public boolean removeListener(final Consumer<AnnealingSample> listener) {
+		return listeners.remove(listener);
+	}
+
+	/**
+	 * Clears the samples and starts counting the elapsed time.
+	 */
+	public void start() {
+		head = 0;
+		size = 0;
+		evaluatedMoves = 0;
+		acceptedMoves = 0;
+		startNanos = System.nanoTime();
+	}
+
+	/**
+	 * Records an iteration of the search, taking a sample if the iteration is a multiple of the sample interval.
+	 *
+	 * @param iteration the iteration number, from 1
+	 * @param moveGenerator the generator of the move submitted to the acceptance rule
+	 * @param evaluated true if a move was submitted to the acceptance rule, false if no move was found
+	 * @param accepted true if the move was accepted
+	 */
+	public void record(
+		final long iteration, final double temperature, final double currentCost, final double bestCost,
+		final MoveGenerator moveGenerator, final boolean evaluated, final boolean accepted)
+	{
+		if (evaluated) {
+			evaluatedMoves++;
+			if (accepted) {
+				acceptedMoves++;
+			}
+		}
+
+		if (iteration % sampleInterval != 0) {
+			return;
+		}
+
+		final int slot = size < capacity ? (head + size++) % capacity : advanceHead();
+		iterations[slot] = iteration;
+		elapsedNanos[slot] = System.nanoTime() - startNanos;
+		temperatures[slot] = temperature;
+		currentCosts[slot] = currentCost;
+		bestCosts[slot] = bestCost;
+		acceptanceRates[slot] = evaluatedMoves == 0 ? 0 : acceptedMoves / (double) evaluatedMoves;
+		moveTypes[slot] = getMoveType(moveGenerator);
+		evaluatedMoves = 0;
+		acceptedMoves = 0;
+
+		if (!listeners.isEmpty()) {
+			final AnnealingSample sample = createSample(slot);
+			listeners.forEach(listener -> listener.accept(sample));
+		}
+	}
+
+	/**
+	 * Drops the oldest sample.
+	 *
+	 * @return the slot it used
+	 */
+	private int advanceHead() {
+		final int slot = head;
+		head = (head + 1) % capacity;
+		return slot;
+	}
+
+	/**
+	 * Gets the position of a generator among the ones seen so far,
+	 * which is found by a linear search since there are just a few generators.
+	 */
+	private int getMoveType(final MoveGenerator generator) {
+		final int type = generators.indexOf(generator);
+		if (type >= 0) {
+			return type;
+		}
+		generators.add(generator);
+		return generators.size() - 1;
+	}
+
+	private AnnealingSample createSample(final int slot) {
+		final MoveGenerator generator = generators.get(moveTypes[slot]);
+		return new AnnealingSample(
+			iterations[slot], elapsedNanos[slot], temperatures[slot],
+			currentCosts[slot], bestCosts[slot], acceptanceRates[slot],
+			generator == null ? "none" : generator.getClass().getSimpleName());
+	}
+
+	/**
+	 * Gets the number of samples kept.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets a kept sample.
+	 *
+	 * @param index the sample index, from 0 (the oldest one) to {@link #size()} - 1
+	 */
+	public AnnealingSample getSample(final int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("There is no sample at index " + index);
+		}
+		return createSample((head + index) % capacity);
+	}
+
+	/**
+	 * Gets the kept samples, from the oldest to the latest one.
+	 */
+	public List<AnnealingSample> getSamples() {
+		final List<AnnealingSample> samples = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			samples.add(getSample(i));
+		}
+		return samples;
+	}
+
+	/**
+	 * Writes the kept samples as CSV, with a header line.
+	 */
+	public void writeCsv(final Path file) {
+		write(file, AnnealingSample.getCsvHeader(), AnnealingSample::toCsvRow);
+	}
+
+	/**
+	 * Writes the kept samples as JSON lines: one JSON object per line.
+	 */
+	public void writeJsonLines(final Path file) {
+		write(file, null, AnnealingSample::toJson);
+	}
+
+	private void write(final Path file, final String header, final Function<AnnealingSample, String> formatter) {
+		try (Writer writer = Files.newBufferedWriter(file)) {
+			if (header != null) {
+				writer.write(header + System.lineSeparator());
+			}
+			for (int i = 0; i < size; i++) {
+				writer.write(formatter.apply(getSample(i)) + System.lineSeparator());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Error writing the annealing telemetry to " + file, e);
+		}
+	}
+}
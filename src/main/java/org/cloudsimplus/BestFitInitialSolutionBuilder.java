@@ -0,0 +1,54 @@
+package org.cloudsimplus;
+
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+/**
+ * Binds each Cloudlet to the VM with the fewest free PEs that can still run it,
+ * the same rule of the {@link org.cloudsimplus.examples.DatacenterBrokerSimulatedAnnealing#defaultVmMapper(org.cloudbus.cloudsim.cloudlets.Cloudlet)}.
+ * If no VM has enough free PEs, the Cloudlet is bound to the VM with the most free PEs.
+ * The VMs are kept sorted by free PEs, so building the solution takes O(C log V).
+ */
+public class BestFitInitialSolutionBuilder implements InitialSolutionBuilder {
+	@Override
+	public void build(final SimulatedAnnealingSolution solution, final SplittableRandom random) {
+		final CloudletToVmMappingIndex index = solution.getIndex();
+		final int vms = index.getVmsNumber();
+		if (vms == 0) {
+			return;
+		}
+
+		final long[] freePes = new long[vms];
+		final TreeSet<Long> vmsByFreePes = new TreeSet<>();
+		for (int vm = 0; vm < vms; vm++) {
+			freePes[vm] = index.getVmPes(vm) - index.getVmBaselinePes(vm);
+			vmsByFreePes.add(toKey(freePes[vm], vm));
+		}
+
+		for (int cloudlet = 0; cloudlet < index.getCloudletsNumber(); cloudlet++) {
+			final long pes = index.getCloudletPes(cloudlet);
+			Long key = vmsByFreePes.ceiling(toKey(pes, 0));
+			if (key == null) {
+				key = vmsByFreePes.last();
+			}
+
+			final int vm = toVmIndex(key);
+			vmsByFreePes.remove(key);
+			solution.bindCloudletToVm(cloudlet, vm);
+			freePes[vm] -= pes;
+			vmsByFreePes.add(toKey(freePes[vm], vm));
+		}
+	}
+
+	/**
+	 * Creates a key that sorts the VMs by free PEs (which may be negative if the VM is overloaded)
+	 * and then by index.
+	 */
+	private static long toKey(final long freePes, final int vmIndex) {
+		return (freePes << Integer.SIZE) + vmIndex;
+	}
+
+	private static int toVmIndex(final long key) {
+		return (int) (key & 0xFFFFFFFFL);
+	}
+}
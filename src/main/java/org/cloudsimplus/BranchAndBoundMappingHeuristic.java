@@ -0,0 +1,511 @@
+package org.cloudsimplus;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.heuristics.CloudletToVmMappingHeuristic;
+import org.cloudsimplus.heuristics.CloudletToVmMappingSolution;
+
+/**
+ * An exact <a href="https://en.wikipedia.org/wiki/Branch_and_bound">branch-and-bound</a> solver
+ * for small instances of the Cloudlet to VM mapping problem, which gives the optimal cost
+ * the other heuristics can be compared to.
+ * The cost is the same of the {@link CloudletToVmArrayMappingSolution}: the sum, among the VMs
+ * that have some Cloudlet, of the absolute difference between the VM PEs and the PEs requested from it.
+ *
+ * <p>The search starts from an upper bound given by the {@link LptInitialSolutionBuilder LPT rule}
+ * and binds the Cloudlets by decreasing PEs, trying first the VMs that increase the cost the least.
+ * A partial mapping is pruned when a lower bound of its cost is not below the best mapping so far.
+ * The bound is the cost the used VMs already have (overloaded VMs can't get better) plus
+ * the idle PEs the remaining Cloudlets can't fill or the remaining PEs that don't fit in any idle or unused VM.</p>
+ *
+ * <p>Since the cost depends only on how many PEs are requested from each VM, partial mappings
+ * that request the same PEs from VMs of the same size are equivalent. So, just one VM of each
+ * equivalent group is tried for each Cloudlet and, after all mappings from a given state
+ * are searched, the state is memoized so that reaching it again through another order is pruned.
+ * Memoized states take memory, so just up to {@link #getMemoCapacity()} are kept.</p>
+ *
+ * <p>The search takes exponential time in the worst case, so it stops when its {@link SearchBudget}
+ * is exhausted, which by default limits it to {@link #DEFAULT_MAX_NODES} search nodes
+ * (each one counts as an iteration of the budget), so that the result doesn't depend on the machine load.
+ * A time limit can be added to the budget as a safety cap.
+ * If the search stops early, the best mapping found is returned but {@link #isOptimal()} is false.</p>
+ */
+public class BranchAndBoundMappingHeuristic implements CloudletToVmMappingHeuristic {
+	public static final long DEFAULT_MAX_NODES = 10_000_000;
+	public static final int DEFAULT_MEMO_CAPACITY = 1 << 20;
+
+	/**
+	 * Number of search nodes between checks of the budget, since checking the time is not free.
+	 */
+	private static final int BUDGET_CHECK_INTERVAL = 1024;
+
+	/**
+	 * The number of bits of the requested PEs in a {@link #getVmState(int) VM state}
+	 * and the maximum VM PEs that fit in the remaining ones.
+	 */
+	private static final int REQUESTED_PES_BITS = 42;
+	private static final long MAX_MEMO_VM_PES = (1L << (Long.SIZE - REQUESTED_PES_BITS - 2)) - 1;
+
+	/**
+	 * A memoized search state: the depth followed by the sorted states of all VMs.
+	 */
+	private record MemoKey(long[] values) {
+		@Override
+		public boolean equals(final Object other) {
+			return other instanceof MemoKey key && Arrays.equals(values, key.values);
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(values);
+		}
+	}
+
+	private List<Cloudlet> cloudletList;
+	private List<Vm> vmList;
+	private SearchBudget budget = new SearchBudget().setMaxIterations(DEFAULT_MAX_NODES);
+	private int memoCapacity = DEFAULT_MEMO_CAPACITY;
+	private InitialSolutionBuilder initialSolutionBuilder = new LptInitialSolutionBuilder();
+	private SplittableRandom random = new SplittableRandom();
+	private CloudletToVmMappingIndex index;
+	private SimulatedAnnealingSolution bestSolution;
+
+	/**
+	 * The Cloudlets sorted by decreasing PEs, which is the order they are bound,
+	 * and the PEs of the Cloudlets not bound yet when each one is bound.
+	 */
+	private int[] cloudletOrder;
+	private long[] remainingPes;
+	private long[] vmPes;
+	private long[] vmRequestedPes;
+	private boolean[] vmUsed;
+	private int[] vmBoundCloudlets;
+	private int[] cloudletVm;
+	private int[] bestCloudletVm;
+	/**
+	 * The VMs sorted by cost increase for the Cloudlet bound at each depth,
+	 * allocated just when the search reaches the depth.
+	 */
+	private int[][] vmCandidates;
+	private long[] costDeltas;
+
+	/**
+	 * The overloaded and idle PEs of the used VMs, whose sum is the cost of the partial mapping,
+	 * and the PEs of the VMs without any Cloudlet.
+	 */
+	private long overloadedPes;
+	private long idlePes;
+	private long unusedPes;
+	private long bestCost;
+	private long rootLowerBound;
+	private boolean memoEnabled;
+	private final Set<MemoKey> memo = new HashSet<>();
+	private long memoHits;
+	private boolean aborted;
+
+	public SearchBudget getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Sets the limits of the search.
+	 * The budget is started again each time the heuristic {@link #solve() solves} the mapping.
+	 */
+	public void setBudget(final SearchBudget budget) {
+		this.budget = budget;
+	}
+
+	public int getMemoCapacity() {
+		return memoCapacity;
+	}
+
+	/**
+	 * Sets the maximum number of search states memoized, or 0 to disable memoization.
+	 */
+	public void setMemoCapacity(final int memoCapacity) {
+		if (memoCapacity < 0) {
+			throw new IllegalArgumentException("The memo capacity cannot be negative.");
+		}
+		this.memoCapacity = memoCapacity;
+	}
+
+	public InitialSolutionBuilder getInitialSolutionBuilder() {
+		return initialSolutionBuilder;
+	}
+
+	/**
+	 * Sets the strategy to build the mapping used as the initial upper bound.
+	 * A better initial mapping prunes more of the search.
+	 */
+	public void setInitialSolutionBuilder(final InitialSolutionBuilder initialSolutionBuilder) {
+		this.initialSolutionBuilder = initialSolutionBuilder;
+	}
+
+	/**
+	 * Sets the seed of the random number generator given to the {@link #getInitialSolutionBuilder() initial solution builder}.
+	 * The search itself is deterministic.
+	 */
+	public void setSeed(final long seed) {
+		this.random = new SplittableRandom(seed);
+	}
+
+	/**
+	 * Gets the index of the current Cloudlet and VM lists,
+	 * which is shared by all solutions created from them.
+	 */
+	public CloudletToVmMappingIndex getIndex() {
+		if (index == null) {
+			index = new CloudletToVmMappingIndex(this);
+		}
+		return index;
+	}
+
+	/**
+	 * Sets the index of the Cloudlets and VMs to map, which also sets the Cloudlet and VM lists.
+	 * It enables mapping Cloudlets to VMs that already have a
+	 * {@link CloudletToVmMappingIndex#getVmBaselinePes(int) baseline load}.
+	 */
+	public void setIndex(final CloudletToVmMappingIndex index) {
+		this.cloudletList = index.getCloudletList();
+		this.vmList = index.getVmList();
+		this.index = index;
+	}
+
+	/**
+	 * Checks if the last search finished before its budget was exhausted,
+	 * so that the {@link #getBestSolutionSoFar() best solution} is proven optimal.
+	 */
+	public boolean isOptimal() {
+		return !aborted;
+	}
+
+	/**
+	 * Gets a lower bound of the optimal cost: the cost of the best solution if it's {@link #isOptimal() optimal}
+	 * or the bound computed before binding any Cloudlet otherwise.
+	 */
+	public double getLowerBound() {
+		return aborted ? rootLowerBound : bestCost;
+	}
+
+	/**
+	 * Gets the number of search nodes pruned by the last search because their state was already searched.
+	 */
+	public long getMemoHits() {
+		return memoHits;
+	}
+
+	@Override
+	public SimulatedAnnealingSolution getInitialSolution() {
+		final SimulatedAnnealingSolution initialSolution = new SimulatedAnnealingSolution(this, getIndex());
+		initialSolutionBuilder.build(initialSolution, random);
+		return initialSolution;
+	}
+
+	@Override
+	public CloudletToVmMappingSolution solve() {
+		budget.start();
+		aborted = false;
+		memo.clear();
+		memoHits = 0;
+
+		final SimulatedAnnealingSolution initialSolution = getInitialSolution();
+		createState(initialSolution);
+		rootLowerBound = computeLowerBound(0);
+		if (rootLowerBound < bestCost) {
+			search(0);
+		}
+		memo.clear();
+
+		bestSolution = new SimulatedAnnealingSolution(this, getIndex());
+		for (int cloudlet = 0; cloudlet < bestCloudletVm.length; cloudlet++) {
+			if (bestCloudletVm[cloudlet] != SimulatedAnnealingSolution.UNBOUND) {
+				bestSolution.bindCloudletToVm(cloudlet, bestCloudletVm[cloudlet]);
+			}
+		}
+		budget.stop();
+		return bestSolution;
+	}
+
+	/**
+	 * Creates the arrays of the search, with no Cloudlet bound,
+	 * and takes the initial solution as the best one so far.
+	 */
+	private void createState(final SimulatedAnnealingSolution initialSolution) {
+		final CloudletToVmMappingIndex index = getIndex();
+		final int cloudlets = index.getCloudletsNumber();
+		final int vms = index.getVmsNumber();
+		cloudletOrder = IntStream.range(0, cloudlets)
+			.boxed()
+			.sorted((cloudlet0, cloudlet1) -> Long.compare(index.getCloudletPes(cloudlet1), index.getCloudletPes(cloudlet0)))
+			.mapToInt(Integer::intValue)
+			.toArray();
+		remainingPes = new long[cloudlets + 1];
+		for (int depth = cloudlets - 1; depth >= 0; depth--) {
+			remainingPes[depth] = remainingPes[depth + 1] + index.getCloudletPes(cloudletOrder[depth]);
+		}
+
+		vmPes = new long[vms];
+		vmRequestedPes = new long[vms];
+		vmUsed = new boolean[vms];
+		vmBoundCloudlets = new int[vms];
+		overloadedPes = 0;
+		idlePes = 0;
+		unusedPes = 0;
+		memoEnabled = memoCapacity > 0;
+		for (int vm = 0; vm < vms; vm++) {
+			vmPes[vm] = index.getVmPes(vm);
+			vmRequestedPes[vm] = index.getVmBaselinePes(vm);
+			vmUsed[vm] = index.getVmBaselineCloudlets(vm) > 0;
+			addVmCost(vm, 1);
+			memoEnabled &= vmPes[vm] <= MAX_MEMO_VM_PES;
+		}
+		memoEnabled &= remainingPes[0] + Arrays.stream(vmRequestedPes).max().orElse(0) < 1L << REQUESTED_PES_BITS;
+
+		cloudletVm = new int[cloudlets];
+		Arrays.fill(cloudletVm, SimulatedAnnealingSolution.UNBOUND);
+		vmCandidates = new int[cloudlets][];
+		costDeltas = new long[vms];
+		bestCloudletVm = new int[cloudlets];
+		for (int cloudlet = 0; cloudlet < cloudlets; cloudlet++) {
+			bestCloudletVm[cloudlet] = initialSolution.getVmIndex(cloudlet);
+		}
+		bestCost = Arrays.stream(bestCloudletVm).anyMatch(vm -> vm == SimulatedAnnealingSolution.UNBOUND)
+			? Long.MAX_VALUE
+			: Math.round(initialSolution.getCost());
+	}
+
+	/**
+	 * Adds (or removes, if the sign is -1) the cost of a VM to the cost of the partial mapping.
+	 */
+	private void addVmCost(final int vm, final int sign) {
+		if (!vmUsed[vm]) {
+			unusedPes += sign * vmPes[vm];
+		} else if (vmRequestedPes[vm] > vmPes[vm]) {
+			overloadedPes += sign * (vmRequestedPes[vm] - vmPes[vm]);
+		} else {
+			idlePes += sign * (vmPes[vm] - vmRequestedPes[vm]);
+		}
+	}
+
+	/**
+	 * Computes a lower bound of the cost of any complete mapping extending the partial one at a given depth.
+	 * The overloaded PEs of used VMs can only increase. Each remaining PE may fill at most one idle PE,
+	 * and the ones exceeding the idle PEs and the PEs of unused VMs overload some VM.
+	 */
+	private long computeLowerBound(final int depth) {
+		final long remaining = remainingPes[depth];
+		return overloadedPes + Math.max(0, Math.max(idlePes - remaining, remaining - idlePes - unusedPes));
+	}
+
+	private void search(final int depth) {
+		if (depth == cloudletOrder.length) {
+			final long cost = overloadedPes + idlePes;
+			if (cost < bestCost) {
+				bestCost = cost;
+				System.arraycopy(cloudletVm, 0, bestCloudletVm, 0, cloudletVm.length);
+				budget.notifyImprovement();
+			}
+			return;
+		}
+
+		budget.addIterations(1);
+		if (budget.getIterations() % BUDGET_CHECK_INTERVAL == 0 && budget.isExhausted()) {
+			aborted = true;
+		}
+		if (aborted || computeLowerBound(depth) >= bestCost) {
+			return;
+		}
+
+		final MemoKey key = depth > 0 && memoEnabled ? createMemoKey(depth) : null;
+		if (key != null && memo.contains(key)) {
+			memoHits++;
+			return;
+		}
+
+		final int cloudlet = cloudletOrder[depth];
+		final long pes = getIndex().getCloudletPes(cloudlet);
+		final int[] candidates = sortCandidates(depth, pes);
+		for (int i = 0; i < candidates.length && !aborted; i++) {
+			final int vm = candidates[i];
+			if (i > 0 && isSameVmState(vm, candidates[i - 1])) {
+				continue;
+			}
+
+			bind(cloudlet, vm, pes);
+			search(depth + 1);
+			unbind(cloudlet, vm, pes);
+		}
+		budget.addEvaluations(candidates.length);
+
+		if (key != null && !aborted && memo.size() < memoCapacity) {
+			memo.add(key);
+		}
+	}
+
+	/**
+	 * Sorts the VMs by the cost increase of binding a Cloudlet to each one,
+	 * keeping VMs in the same state next to each other.
+	 * Insertion sort is used since the instances are small.
+	 */
+	private int[] sortCandidates(final int depth, final long pes) {
+		if (vmCandidates[depth] == null) {
+			vmCandidates[depth] = new int[vmPes.length];
+		}
+		final int[] candidates = vmCandidates[depth];
+		for (int vm = 0; vm < candidates.length; vm++) {
+			final long previousCost = vmUsed[vm] ? Math.abs(vmPes[vm] - vmRequestedPes[vm]) : 0;
+			costDeltas[vm] = Math.abs(vmPes[vm] - vmRequestedPes[vm] - pes) - previousCost;
+
+			int position = vm;
+			while (position > 0 && compareCandidates(vm, candidates[position - 1]) < 0) {
+				candidates[position] = candidates[position - 1];
+				position--;
+			}
+			candidates[position] = vm;
+		}
+		return candidates;
+	}
+
+	private int compareCandidates(final int vm0, final int vm1) {
+		final int comparison = Long.compare(costDeltas[vm0], costDeltas[vm1]);
+		return comparison == 0 ? Long.compare(getVmState(vm0), getVmState(vm1)) : comparison;
+	}
+
+	private boolean isSameVmState(final int vm0, final int vm1) {
+		return vmPes[vm0] == vmPes[vm1] && vmRequestedPes[vm0] == vmRequestedPes[vm1] && vmUsed[vm0] == vmUsed[vm1];
+	}
+
+	/**
+	 * Packs the PEs, requested PEs and usage of a VM into a long,
+	 * so that VMs in the same state have the same value.
+	 */
+	private long getVmState(final int vm) {
+		return (vmPes[vm] << (REQUESTED_PES_BITS + 1)) | (vmRequestedPes[vm] << 1) | (vmUsed[vm] ? 1 : 0);
+	}
+
+	private MemoKey createMemoKey(final int depth) {
+		final long[] values = new long[vmPes.length + 1];
+		values[0] = depth;
+		for (int vm = 0; vm < vmPes.length; vm++) {
+			values[vm + 1] = getVmState(vm);
+		}
+		Arrays.sort(values, 1, values.length);
+		return new MemoKey(values);
+	}
+
+	private void bind(final int cloudlet, final int vm, final long pes) {
+		addVmCost(vm, -1);
+		vmRequestedPes[vm] += pes;
+		vmUsed[vm] = true;
+		vmBoundCloudlets[vm]++;
+		addVmCost(vm, 1);
+		cloudletVm[cloudlet] = vm;
+	}
+
+	/**
+	 * Reverts a {@link #bind(int, int, long) bind}, making the VM unused again
+	 * if it had no Cloudlet before.
+	 */
+	private void unbind(final int cloudlet, final int vm, final long pes) {
+		addVmCost(vm, -1);
+		vmRequestedPes[vm] -= pes;
+		cloudletVm[cloudlet] = SimulatedAnnealingSolution.UNBOUND;
+		vmBoundCloudlets[vm]--;
+		vmUsed[vm] = vmBoundCloudlets[vm] > 0 || getIndex().getVmBaselineCloudlets(vm) > 0;
+		addVmCost(vm, 1);
+	}
+
+	/**
+	 * Branch-and-bound has no probabilistic acceptance rule,
+	 * so this is 1 if the best solution is proven optimal or 0 otherwise.
+	 */
+	@Override
+	public double getAcceptanceProbability() {
+		return isOptimal() ? 1 : 0;
+	}
+
+	@Override
+	public int getRandomValue(final int maxValue) {
+		return random.nextInt(maxValue);
+	}
+
+	@Override
+	public boolean isToStopSearch() {
+		return aborted || budget.isExhausted();
+	}
+
+	/**
+	 * The search doesn't walk through neighbor solutions, so this is the best solution so far.
+	 */
+	@Override
+	public CloudletToVmMappingSolution getNeighborSolution() {
+		return bestSolution;
+	}
+
+	/**
+	 * Creates a copy of a given solution, since the search doesn't walk through neighbor solutions.
+	 */
+	@Override
+	public CloudletToVmMappingSolution createNeighbor(final CloudletToVmMappingSolution source) {
+		return new SimulatedAnnealingSolution(source);
+	}
+
+	@Override
+	public CloudletToVmMappingSolution getBestSolutionSoFar() {
+		return bestSolution;
+	}
+
+	/**
+	 * The search tries every VM for each Cloudlet, so this is the number of VMs.
+	 */
+	@Override
+	public int getSearchesByIteration() {
+		return vmList == null ? 0 : vmList.size();
+	}
+
+	/**
+	 * Does nothing, since the search tries every VM for each Cloudlet.
+	 */
+	@Override
+	public void setSearchesByIteration(final int searchesByIteration) {
+		// The number of searches is given by the number of VMs.
+	}
+
+	/**
+	 * Gets the wall-clock time the last search took, in seconds.
+	 * The number of search nodes is given by the iterations of the {@link #getBudget() budget}.
+	 */
+	@Override
+	public double getSolveTime() {
+		return budget.getElapsedSeconds();
+	}
+
+	@Override
+	public List<Cloudlet> getCloudletList() {
+		return cloudletList;
+	}
+
+	@Override
+	public List<Vm> getVmList() {
+		return vmList;
+	}
+
+	@Override
+	public void setCloudletList(final List<Cloudlet> cloudletList) {
+		this.cloudletList = cloudletList;
+		this.index = null;
+	}
+
+	@Override
+	public void setVmList(final List<Vm> vmList) {
+		this.vmList = vmList;
+		this.index = null;
+	}
+}
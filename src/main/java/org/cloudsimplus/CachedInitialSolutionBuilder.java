@@ -0,0 +1,101 @@
+package org.cloudsimplus;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * Warm starts a search from the mapping of a similar workload found in a {@link MappingSolutionCache}:
+ * each Cloudlet with the same shape as a Cloudlet of the cached workload is bound to the VM that one was bound to,
+ * and the other Cloudlets are bound, one by one, to the VM with the most free PEs.
+ * If no cached workload is {@link MappingSolutionCache#findNearest(WorkloadSignature, double) similar enough},
+ * the solution is built by a fallback builder.
+ */
+public class CachedInitialSolutionBuilder implements InitialSolutionBuilder {
+	/**
+	 * Default minimum share of the Cloudlets that must match the ones of a cached workload.
+	 */
+	public static final double DEFAULT_MIN_SIMILARITY = 0.8;
+
+	private final MappingSolutionCache cache;
+	private final InitialSolutionBuilder fallback;
+	private final double minSimilarity;
+	private boolean lastBuildWarmStarted;
+
+	public CachedInitialSolutionBuilder(final MappingSolutionCache cache, final InitialSolutionBuilder fallback) {
+		this(cache, fallback, DEFAULT_MIN_SIMILARITY);
+	}
+
+	/**
+	 * Creates a builder.
+	 *
+	 * @param cache the cache to look for similar workloads
+	 * @param fallback the builder used when no cached workload is similar enough
+	 * @param minSimilarity the minimum share of the Cloudlets that must match the ones of a cached workload, in [0, 1]
+	 */
+	public CachedInitialSolutionBuilder(final MappingSolutionCache cache, final InitialSolutionBuilder fallback, final double minSimilarity) {
+		if (minSimilarity < 0 || minSimilarity > 1) {
+			throw new IllegalArgumentException("The minimum similarity must be in the range [0, 1].");
+		}
+		this.cache = cache;
+		this.fallback = fallback;
+		this.minSimilarity = minSimilarity;
+	}
+
+	/**
+	 * Checks if the latest solution was built from a cached mapping, instead of by the fallback builder.
+	 */
+	public boolean isLastBuildWarmStarted() {
+		return lastBuildWarmStarted;
+	}
+
+	@Override
+	public void build(final SimulatedAnnealingSolution solution, final SplittableRandom random) {
+		final WorkloadSignature signature = new WorkloadSignature(solution.getIndex());
+		final MappingSolutionCache.CachedMapping nearest = cache.findNearest(signature, minSimilarity);
+		lastBuildWarmStarted = nearest != null;
+		if (nearest == null) {
+			fallback.build(solution, random);
+			return;
+		}
+
+		final int[] matches = new int[signature.getCloudletsNumber()];
+		signature.matchCloudlets(nearest.signature(), matches);
+		for (int position = 0; position < matches.length; position++) {
+			if (matches[position] >= 0 && nearest.mapping()[matches[position]] != SimulatedAnnealingSolution.UNBOUND) {
+				final int vmPosition = nearest.mapping()[matches[position]];
+				solution.bindCloudletToVm(signature.getCloudletIndex(position), signature.getVmIndex(vmPosition));
+			}
+		}
+		bindUnmatchedCloudlets(solution);
+	}
+
+	/**
+	 * Binds the Cloudlets not bound yet to the VMs with the most free PEs,
+	 * which are kept in a heap, taking O(C log V).
+	 */
+	private static void bindUnmatchedCloudlets(final SimulatedAnnealingSolution solution) {
+		final CloudletToVmMappingIndex index = solution.getIndex();
+		final int vms = index.getVmsNumber();
+		if (vms == 0) {
+			return;
+		}
+
+		final long[] freePes = new long[vms];
+		final PriorityQueue<Integer> vmHeap = new PriorityQueue<>(
+			vms, Comparator.<Integer>comparingLong(vm -> -freePes[vm]).thenComparingInt(vm -> vm));
+		for (int vm = 0; vm < vms; vm++) {
+			freePes[vm] = index.getVmPes(vm) - solution.getVmRequestedPes(vm);
+			vmHeap.add(vm);
+		}
+
+		for (int cloudlet = 0; cloudlet < index.getCloudletsNumber(); cloudlet++) {
+			if (solution.getVmIndex(cloudlet) == SimulatedAnnealingSolution.UNBOUND) {
+				final int vm = vmHeap.poll();
+				solution.bindCloudletToVm(cloudlet, vm);
+				freePes[vm] -= index.getCloudletPes(cloudlet);
+				vmHeap.add(vm);
+			}
+		}
+	}
+}
@@ -0,0 +1,178 @@
+package org.cloudsimplus;
+
+import java.util.List;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.heuristics.CloudletToVmMappingHeuristic;
+import org.cloudsimplus.heuristics.CloudletToVmMappingSolution;
+
+/**
+ * Puts a {@link MappingSolutionCache} in front of another {@link CloudletToVmMappingHeuristic},
+ * so that a {@link org.cloudbus.cloudsim.brokers.DatacenterBrokerHeuristic} doesn't search again
+ * for the mapping of a workload it has already solved.
+ * When the {@link WorkloadSignature signature} of the Cloudlets and VMs to map is cached,
+ * the cached mapping is returned without running the search.
+ * Otherwise, the wrapped heuristic solves the mapping and its solution is cached.
+ * Either way, the returned solution is a {@link CloudletToVmArrayMappingSolution},
+ * so its cost doesn't depend on whether it was cached.
+ *
+ * <p>To also warm start the search from the mapping of a similar workload, the wrapped
+ * {@link SimulatedAnnealingHeuristic} can use a {@link CachedInitialSolutionBuilder} with the same cache.</p>
+ */
+public class CachingMappingHeuristic implements CloudletToVmMappingHeuristic {
+	private final CloudletToVmMappingHeuristic heuristic;
+	private final MappingSolutionCache cache;
+	private CloudletToVmMappingSolution bestSolution;
+	private boolean lastSolveCached;
+	private long elapsedNanos;
+
+	/**
+	 * Creates a heuristic that caches the solutions of another one.
+	 *
+	 * @param heuristic the heuristic to run when the workload is not cached
+	 * @param cache the cache, which may be shared by several heuristics
+	 */
+	public CachingMappingHeuristic(final CloudletToVmMappingHeuristic heuristic, final MappingSolutionCache cache) {
+		this.heuristic = heuristic;
+		this.cache = cache;
+	}
+
+	public CloudletToVmMappingHeuristic getHeuristic() {
+		return heuristic;
+	}
+
+	public MappingSolutionCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * Checks if the last solution was taken from the cache, without running the wrapped heuristic.
+	 */
+	public boolean isLastSolveCached() {
+		return lastSolveCached;
+	}
+
+	@Override
+	public CloudletToVmMappingSolution solve() {
+		final long startNanos = System.nanoTime();
+		// Includes the baseline load the wrapped heuristic may have in its own index
+		final CloudletToVmMappingIndex index = heuristic instanceof SimulatedAnnealingHeuristic annealing
+			? annealing.getIndex()
+			: new CloudletToVmMappingIndex(heuristic);
+		final WorkloadSignature signature = new WorkloadSignature(index);
+		final MappingSolutionCache.CachedMapping cached = cache.get(signature);
+		lastSolveCached = cached != null;
+		if (lastSolveCached) {
+			bestSolution = createSolution(index, signature, cached.mapping());
+		} else {
+			// Returns the same kind of solution built for a cache hit, so both are scored the same way
+			final CloudletToVmArrayMappingSolution solution = toArraySolution(index, heuristic.solve());
+			cache.put(signature, signature.toCanonicalMapping(solution));
+			bestSolution = solution;
+		}
+
+		elapsedNanos = System.nanoTime() - startNanos;
+		return bestSolution;
+	}
+
+	private SimulatedAnnealingSolution createSolution(final CloudletToVmMappingIndex index, final WorkloadSignature signature, final int[] mapping) {
+		final SimulatedAnnealingSolution solution = new SimulatedAnnealingSolution(this, index);
+		for (int position = 0; position < mapping.length; position++) {
+			if (mapping[position] != SimulatedAnnealingSolution.UNBOUND) {
+				solution.bindCloudletToVm(signature.getCloudletIndex(position), signature.getVmIndex(mapping[position]));
+			}
+		}
+		return solution;
+	}
+
+	/**
+	 * Gets a solution as a {@link CloudletToVmArrayMappingSolution} of the given index,
+	 * copying it if it was created from another index.
+	 */
+	private CloudletToVmArrayMappingSolution toArraySolution(final CloudletToVmMappingIndex index, final CloudletToVmMappingSolution solution) {
+		if (solution instanceof CloudletToVmArrayMappingSolution arraySolution
+			&& arraySolution.getIndex().getCloudletList().equals(index.getCloudletList())
+			&& arraySolution.getIndex().getVmList().equals(index.getVmList())) {
+			return arraySolution;
+		}
+
+		final CloudletToVmArrayMappingSolution copy = new CloudletToVmArrayMappingSolution(this, index);
+		solution.getResult().forEach(copy::bindCloudletToVm);
+		return copy;
+	}
+
+	@Override
+	public double getAcceptanceProbability() {
+		return heuristic.getAcceptanceProbability();
+	}
+
+	@Override
+	public int getRandomValue(final int maxValue) {
+		return heuristic.getRandomValue(maxValue);
+	}
+
+	@Override
+	public boolean isToStopSearch() {
+		return lastSolveCached || heuristic.isToStopSearch();
+	}
+
+	@Override
+	public CloudletToVmMappingSolution getInitialSolution() {
+		return heuristic.getInitialSolution();
+	}
+
+	@Override
+	public CloudletToVmMappingSolution getNeighborSolution() {
+		return heuristic.getNeighborSolution();
+	}
+
+	@Override
+	public CloudletToVmMappingSolution createNeighbor(final CloudletToVmMappingSolution source) {
+		return heuristic.createNeighbor(source);
+	}
+
+	@Override
+	public CloudletToVmMappingSolution getBestSolutionSoFar() {
+		return bestSolution;
+	}
+
+	@Override
+	public int getSearchesByIteration() {
+		return heuristic.getSearchesByIteration();
+	}
+
+	@Override
+	public void setSearchesByIteration(final int searchesByIteration) {
+		heuristic.setSearchesByIteration(searchesByIteration);
+	}
+
+	/**
+	 * Gets the wall-clock time the last search took, in seconds,
+	 * including looking up and updating the cache.
+	 */
+	@Override
+	public double getSolveTime() {
+		return elapsedNanos / 1e9;
+	}
+
+	@Override
+	public List<Cloudlet> getCloudletList() {
+		return heuristic.getCloudletList();
+	}
+
+	@Override
+	public List<Vm> getVmList() {
+		return heuristic.getVmList();
+	}
+
+	@Override
+	public void setCloudletList(final List<Cloudlet> cloudletList) {
+		heuristic.setCloudletList(cloudletList);
+	}
+
+	@Override
+	public void setVmList(final List<Vm> vmList) {
+		heuristic.setVmList(vmList);
+	}
+}
@@ -0,0 +1,83 @@
+package org.cloudsimplus;
+
+import java.util.SplittableRandom;
+
+/**
+ * A k-opt chain move: picks up to k random Cloudlets bound to different VMs
+ * and moves each one to the VM of the next, with the last moving to the VM of the first.
+ * It rotates Cloudlets among several VMs at once, reaching neighbors that
+ * would require multiple swaps, each one possibly rejected.
+ */
+public class ChainMoveGenerator implements MoveGenerator {
+	public static final int DEFAULT_CHAIN_LENGTH = 3;
+
+	private final int chainLength;
+	/**
+	 * The Cloudlets picked for the chain being generated.
+	 */
+	private final int[] chain;
+
+	public ChainMoveGenerator() {
+		this(DEFAULT_CHAIN_LENGTH);
+	}
+
+	/**
+	 * Creates a generator of chains with a given number of Cloudlets.
+	 *
+	 * @param chainLength the maximum number of Cloudlets (and VMs) in each chain
+	 */
+	public ChainMoveGenerator(final int chainLength) {
+		if (chainLength < 2) {
+			throw new IllegalArgumentException("A chain must have at least 2 Cloudlets.");
+		}
+		this.chainLength = chainLength;
+		this.chain = new int[chainLength];
+	}
+
+	public int getChainLength() {
+		return chainLength;
+	}
+
+	@Override
+	public void generate(final SimulatedAnnealingSolution solution, final SplittableRandom random, final SimulatedAnnealingMove move) {
+		move.clear();
+		final int cloudlets = solution.getIndex().getCloudletsNumber();
+		if (cloudlets < 2) {
+			return;
+		}
+
+		int size = 0;
+		for (int attempt = 0; attempt < chainLength * 2 && size < chainLength; attempt++) {
+			final int cloudletIndex = random.nextInt(cloudlets);
+			if (isVmUnavailable(solution, size, solution.getVmIndex(cloudletIndex))) {
+				continue;
+			}
+			chain[size++] = cloudletIndex;
+		}
+
+		if (size < 2) {
+			return;
+		}
+
+		for (int i = 0; i < size; i++) {
+			move.addRelocation(chain[i], solution.getVmIndex(chain[(i + 1) % size]));
+		}
+	}
+
+	/**
+	 * Checks if a Cloudlet bound to a given VM cannot join the chain,
+	 * because it's not bound or its VM is already in the chain.
+	 */
+	private boolean isVmUnavailable(final SimulatedAnnealingSolution solution, final int size, final int vmIndex) {
+		if (vmIndex == SimulatedAnnealingSolution.UNBOUND) {
+			return true;
+		}
+
+		for (int i = 0; i < size; i++) {
+			if (solution.getVmIndex(chain[i]) == vmIndex) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,408 @@
+package org.cloudsimplus;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.heuristics.CloudletToVmMappingHeuristic;
+import org.cloudsimplus.heuristics.CloudletToVmMappingSolution;
+import org.cloudsimplus.heuristics.Heuristic;
+
+/**
+ * A {@link CloudletToVmMappingSolution} that stores the mapping as an
+ * {@code int[]} from Cloudlet index to VM index (according to a {@link CloudletToVmMappingIndex}),
+ * instead of a {@code Map<Cloudlet, Vm>}.
+ * The PEs, length and work (length times PEs) requested from each VM, as well as the VM costs,
+ * are aggregated into primitive arrays that are updated as Cloudlets are bound,
+ * so changing the VM of a Cloudlet doesn't allocate any object.
+ * The Cloudlets of each VM are also kept, as well as the VMs with
+ * the highest and lowest cost and load, so that moves can target them.
+ *
+ * <p>The {@link #getResult() Map result} is just built when requested
+ * (such as by the {@link org.cloudbus.cloudsim.brokers.DatacenterBrokerHeuristic}
+ * after the heuristic finishes) and is kept until the mapping changes.</p>
+ *
+ * <p>The VM cost is the same used by {@link CloudletToVmMappingSolution#getVmCost(Vm, List)}:
+ * the absolute difference between the VM PEs and the PEs requested by its Cloudlets,
+ * including the {@link CloudletToVmMappingIndex#getVmBaselinePes(int) baseline load} of the VM.</p>
+ */
+public class CloudletToVmArrayMappingSolution extends CloudletToVmMappingSolution {
+	/**
+	 * Value in {@link #cloudletVm} for Cloudlets not bound to any VM yet.
+	 */
+	public static final int UNBOUND = -1;
+
+	private final CloudletToVmMappingIndex index;
+	private final int[] cloudletVm;
+	private final long[] vmRequestedPes;
+	private final long[] vmRequestedLength;
+	private final long[] vmRequestedWork;
+	private final int[] vmCloudlets;
+	/**
+	 * The indexes of the Cloudlets bound to each VM (just the first {@link #vmCloudlets} entries are used)
+	 * and the position of each Cloudlet inside the array of its VM.
+	 */
+	private final int[][] vmCloudletIndexes;
+	private final int[] cloudletPosition;
+	private final VmCostRange costRange;
+	/**
+	 * The load of every VM, which is the number of requested PEs exceeding the VM PEs
+	 * (negative if the VM has idle PEs).
+	 */
+	private final VmCostRange loadRange;
+	private double totalCost;
+	private int boundCloudlets;
+	private Map<Cloudlet, Vm> result;
+
+	public CloudletToVmArrayMappingSolution(final Heuristic heuristic) {
+		this(heuristic, new CloudletToVmMappingIndex((CloudletToVmMappingHeuristic) heuristic));
+	}
+
+	public CloudletToVmArrayMappingSolution(final Heuristic heuristic, final CloudletToVmMappingIndex index) {
+		super(heuristic);
+		this.index = index;
+		this.cloudletVm = new int[index.getCloudletsNumber()];
+		Arrays.fill(cloudletVm, UNBOUND);
+		this.vmRequestedPes = new long[index.getVmsNumber()];
+		this.vmRequestedLength = new long[index.getVmsNumber()];
+		this.vmRequestedWork = new long[index.getVmsNumber()];
+		this.vmCloudlets = new int[index.getVmsNumber()];
+		this.vmCloudletIndexes = new int[index.getVmsNumber()][];
+		this.cloudletPosition = new int[index.getCloudletsNumber()];
+		this.costRange = new VmCostRange(index.getVmsNumber());
+		this.loadRange = new VmCostRange(index.getVmsNumber());
+		addBaselineLoad();
+	}
+
+	/**
+	 * Initializes the requested PEs, costs and loads of the VMs from their baseline load.
+	 */
+	private void addBaselineLoad() {
+		for (int i = 0; i < index.getVmsNumber(); i++) {
+			vmRequestedPes[i] = index.getVmBaselinePes(i);
+			loadRange.set(i, vmRequestedPes[i] - index.getVmPes(i));
+			if (isVmUsed(i)) {
+				totalCost += getVmCost(i);
+				costRange.set(i, getVmCost(i));
+			}
+		}
+	}
+
+	/**
+	 * Creates a copy of a solution.
+	 * If it's not a {@link CloudletToVmArrayMappingSolution},
+	 * the Cloudlets and VMs are indexed according to the solution heuristic.
+	 */
+	public CloudletToVmArrayMappingSolution(final CloudletToVmMappingSolution solution) {
+		super(solution.getHeuristic());
+		if (solution instanceof CloudletToVmArrayMappingSolution source) {
+			this.index = source.index;
+			this.cloudletVm = source.cloudletVm.clone();
+			this.vmRequestedPes = source.vmRequestedPes.clone();
+			this.vmRequestedLength = source.vmRequestedLength.clone();
+			this.vmRequestedWork = source.vmRequestedWork.clone();
+			this.vmCloudlets = source.vmCloudlets.clone();
+			this.vmCloudletIndexes = new int[source.vmCloudletIndexes.length][];
+			for (int i = 0; i < vmCloudletIndexes.length; i++) {
+				if (source.vmCloudletIndexes[i] != null) {
+					vmCloudletIndexes[i] = source.vmCloudletIndexes[i].clone();
+				}
+			}
+			this.cloudletPosition = source.cloudletPosition.clone();
+			this.costRange = new VmCostRange(source.costRange);
+			this.loadRange = new VmCostRange(source.loadRange);
+			this.totalCost = source.totalCost;
+			this.boundCloudlets = source.boundCloudlets;
+			this.result = source.result;
+			return;
+		}
+
+		this.index = new CloudletToVmMappingIndex((CloudletToVmMappingHeuristic) (Heuristic<?>) solution.getHeuristic());
+		this.cloudletVm = new int[index.getCloudletsNumber()];
+		Arrays.fill(cloudletVm, UNBOUND);
+		this.vmRequestedPes = new long[index.getVmsNumber()];
+		this.vmRequestedLength = new long[index.getVmsNumber()];
+		this.vmRequestedWork = new long[index.getVmsNumber()];
+		this.vmCloudlets = new int[index.getVmsNumber()];
+		this.vmCloudletIndexes = new int[index.getVmsNumber()][];
+		this.cloudletPosition = new int[index.getCloudletsNumber()];
+		this.costRange = new VmCostRange(index.getVmsNumber());
+		this.loadRange = new VmCostRange(index.getVmsNumber());
+		addBaselineLoad();
+		solution.getResult().forEach((cloudlet, vm) -> rebind(index.getCloudletIndex(cloudlet), index.getVmIndex(vm)));
+	}
+
+	public CloudletToVmMappingIndex getIndex() {
+		return index;
+	}
+
+	@Override
+	public void bindCloudletToVm(final Cloudlet cloudlet, final Vm vm) {
+		bindCloudletToVm(index.getCloudletIndex(cloudlet), index.getVmIndex(vm));
+	}
+
+	/**
+	 * Binds a Cloudlet to a VM, given their indexes, updating just the
+	 * aggregates of the VM the Cloudlet is leaving and the one it's moving to.
+	 *
+	 * @param vmIndex the index of the VM or {@link #UNBOUND} to unbind the Cloudlet
+	 */
+	public void bindCloudletToVm(final int cloudletIndex, final int vmIndex) {
+		final int previousVmIndex = cloudletVm[cloudletIndex];
+		if (!rebind(cloudletIndex, vmIndex)) {
+			return;
+		}
+
+		if (previousVmIndex != UNBOUND) {
+			onVmChanged(previousVmIndex);
+		}
+		if (vmIndex != UNBOUND) {
+			onVmChanged(vmIndex);
+		}
+	}
+
+	/**
+	 * Binds a Cloudlet to a VM, updating the aggregates of this class.
+	 *
+	 * @return true if the Cloudlet VM changed, false if it was already bound to that VM
+	 */
+	private boolean rebind(final int cloudletIndex, final int vmIndex) {
+		final int previousVmIndex = cloudletVm[cloudletIndex];
+		if (previousVmIndex == vmIndex) {
+			return false;
+		}
+
+		final long pes = index.getCloudletPes(cloudletIndex);
+		final long length = index.getCloudletLength(cloudletIndex);
+		if (previousVmIndex == UNBOUND) {
+			boundCloudlets++;
+		} else {
+			removeCloudletIndex(previousVmIndex, cloudletIndex);
+			updateVm(previousVmIndex, -1, -pes, -length);
+		}
+
+		cloudletVm[cloudletIndex] = vmIndex;
+		if (vmIndex == UNBOUND) {
+			boundCloudlets--;
+		} else {
+			addCloudletIndex(vmIndex, cloudletIndex);
+			updateVm(vmIndex, 1, pes, length);
+		}
+		result = null;
+		return true;
+	}
+
+	/**
+	 * Appends a Cloudlet to the ones of a VM, before the VM Cloudlets number is increased.
+	 */
+	private void addCloudletIndex(final int vmIndex, final int cloudletIndex) {
+		final int size = vmCloudlets[vmIndex];
+		int[] cloudlets = vmCloudletIndexes[vmIndex];
+		if (cloudlets == null) {
+			cloudlets = vmCloudletIndexes[vmIndex] = new int[4];
+		} else if (size == cloudlets.length) {
+			cloudlets = vmCloudletIndexes[vmIndex] = Arrays.copyOf(cloudlets, size * 2);
+		}
+		cloudlets[size] = cloudletIndex;
+		cloudletPosition[cloudletIndex] = size;
+	}
+
+	/**
+	 * Removes a Cloudlet from the ones of a VM (moving the last one to its position),
+	 * before the VM Cloudlets number is decreased.
+	 */
+	private void removeCloudletIndex(final int vmIndex, final int cloudletIndex) {
+		final int[] cloudlets = vmCloudletIndexes[vmIndex];
+		final int last = cloudlets[vmCloudlets[vmIndex] - 1];
+		final int position = cloudletPosition[cloudletIndex];
+		cloudlets[position] = last;
+		cloudletPosition[last] = position;
+	}
+
+	/**
+	 * Changes the Cloudlets, PEs and length requested from a VM and updates
+	 * the solution cost and the cost range just for that VM.
+	 */
+	private void updateVm(final int vmIndex, final int cloudletsDelta, final long pesDelta, final long lengthDelta) {
+		final double previousCost = getVmCost(vmIndex);
+		vmCloudlets[vmIndex] += cloudletsDelta;
+		vmRequestedPes[vmIndex] += pesDelta;
+		vmRequestedLength[vmIndex] += lengthDelta;
+		vmRequestedWork[vmIndex] += lengthDelta * Math.abs(pesDelta);
+		loadRange.set(vmIndex, vmRequestedPes[vmIndex] - index.getVmPes(vmIndex));
+		if (!isVmUsed(vmIndex)) {
+			totalCost -= previousCost;
+			costRange.clear(vmIndex);
+			return;
+		}
+
+		final double cost = getVmCost(vmIndex);
+		totalCost += cost - previousCost;
+		costRange.set(vmIndex, cost);
+	}
+
+	/**
+	 * Called after a Cloudlet is bound to or unbound from a VM (and the VM aggregates are updated),
+	 * so that subclasses can keep aggregates of their own for just the changed VM.
+	 * It isn't called while the solution is being built by a constructor.
+	 */
+	protected void onVmChanged(final int vmIndex) {
+		// Nothing to update by default.
+	}
+
+	/**
+	 * Gets the index of the VM a Cloudlet is bound to.
+	 *
+	 * @return the VM index or {@link #UNBOUND}
+	 */
+	public int getVmIndex(final int cloudletIndex) {
+		return cloudletVm[cloudletIndex];
+	}
+
+	/**
+	 * Checks if a VM has some Cloudlet, either bound in this solution or in its baseline load.
+	 */
+	public boolean isVmUsed(final int vmIndex) {
+		return vmCloudlets[vmIndex] > 0 || index.getVmBaselineCloudlets(vmIndex) > 0;
+	}
+
+	/**
+	 * Gets the cost of a VM that has some Cloudlet, or 0 if it has none
+	 * (since such a VM doesn't take part in the solution cost).
+	 */
+	public double getVmCost(final int vmIndex) {
+		if (!isVmUsed(vmIndex)) {
+			return 0;
+		}
+
+		return Math.abs(index.getVmPes(vmIndex) - vmRequestedPes[vmIndex]);
+	}
+
+	public long getVmRequestedPes(final int vmIndex) {
+		return vmRequestedPes[vmIndex];
+	}
+
+	public long getVmRequestedLength(final int vmIndex) {
+		return vmRequestedLength[vmIndex];
+	}
+
+	/**
+	 * Gets the total work (in MI) requested from a VM: the sum of the length times the PEs of its Cloudlets.
+	 * The baseline load of the VM is not included, since just its PEs are known.
+	 */
+	public long getVmRequestedWork(final int vmIndex) {
+		return vmRequestedWork[vmIndex];
+	}
+
+	/**
+	 * Gets the number of Cloudlets bound to a VM in this solution,
+	 * not including the ones of its baseline load.
+	 */
+	public int getVmCloudletsNumber(final int vmIndex) {
+		return vmCloudlets[vmIndex];
+	}
+
+	/**
+	 * Gets one of the Cloudlets bound to a VM.
+	 *
+	 * @param position the position of the Cloudlet among the ones of the VM,
+	 *                 from 0 to {@link #getVmCloudletsNumber(int)} - 1
+	 * @return the Cloudlet index
+	 */
+	public int getVmCloudlet(final int vmIndex, final int position) {
+		if (position < 0 || position >= vmCloudlets[vmIndex]) {
+			throw new IndexOutOfBoundsException("The VM " + vmIndex + " has no Cloudlet at position " + position);
+		}
+		return vmCloudletIndexes[vmIndex][position];
+	}
+
+	/**
+	 * Gets the index of the VM whose requested PEs most exceed its own PEs.
+	 */
+	public int getMostLoadedVm() {
+		return loadRange.getMaxIndex();
+	}
+
+	/**
+	 * Gets the index of the VM with the most idle PEs (which may have no Cloudlet).
+	 */
+	public int getLeastLoadedVm() {
+		return loadRange.getMinIndex();
+	}
+
+	/**
+	 * Gets the index of the VM with the highest cost among the ones that have some Cloudlet.
+	 *
+	 * @return the VM index or {@link #UNBOUND} if no Cloudlet is bound
+	 */
+	public int getMaxCostVm() {
+		return costRange.getMaxIndex();
+	}
+
+	/**
+	 * Gets the index of the VM with the lowest cost among the ones that have some Cloudlet.
+	 *
+	 * @return the VM index or {@link #UNBOUND} if no Cloudlet is bound
+	 */
+	public int getMinCostVm() {
+		return costRange.getMinIndex();
+	}
+
+	public int getBoundCloudletsNumber() {
+		return boundCloudlets;
+	}
+
+	/**
+	 * Checks if no Cloudlet is bound to any VM.
+	 */
+	protected boolean isEmpty() {
+		return costRange.isEmpty();
+	}
+
+	/**
+	 * Gets the highest cost among the VMs that have some Cloudlet.
+	 */
+	protected double getMaxVmCost() {
+		return costRange.getMax();
+	}
+
+	/**
+	 * Gets the lowest cost among the VMs that have some Cloudlet.
+	 */
+	protected double getMinVmCost() {
+		return costRange.getMin();
+	}
+
+	@Override
+	public double getCost() {
+		return totalCost;
+	}
+
+	@Override
+	public double getCost(final boolean forceRecompute) {
+		return totalCost;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The Map is built from the arrays when first requested after the mapping changes.
+	 */
+	@Override
+	public Map<Cloudlet, Vm> getResult() {
+		if (result == null) {
+			final Map<Cloudlet, Vm> map = new LinkedHashMap<>(boundCloudlets * 2);
+			for (int i = 0; i < cloudletVm.length; i++) {
+				if (cloudletVm[i] != UNBOUND) {
+					map.put(index.getCloudlet(i), index.getVm(cloudletVm[i]));
+				}
+			}
+			result = Collections.unmodifiableMap(map);
+		}
+
+		return result;
+	}
+}
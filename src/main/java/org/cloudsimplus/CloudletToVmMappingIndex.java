@@ -0,0 +1,154 @@
+package org.cloudsimplus;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.heuristics.CloudletToVmMappingHeuristic;
+
+/**
+ * Assigns a sequential index to each Cloudlet and VM of a {@link CloudletToVmMappingHeuristic}
+ * and caches the attributes used to compute the cost of a mapping into primitive arrays.
+ * It is built once for a given Cloudlet and VM list and shared by all
+ * {@link CloudletToVmArrayMappingSolution}s created from them,
+ * so that solutions don't need to hash Cloudlets and VMs while they are changed.
+ *
+ * <p>Each VM may have a baseline load: Cloudlets already running on it,
+ * which aren't part of the mapping but still use its PEs.
+ * This way, an online broker can map just the arriving Cloudlets,
+ * considering the ones mapped before.</p>
+ */
+public final class CloudletToVmMappingIndex {
+	private final List<Cloudlet> cloudletList;
+	private final List<Vm> vmList;
+	private final Map<Cloudlet, Integer> cloudletIndexes;
+	private final Map<Vm, Integer> vmIndexes;
+	private final long[] cloudletPes;
+	private final long[] cloudletLength;
+	private final long[] vmPes;
+	private final long[] vmBaselinePes;
+	private final int[] vmBaselineCloudlets;
+
+	public CloudletToVmMappingIndex(final List<Cloudlet> cloudletList, final List<Vm> vmList) {
+		this(cloudletList, vmList, new long[vmList.size()], new int[vmList.size()]);
+	}
+
+	/**
+	 * Creates an index where the VMs have a baseline load.
+	 *
+	 * @param vmBaselinePes the PEs already requested from each VM, in the order of the VM list
+	 * @param vmBaselineCloudlets the number of Cloudlets already running on each VM, in the order of the VM list
+	 */
+	public CloudletToVmMappingIndex(
+		final List<Cloudlet> cloudletList, final List<Vm> vmList,
+		final long[] vmBaselinePes, final int[] vmBaselineCloudlets) {
+		if (vmBaselinePes.length != vmList.size() || vmBaselineCloudlets.length != vmList.size()) {
+			throw new IllegalArgumentException("There must be a baseline load for each one of the " + vmList.size() + " VMs.");
+		}
+
+		this.vmBaselinePes = vmBaselinePes.clone();
+		this.vmBaselineCloudlets = vmBaselineCloudlets.clone();
+		this.cloudletList = List.copyOf(cloudletList);
+		this.vmList = List.copyOf(vmList);
+		this.cloudletIndexes = new HashMap<>(cloudletList.size() * 2);
+		this.vmIndexes = new HashMap<>(vmList.size() * 2);
+		this.cloudletPes = new long[cloudletList.size()];
+		this.cloudletLength = new long[cloudletList.size()];
+		this.vmPes = new long[vmList.size()];
+
+		for (int i = 0; i < this.cloudletList.size(); i++) {
+			final Cloudlet cloudlet = this.cloudletList.get(i);
+			cloudletIndexes.put(cloudlet, i);
+			cloudletPes[i] = cloudlet.getNumberOfPes();
+			cloudletLength[i] = cloudlet.getLength();
+		}
+
+		for (int i = 0; i < this.vmList.size(); i++) {
+			final Vm vm = this.vmList.get(i);
+			vmIndexes.put(vm, i);
+			vmPes[i] = vm.getNumberOfPes();
+		}
+	}
+
+	public CloudletToVmMappingIndex(final CloudletToVmMappingHeuristic heuristic) {
+		this(heuristic.getCloudletList(), heuristic.getVmList());
+	}
+
+	public int getCloudletsNumber() {
+		return cloudletPes.length;
+	}
+
+	public int getVmsNumber() {
+		return vmPes.length;
+	}
+
+	public Cloudlet getCloudlet(final int cloudletIndex) {
+		return cloudletList.get(cloudletIndex);
+	}
+
+	public Vm getVm(final int vmIndex) {
+		return vmList.get(vmIndex);
+	}
+
+	public List<Cloudlet> getCloudletList() {
+		return cloudletList;
+	}
+
+	public List<Vm> getVmList() {
+		return vmList;
+	}
+
+	/**
+	 * Gets the index of a Cloudlet.
+	 *
+	 * @throws IllegalArgumentException when the Cloudlet is not indexed
+	 */
+	public int getCloudletIndex(final Cloudlet cloudlet) {
+		final Integer index = cloudletIndexes.get(cloudlet);
+		if (index == null) {
+			throw new IllegalArgumentException(cloudlet + " is not in the Cloudlet list of the heuristic.");
+		}
+		return index;
+	}
+
+	/**
+	 * Gets the index of a VM.
+	 *
+	 * @throws IllegalArgumentException when the VM is not indexed
+	 */
+	public int getVmIndex(final Vm vm) {
+		final Integer index = vmIndexes.get(vm);
+		if (index == null) {
+			throw new IllegalArgumentException(vm + " is not in the VM list of the heuristic.");
+		}
+		return index;
+	}
+
+	public long getCloudletPes(final int cloudletIndex) {
+		return cloudletPes[cloudletIndex];
+	}
+
+	public long getCloudletLength(final int cloudletIndex) {
+		return cloudletLength[cloudletIndex];
+	}
+
+	public long getVmPes(final int vmIndex) {
+		return vmPes[vmIndex];
+	}
+
+	/**
+	 * Gets the PEs requested from a VM by the Cloudlets already running on it.
+	 */
+	public long getVmBaselinePes(final int vmIndex) {
+		return vmBaselinePes[vmIndex];
+	}
+
+	/**
+	 * Gets the number of Cloudlets already running on a VM.
+	 */
+	public int getVmBaselineCloudlets(final int vmIndex) {
+		return vmBaselineCloudlets[vmIndex];
+	}
+}
@@ -0,0 +1,49 @@
+package org.cloudsimplus;
+
+/**
+ * Defines how the temperature of a {@link SimulatedAnnealingHeuristic} decreases
+ * along the search. The temperature starts at the {@link #getInitialTemperature() initial temperature}
+ * and the search stops when it reaches the {@link #getColdTemperature() cold temperature}.
+ *
+ * <p>A schedule may keep state (such as the rate of accepted moves),
+ * so each heuristic must have its own instance.</p>
+ */
+public interface CoolingSchedule {
+	double getInitialTemperature();
+
+	double getColdTemperature();
+
+	/**
+	 * Notifies the schedule that a new search is starting,
+	 * so that schedules keeping state from a previous search can reset it.
+	 */
+	default void start() {
+		// Most schedules don't keep state between searches.
+	}
+
+	/**
+	 * Computes the temperature for the next iteration.
+	 *
+	 * @param temperature the current temperature
+	 * @param iteration the number of iterations done so far
+	 * @return the new temperature
+	 */
+	double nextTemperature(double temperature, long iteration);
+
+	/**
+	 * Notifies the schedule that a neighbor solution was evaluated,
+	 * enabling schedules that adapt to the acceptance rate.
+	 *
+	 * @param accepted true if the neighbor was accepted, false otherwise
+	 */
+	default void notifyMoveEvaluated(boolean accepted) {
+		// Most schedules don't depend on the accepted moves.
+	}
+
+	/**
+	 * Checks if a temperature has reached the cold temperature, when the search should stop.
+	 */
+	default boolean isCold(double temperature) {
+		return temperature <= getColdTemperature();
+	}
+}
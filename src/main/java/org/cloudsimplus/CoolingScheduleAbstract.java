@@ -0,0 +1,44 @@
+package org.cloudsimplus;
+
+/**
+ * A base class for {@link CoolingSchedule}s that decrease the temperature
+ * according to a cooling rate.
+ */
+public abstract class CoolingScheduleAbstract implements CoolingSchedule {
+	private final double initialTemperature;
+	private final double coldTemperature;
+	private final double coolingRate;
+
+	/**
+	 * Creates a cooling schedule.
+	 *
+	 * @param initialTemperature the temperature when the search starts
+	 * @param coldTemperature the temperature when the search stops
+	 * @param coolingRate the rate the temperature decreases, between 0 and 1 (exclusive)
+	 */
+	protected CoolingScheduleAbstract(final double initialTemperature, final double coldTemperature, final double coolingRate) {
+		if (coldTemperature <= 0 || initialTemperature <= coldTemperature) {
+			throw new IllegalArgumentException("The initial temperature must be greater than the cold temperature, which must be greater than zero.");
+		}
+		if (coolingRate <= 0 || coolingRate >= 1) {
+			throw new IllegalArgumentException("The cooling rate must be between 0 and 1 (exclusive).");
+		}
+		this.initialTemperature = initialTemperature;
+		this.coldTemperature = coldTemperature;
+		this.coolingRate = coolingRate;
+	}
+
+	@Override
+	public double getInitialTemperature() {
+		return initialTemperature;
+	}
+
+	@Override
+	public double getColdTemperature() {
+		return coldTemperature;
+	}
+
+	public double getCoolingRate() {
+		return coolingRate;
+	}
+}
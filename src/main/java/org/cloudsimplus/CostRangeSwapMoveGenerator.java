@@ -0,0 +1,28 @@
+package org.cloudsimplus;
+
+import java.util.SplittableRandom;
+
+/**
+ * Swaps a random Cloudlet of the {@link SimulatedAnnealingSolution#getMaxCostVm() highest cost VM}
+ * with a random Cloudlet of the {@link SimulatedAnnealingSolution#getMinCostVm() lowest cost one},
+ * directly targeting the {@link SimulatedAnnealingSolution#computeCostDiffOfAllVms() cost difference} among VMs.
+ */
+public class CostRangeSwapMoveGenerator implements MoveGenerator {
+	@Override
+	public void generate(final SimulatedAnnealingSolution solution, final SplittableRandom random, final SimulatedAnnealingMove move) {
+		move.clear();
+		final int maxCostVmIndex = solution.getMaxCostVm();
+		final int minCostVmIndex = solution.getMinCostVm();
+		// VMs with just a baseline load have no Cloudlet that can be moved
+		if (maxCostVmIndex == minCostVmIndex
+			|| solution.getVmCloudletsNumber(maxCostVmIndex) == 0
+			|| solution.getVmCloudletsNumber(minCostVmIndex) == 0) {
+			return;
+		}
+
+		move.setSwap(
+			solution,
+			MoveGenerator.getRandomCloudletOfVm(solution, random, maxCostVmIndex),
+			MoveGenerator.getRandomCloudletOfVm(solution, random, minCostVmIndex));
+	}
+}
@@ -81,23 +81,75 @@ import java.util.Map;
  * @since CloudSim Plus 1.0
  */
 public class DatacenterBrokerHeuristicCustom {
-    private static final int HOSTS_TO_CREATE = 100;
-    private static final int VMS_TO_CREATE = 50;
-    private static final int CLOUDLETS_TO_CREATE = 100;
+    /**
+     * Default scenario size.
+     *
+     * @see HeuristicScenarioConfig
+     */
+    public static final int HOSTS_TO_CREATE = 100;
+    public static final int VMS_TO_CREATE = 50;
+    public static final int CLOUDLETS_TO_CREATE = 100;
 
     /**
-     * Simulated Annealing (SA) parameters.
+     * Default Simulated Annealing (SA) parameters.
      */
     public static final double SA_INITIAL_TEMPERATURE = 1.0;
     public static final double SA_COLD_TEMPERATURE = 0.0001;
     public static final double SA_COOLING_RATE = 0.003;
     public static final int SA_NUMBER_OF_NEIGHBORHOOD_SEARCHES = 50;
 
+    /**
+     * Number of independent SA chains run in parallel. The first one is warm started
+     * and each one of the others starts from a different random solution.
+     */
+    public static final int SA_CHAINS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Limits of the SA search, which bound the time the broker takes to map Cloudlets.
+     * They count iterations, so that a seed gives the same mapping regardless of the machine load.
+     * A time limit can be set as a safety cap, but then the mapping depends on how fast the search runs.
+     */
+    public static final long SA_MAX_ITERATIONS = SimulatedAnnealingHeuristic.DEFAULT_MAX_ITERATIONS;
+    public static final long SA_MAX_ITERATIONS_WITHOUT_IMPROVEMENT = 2_000;
+    public static final long SA_MAX_MILLIS = SearchBudget.UNLIMITED;
+
+    /**
+     * Number of iterations between the convergence samples taken from each SA chain.
+     */
+    public static final int SA_TELEMETRY_INTERVAL = 100;
+
+    /**
+     * Number of convergence samples printed for the chain that found the best solution.
+     */
+    public static final int SA_TELEMETRY_PRINTED_SAMPLES = 10;
+
+    /**
+     * Limits of the exact solver the heuristic is compared to: the largest number of Cloudlets times VMs
+     * it's run for and the number of search nodes it may visit, which (unlike a time limit)
+     * gives the same result for a seed regardless of the machine load.
+     */
+    public static final long EXACT_MAX_INSTANCE_SIZE = 10_000;
+    public static final long EXACT_MAX_NODES = 2_000_000;
+
+    private final long seed;
+    private final HeuristicScenarioConfig config;
     private final CloudSim simulation;
     private final List<Cloudlet> cloudletList;
     private List<Vm> vmList;
     private CloudletToVmMappingHeuristic heuristic;
+    /**
+     * The cache of solutions shared among scenarios, or null to always run the heuristic.
+     */
+    private final MappingSolutionCache cache;
+    /**
+     * The exact solver, run just once when the result is first requested.
+     */
+    private BranchAndBoundMappingHeuristic exactHeuristic;
 
+    /**
+     * Number of SA chains created so far, used to warm start just one chain of each search.
+     */
+    private int createdChains = 0;
     /**
      * Number of cloudlets created so far.
      */
@@ -118,13 +170,57 @@ public class DatacenterBrokerHeuristicCustom {
     }
 
     /**
-     * Default constructor where the simulation is built.
+     * Default constructor where the simulation is built, using a random seed.
      */
     public DatacenterBrokerHeuristicCustom() {
+        this(System.nanoTime());
+    }
+
+    /**
+     * Builds and runs the simulation using a given seed to generate
+     * the VMs and Cloudlets and to run the heuristic, so that the results are reproducible.
+     *
+     * @param seed the seed for the heuristic random number generator
+     */
+    public DatacenterBrokerHeuristicCustom(final long seed) {
+        this(HeuristicScenarioConfig.createDefault(), seed, true);
+    }
+
+    /**
+     * Builds and runs the simulation for a given scenario configuration,
+     * instead of the default constants.
+     *
+     * @param config the size of the scenario and the heuristic parameters
+     * @param seed the seed for the heuristic random number generator
+     * @param verbose true to print the results, false to run silently
+     *                (such as when several scenarios run in parallel)
+     * @see #getResult()
+     */
+    public DatacenterBrokerHeuristicCustom(final HeuristicScenarioConfig config, final long seed, final boolean verbose) {
+        this(config, seed, verbose, null);
+    }
+
+    /**
+     * Builds and runs the simulation for a given scenario configuration, using a cache of solutions:
+     * the search is skipped if the same Cloudlets and VMs were already mapped,
+     * or is warm started from the mapping of a similar workload.
+     *
+     * @param config the size of the scenario and the heuristic parameters
+     * @param seed the seed for the heuristic random number generator
+     * @param verbose true to print the results, false to run silently
+     * @param cache the cache of solutions shared among scenarios, or null to always run the heuristic
+     */
+    public DatacenterBrokerHeuristicCustom(
+            final HeuristicScenarioConfig config, final long seed, final boolean verbose, final MappingSolutionCache cache) {
+        this.seed = seed;
+        this.config = config;
+        this.cache = cache;
         // Enables just some level of log messages.
         Log.setLevel(Level.WARN);
 
-        System.out.println("Starting " + getClass().getSimpleName());
+        if (verbose) {
+            System.out.println("Starting " + getClass().getSimpleName());
+        }
         this.vmList = new ArrayList<>();
         this.cloudletList = new ArrayList<>();
 
@@ -139,60 +235,176 @@ public class DatacenterBrokerHeuristicCustom {
 
         simulation.start();
 
-        final List<Cloudlet> finishedCloudlets = broker0.getCloudletFinishedList();
-        new CloudletsTableBuilder(finishedCloudlets).build();
+        if (verbose) {
+            final List<Cloudlet> finishedCloudlets = broker0.getCloudletFinishedList();
+            new CloudletsTableBuilder(finishedCloudlets).build();
 
-        print();
+            print();
+        }
     }
 
     private DatacenterBrokerHeuristic createBroker() {
         createSimulatedAnnealingHeuristic();
         final DatacenterBrokerHeuristic broker0 = new DatacenterBrokerHeuristic(simulation);
-        broker0.setHeuristic(heuristic);
+        broker0.setHeuristic(cache == null ? heuristic : new CachingMappingHeuristic(heuristic, cache));
         return broker0;
     }
 
     private void createAndSubmitCloudlets(final DatacenterBrokerHeuristic broker0) {
-        for (int i = 0; i < CLOUDLETS_TO_CREATE; i++) {
+        for (int i = 0; i < config.cloudlets(); i++) {
             cloudletList.add(createCloudlet(broker0, getRandomPesNumber(4)));
         }
         broker0.submitCloudletList(cloudletList);
     }
 
     private void createAndSubmitVms(final DatacenterBrokerHeuristic broker0) {
-        vmList = new ArrayList<>(VMS_TO_CREATE);
-        for (int i = 0; i < VMS_TO_CREATE; i++) {
+        vmList = new ArrayList<>(config.vms());
+        for (int i = 0; i < config.vms(); i++) {
             vmList.add(createVm(broker0, getRandomPesNumber(4)));
         }
         broker0.submitVmList(vmList);
     }
 
     private void createSimulatedAnnealingHeuristic() {
-        heuristic = new SimulatedAnnealingHeuristic();
+        if (SA_CHAINS > 1) {
+            final MultiStartSimulatedAnnealingHeuristic multiStartHeuristic = new MultiStartSimulatedAnnealingHeuristic(SA_CHAINS);
+            multiStartHeuristic.setChainFactory(this::createSimulatedAnnealingChain);
+            multiStartHeuristic.setSeed(seed);
+            multiStartHeuristic.setBudget(createSearchBudget());
+            heuristic = multiStartHeuristic;
+        } else {
+            final SimulatedAnnealingHeuristic singleHeuristic = createSimulatedAnnealingChain();
+            singleHeuristic.setSeed(seed);
+            singleHeuristic.setBudget(createSearchBudget());
+            heuristic = singleHeuristic;
+        }
+        heuristic.setSearchesByIteration(config.neighborhoodSearches());
+    }
+
+    /**
+     * Creates a SA heuristic. The first chain of each search is warm started by the LPT rule
+     * or, if there is a cache, by the cached mapping of a similar workload.
+     * Since both are deterministic, the other chains start from random mappings instead,
+     * so that they don't all search around the same mapping.
+     * The chain records how it converges, to show where the search stalls.
+     */
+    private SimulatedAnnealingHeuristic createSimulatedAnnealingChain() {
+        final SimulatedAnnealingHeuristic chain = new SimulatedAnnealingHeuristic(createCoolingSchedule());
+        chain.setInitialSolutionBuilder(createdChains++ % SA_CHAINS == 0 ? createWarmStartBuilder() : new RandomInitialSolutionBuilder());
+        chain.setTelemetry(new AnnealingTelemetry(AnnealingTelemetry.DEFAULT_CAPACITY, SA_TELEMETRY_INTERVAL));
+        return chain;
+    }
+
+    private InitialSolutionBuilder createWarmStartBuilder() {
+        final InitialSolutionBuilder lptBuilder = new LptInitialSolutionBuilder();
+        return cache == null ? lptBuilder : new CachedInitialSolutionBuilder(cache, lptBuilder);
+    }
+
+    private CoolingSchedule createCoolingSchedule() {
+        return new GeometricCoolingSchedule(config.initialTemperature(), config.coldTemperature(), config.coolingRate());
+    }
+
+    private SearchBudget createSearchBudget() {
+        return new SearchBudget()
+                .setMaxIterations(SA_MAX_ITERATIONS)
+                .setMaxMillis(SA_MAX_MILLIS)
+                .setMaxIterationsWithoutImprovement(SA_MAX_ITERATIONS_WITHOUT_IMPROVEMENT);
     }
 
-    public double[] print() {
+    /**
+     * Prints the real time the search took and how many iterations and cost evaluations it ran.
+     */
+    private void printSearchEffort() {
+        final long elapsedNanos;
+        final long iterations;
+        final long evaluations;
+        if (heuristic instanceof MultiStartSimulatedAnnealingHeuristic multiStartHeuristic) {
+            elapsedNanos = multiStartHeuristic.getElapsedNanos();
+            iterations = multiStartHeuristic.getIterations();
+            evaluations = multiStartHeuristic.getEvaluations();
+        } else {
+            final SearchBudget budget = ((SimulatedAnnealingHeuristic) heuristic).getBudget();
+            elapsedNanos = budget.getElapsedNanos();
+            iterations = budget.getIterations();
+            evaluations = budget.getEvaluations();
+        }
+
+        System.out.printf("\tThe solution finding spend %.4f seconds (%d ns) to finish%n",
+                elapsedNanos / 1e9, elapsedNanos);
+        System.out.printf("\tIterations: %d, cost evaluations: %d%n", iterations, evaluations);
+    }
+
+    /**
+     * Prints some evenly spaced convergence samples of the chain that found the best solution,
+     * if it was searched instead of taken from the cache.
+     */
+    private void printConvergence() {
+        final SimulatedAnnealingHeuristic bestChain = heuristic instanceof MultiStartSimulatedAnnealingHeuristic multiStartHeuristic
+                ? multiStartHeuristic.getBestChain()
+                : (SimulatedAnnealingHeuristic) heuristic;
+        final AnnealingTelemetry telemetry = bestChain == null ? null : bestChain.getTelemetry();
+        if (telemetry == null || telemetry.size() == 0) {
+            return;
+        }
+
+        System.out.println("\tConvergence of the best chain");
+        System.out.printf("\t\t%10s %10s %14s %10s %10s %10s  %s%n",
+                "Iteration", "Time (ms)", "Temperature", "Current", "Best", "Accepted", "Move");
+        final int step = Math.max(1, telemetry.size() / SA_TELEMETRY_PRINTED_SAMPLES);
+        for (int i = step - 1; i < telemetry.size(); i += step) {
+            final AnnealingSample sample = telemetry.getSample(i);
+            System.out.printf("\t\t%10d %10.1f %14.6f %10.2f %10.2f %9.1f%%  %s%n",
+                    sample.iteration(), sample.elapsedNanos() / 1e6, sample.temperature(),
+                    sample.currentCost(), sample.bestCost(), sample.acceptanceRate() * 100, sample.moveType());
+        }
+    }
+
+    public SimulationRunResult print() {
         final CloudletToVmMappingSolution roundRobinSolution = computeRoundRobinMappingCost();
+        printSolution(
+                "Round robin solution used by DatacenterBrokerSimple class",
+                roundRobinSolution, false);
         final double roundRobinMappingCost = roundRobinSolution.getCost();
         printSolution(
                 "Heuristic solution for mapping cloudlets to Vm's         ",
-                heuristic.getBestSolutionSoFar(), false);
+                broker0.getHeuristic().getBestSolutionSoFar(), false);
 
         System.out.printf(
                 "\tThe heuristic solution cost represents %.2f%% of the round robin mapping cost used by the DatacenterBrokerSimple%n",
-                heuristic.getBestSolutionSoFar().getCost() * 100.0 / roundRobinMappingCost);
-        System.out.printf("\tThe solution finding spend %.2f seconds to finish%n",
-                broker0.getHeuristic().getSolveTime());
+                broker0.getHeuristic().getBestSolutionSoFar().getCost() * 100.0 / roundRobinMappingCost);
+        printOptimalityGap();
+        printSearchEffort();
+        printConvergence();
         System.out.println("\tSimulated Annealing Parameters");
-        System.out.printf("\t\tNeighborhood searches by iteration: %d%n", SA_NUMBER_OF_NEIGHBORHOOD_SEARCHES);
-        System.out.printf("\t\tInitial Temperature: %18.6f%n", SA_INITIAL_TEMPERATURE);
-        System.out.printf("\t\tCooling Rate       : %18.6f%n", SA_COOLING_RATE);
-        System.out.printf("\t\tCold Temperature   : %18.6f%n%n", SA_COLD_TEMPERATURE);
+        System.out.printf("\t\tSeed: %d%n", seed);
+        System.out.printf("\t\tParallel chains: %d%n", SA_CHAINS);
+        System.out.printf("\t\tNeighborhood searches by iteration: %d%n", config.neighborhoodSearches());
+        System.out.printf("\t\tInitial Temperature: %18.6f%n", config.initialTemperature());
+        System.out.printf("\t\tCooling Rate       : %18.6f%n", config.coolingRate());
+        System.out.printf("\t\tCold Temperature   : %18.6f%n", config.coldTemperature());
+        System.out.printf("\t\tMax iterations     : %18d%n", SA_MAX_ITERATIONS);
+        System.out.printf("\t\tMax time (ms)      : %18s%n", SA_MAX_MILLIS == SearchBudget.UNLIMITED ? "unlimited" : SA_MAX_MILLIS);
+        System.out.printf("\t\tMax iterations without improvement: %d%n%n", SA_MAX_ITERATIONS_WITHOUT_IMPROVEMENT);
         System.out.println(getClass().getSimpleName() + " finished!");
-    
 
-        double[] results = {roundRobinSolution.getCost(), roundRobinSolution.getFitness(), heuristic.getBestSolutionSoFar().getCost(), heuristic.getBestSolutionSoFar().getFitness(), heuristic.getBestSolutionSoFar().getCost() * 100.0 / roundRobinMappingCost , broker0.getHeuristic().getSolveTime()};
-        return results;
+        return getResult();
+    }
+
+    /**
+     * Gets the metrics of the simulation, comparing the heuristic solution
+     * with the round robin mapping.
+     */
+    public SimulationRunResult getResult() {
+        final CloudletToVmMappingSolution roundRobinSolution = computeRoundRobinMappingCost();
+        final BranchAndBoundMappingHeuristic exact = getExactHeuristic();
+        final CloudletToVmMappingSolution heuristicSolution = broker0.getHeuristic().getBestSolutionSoFar();
+        return new SimulationRunResult(
+                seed,
+                roundRobinSolution.getCost(), roundRobinSolution.getFitness(),
+                heuristicSolution.getCost(), heuristicSolution.getFitness(),
+                broker0.getHeuristic().getSolveTime(), isCacheHit(),
+                exact == null ? Double.NaN : exact.getBestSolutionSoFar().getCost(),
+                exact != null && exact.isOptimal());
     }
 
     /**
@@ -207,7 +419,7 @@ public class DatacenterBrokerHeuristicCustom {
 
     private DatacenterSimple createDatacenter() {
         final List<Host> hostList = new ArrayList<>();
-        for (int i = 0; i < HOSTS_TO_CREATE; i++) {
+        for (int i = 0; i < config.hosts(); i++) {
             hostList.add(createHost());
         }
 
@@ -261,21 +473,61 @@ public class DatacenterBrokerHeuristicCustom {
                 .setUtilizationModelBw(utilizationDynamic);
     }
 
+    /**
+     * Builds the round robin mapping as a {@link CloudletToVmArrayMappingSolution},
+     * whose cost is kept up-to-date by the per-VM aggregates as each Cloudlet is bound,
+     * instead of regrouping all Cloudlets by VM when the cost is requested.
+     */
     private CloudletToVmMappingSolution computeRoundRobinMappingCost() {
-        final CloudletToVmMappingSolution roundRobinSolution = new CloudletToVmMappingSolution(heuristic);
-        int i = 0;
-        for (Cloudlet c : cloudletList) {
+        final CloudletToVmArrayMappingSolution roundRobinSolution =
+            new CloudletToVmArrayMappingSolution(heuristic, new CloudletToVmMappingIndex(cloudletList, vmList));
+        for (int i = 0; i < cloudletList.size(); i++) {
             // cyclically selects a Vm (as in a circular queue)
-            roundRobinSolution.bindCloudletToVm(c, vmList.get(i));
-            i = (i + 1) % vmList.size();
+            roundRobinSolution.bindCloudletToVm(i, i % vmList.size());
         }
 
-        printSolution(
-                "Round robin solution used by DatacenterBrokerSimple class",
-                roundRobinSolution, false);
         return roundRobinSolution;
     }
 
+    /**
+     * Checks if the heuristic solution was taken from the cache instead of searched.
+     */
+    private boolean isCacheHit() {
+        return broker0.getHeuristic() instanceof CachingMappingHeuristic cachingHeuristic && cachingHeuristic.isLastSolveCached();
+    }
+
+    /**
+     * Gets the exact solver, mapping the Cloudlets to VMs with it the first time it's requested.
+     *
+     * @return the exact solver or null if the instance is too large to be solved exactly
+     */
+    private BranchAndBoundMappingHeuristic getExactHeuristic() {
+        if (exactHeuristic == null && (long) cloudletList.size() * vmList.size() <= EXACT_MAX_INSTANCE_SIZE) {
+            exactHeuristic = new BranchAndBoundMappingHeuristic();
+            exactHeuristic.setIndex(new CloudletToVmMappingIndex(cloudletList, vmList));
+            exactHeuristic.setBudget(new SearchBudget().setMaxIterations(EXACT_MAX_NODES));
+            exactHeuristic.solve();
+        }
+        return exactHeuristic;
+    }
+
+    /**
+     * Prints how far the heuristic solution is from the exact one.
+     */
+    private void printOptimalityGap() {
+        final BranchAndBoundMappingHeuristic exact = getExactHeuristic();
+        if (exact == null) {
+            System.out.println("\tThe optimality gap is n/a: the instance is too large for the exact solver");
+            return;
+        }
+
+        final double exactCost = exact.getBestSolutionSoFar().getCost();
+        System.out.printf(
+                "\tThe heuristic solution cost exceeds the %s cost (%.2f) by %.2f, found by branch-and-bound in %.2f seconds%n",
+                exact.isOptimal() ? "optimal" : "best known", exactCost,
+                broker0.getHeuristic().getBestSolutionSoFar().getCost() - exactCost, exact.getSolveTime());
+    }
+
     private void printSolution(
             final String title,
             final CloudletToVmMappingSolution solution,
@@ -88,10 +88,27 @@ public class DatacenterBrokerHeuristicExample {
     public static final double SA_COOLING_RATE = 0.003;
     public static final int    SA_NUMBER_OF_NEIGHBORHOOD_SEARCHES = 50;
 
+    /**
+     * Limits of the exact solver the heuristic is compared to: the largest number of Cloudlets times VMs
+     * it's run for and the number of search nodes it may visit, which (unlike a time limit)
+     * gives the same result for a seed regardless of the machine load.
+     */
+    public static final long EXACT_MAX_INSTANCE_SIZE = 10_000;
+    public static final long EXACT_MAX_NODES = 2_000_000;
+
+    private final long seed;
     private final CloudSim simulation;
     private final List<Cloudlet> cloudletList;
     private List<Vm> vmList;
     private CloudletToVmMappingSimulatedAnnealing heuristic;
+    /**
+     * The cache of solutions shared among simulations, or null to always run the heuristic.
+     */
+    private final MappingSolutionCache cache;
+    /**
+     * The exact solver, run just once when the result is first requested.
+     */
+    private BranchAndBoundMappingHeuristic exactHeuristic;
 
     /**
      * Number of cloudlets created so far.
@@ -113,13 +130,51 @@ public class DatacenterBrokerHeuristicExample {
     }
 
     /**
-     * Default constructor where the simulation is built.
+     * Default constructor where the simulation is built, using a random seed.
      */
     public DatacenterBrokerHeuristicExample() {
+        this(System.nanoTime());
+    }
+
+    /**
+     * Builds and runs the simulation using a given seed to generate
+     * the VMs and Cloudlets and to run the heuristic, so that the results are reproducible.
+     *
+     * @param seed the seed for the heuristic random number generator
+     */
+    public DatacenterBrokerHeuristicExample(final long seed) {
+        this(seed, true);
+    }
+
+    /**
+     * Builds and runs the simulation using a given seed.
+     *
+     * @param seed the seed for the heuristic random number generator
+     * @param verbose true to print the results, false to run silently
+     *                (such as when several simulations run in parallel)
+     * @see #getResult()
+     */
+    public DatacenterBrokerHeuristicExample(final long seed, final boolean verbose) {
+        this(seed, verbose, null);
+    }
+
+    /**
+     * Builds and runs the simulation using a given seed, reusing the solution cached
+     * for a workload with the same Cloudlets and VMs instead of running the heuristic again.
+     *
+     * @param seed the seed for the heuristic random number generator
+     * @param verbose true to print the results, false to run silently
+     * @param cache the cache of solutions shared among simulations, or null to always run the heuristic
+     */
+    public DatacenterBrokerHeuristicExample(final long seed, final boolean verbose, final MappingSolutionCache cache) {
+        this.seed = seed;
+        this.cache = cache;
         //Enables just some level of log messages.
         Log.setLevel(Level.WARN);
 
-        System.out.println("Starting " + getClass().getSimpleName());
+        if (verbose) {
+            System.out.println("Starting " + getClass().getSimpleName());
+        }
         this.vmList = new ArrayList<>();
         this.cloudletList = new ArrayList<>();
 
@@ -134,16 +189,18 @@ public class DatacenterBrokerHeuristicExample {
 
         simulation.start();
 
-        final List<Cloudlet> finishedCloudlets = broker0.getCloudletFinishedList();
-        new CloudletsTableBuilder(finishedCloudlets).build();
+        if (verbose) {
+            final List<Cloudlet> finishedCloudlets = broker0.getCloudletFinishedList();
+            new CloudletsTableBuilder(finishedCloudlets).build();
 
-        print();
+            print();
+        }
     }
 
 	private DatacenterBrokerHeuristic createBroker() {
 		createSimulatedAnnealingHeuristic();
 		final DatacenterBrokerHeuristic broker0 = new DatacenterBrokerHeuristic(simulation);
-		broker0.setHeuristic(heuristic);
+		broker0.setHeuristic(cache == null ? heuristic : new CachingMappingHeuristic(heuristic, cache));
 		return broker0;
 	}
 
@@ -164,22 +221,26 @@ public class DatacenterBrokerHeuristicExample {
 
 	private void createSimulatedAnnealingHeuristic() {
 		heuristic =
-		        new CloudletToVmMappingSimulatedAnnealing(SA_INITIAL_TEMPERATURE, new UniformDistr(0, 1));
+		        new CloudletToVmMappingSimulatedAnnealing(SA_INITIAL_TEMPERATURE, new UniformDistr(0, 1, seed));
 		heuristic.setColdTemperature(SA_COLD_TEMPERATURE);
 		heuristic.setCoolingRate(SA_COOLING_RATE);
 		heuristic.setSearchesByIteration(SA_NUMBER_OF_NEIGHBORHOOD_SEARCHES);
 	}
 
-	public double[] print() {
+	public SimulationRunResult print() {
         final CloudletToVmMappingSolution roundRobinSolution = computeRoundRobinMappingCost();
+        printSolution(
+            "Round robin solution used by DatacenterBrokerSimple class",
+            roundRobinSolution, false);
         final double roundRobinMappingCost = roundRobinSolution.getCost();
         printSolution(
                 "Heuristic solution for mapping cloudlets to Vm's         ",
-                heuristic.getBestSolutionSoFar(), false);
+                getHeuristicSolution(), false);
 
         System.out.printf(
                 "\tThe heuristic solution cost represents %.2f%% of the round robin mapping cost used by the DatacenterBrokerSimple%n",
-                heuristic.getBestSolutionSoFar().getCost() * 100.0 / roundRobinMappingCost);
+                getHeuristicSolution().getCost() * 100.0 / roundRobinMappingCost);
+        printOptimalityGap();
         System.out.printf("\tThe solution finding spend %.2f seconds to finish%n",
                 broker0.getHeuristic().getSolveTime());
         System.out.println("\tSimulated Annealing Parameters");
@@ -188,10 +249,25 @@ public class DatacenterBrokerHeuristicExample {
         System.out.printf("\t\tCooling Rate       : %18.6f%n", SA_COOLING_RATE);
         System.out.printf("\t\tCold Temperature   : %18.6f%n%n", SA_COLD_TEMPERATURE);
         System.out.println(getClass().getSimpleName() + " finished!");
-    
 
-        double[] results = {roundRobinSolution.getCost(), roundRobinSolution.getFitness(), heuristic.getBestSolutionSoFar().getCost(), heuristic.getBestSolutionSoFar().getFitness(), heuristic.getBestSolutionSoFar().getCost() * 100.0 / roundRobinMappingCost , broker0.getHeuristic().getSolveTime()};
-        return results;
+        return getResult();
+    }
+
+    /**
+     * Gets the metrics of the simulation, comparing the heuristic solution
+     * with the round robin mapping.
+     */
+    public SimulationRunResult getResult() {
+        final CloudletToVmMappingSolution roundRobinSolution = computeRoundRobinMappingCost();
+        final BranchAndBoundMappingHeuristic exact = getExactHeuristic();
+        final CloudletToVmMappingSolution heuristicSolution = getHeuristicSolution();
+        return new SimulationRunResult(
+            seed,
+            roundRobinSolution.getCost(), roundRobinSolution.getFitness(),
+            heuristicSolution.getCost(), heuristicSolution.getFitness(),
+            broker0.getHeuristic().getSolveTime(), isCacheHit(),
+            exact == null ? Double.NaN : exact.getBestSolutionSoFar().getCost(),
+            exact != null && exact.isOptimal());
     }
 
 	/**
@@ -259,20 +335,72 @@ public class DatacenterBrokerHeuristicExample {
     }
 
     private CloudletToVmMappingSolution computeRoundRobinMappingCost() {
-        final CloudletToVmMappingSolution roundRobinSolution = new CloudletToVmMappingSolution(heuristic);
-        int i = 0;
-        for (Cloudlet c : cloudletList) {
+        final CloudletToVmArrayMappingSolution roundRobinSolution =
+            new CloudletToVmArrayMappingSolution(heuristic, new CloudletToVmMappingIndex(cloudletList, vmList));
+        for (int i = 0; i < cloudletList.size(); i++) {
             //cyclically selects a Vm (as in a circular queue)
-            roundRobinSolution.bindCloudletToVm(c, vmList.get(i));
-            i = (i+1) % vmList.size();
+            roundRobinSolution.bindCloudletToVm(i, i % vmList.size());
         }
 
-        printSolution(
-            "Round robin solution used by DatacenterBrokerSimple class",
-            roundRobinSolution, false);
         return roundRobinSolution;
     }
 
+    /**
+     * Gets the heuristic solution scored by the same per-VM aggregates as the round robin mapping,
+     * since the solutions of the {@link CloudletToVmMappingSimulatedAnnealing} may report a stale cost.
+     * This way, the cost doesn't change when the solution is taken from the cache.
+     */
+    private CloudletToVmMappingSolution getHeuristicSolution() {
+        final CloudletToVmMappingSolution solution = broker0.getHeuristic().getBestSolutionSoFar();
+        if (solution instanceof CloudletToVmArrayMappingSolution) {
+            return solution;
+        }
+
+        final CloudletToVmArrayMappingSolution scoredSolution =
+            new CloudletToVmArrayMappingSolution(heuristic, new CloudletToVmMappingIndex(cloudletList, vmList));
+        solution.getResult().forEach(scoredSolution::bindCloudletToVm);
+        return scoredSolution;
+    }
+
+    /**
+     * Checks if the heuristic solution was taken from the cache instead of searched.
+     */
+    private boolean isCacheHit() {
+        return broker0.getHeuristic() instanceof CachingMappingHeuristic cachingHeuristic && cachingHeuristic.isLastSolveCached();
+    }
+
+    /**
+     * Gets the exact solver, mapping the Cloudlets to VMs with it the first time it's requested.
+     *
+     * @return the exact solver or null if the instance is too large to be solved exactly
+     */
+    private BranchAndBoundMappingHeuristic getExactHeuristic() {
+        if (exactHeuristic == null && (long) cloudletList.size() * vmList.size() <= EXACT_MAX_INSTANCE_SIZE) {
+            exactHeuristic = new BranchAndBoundMappingHeuristic();
+            exactHeuristic.setIndex(new CloudletToVmMappingIndex(cloudletList, vmList));
+            exactHeuristic.setBudget(new SearchBudget().setMaxIterations(EXACT_MAX_NODES));
+            exactHeuristic.solve();
+        }
+        return exactHeuristic;
+    }
+
+    /**
+     * Prints how far the heuristic solution is from the exact one.
+     */
+    private void printOptimalityGap() {
+        final BranchAndBoundMappingHeuristic exact = getExactHeuristic();
+        if (exact == null) {
+            System.out.println("\tThe optimality gap is n/a: the instance is too large for the exact solver");
+            return;
+        }
+
+        final double exactCost = exact.getBestSolutionSoFar().getCost();
+        System.out.printf(
+                "\tThe heuristic solution cost exceeds the %s cost (%.2f) by %.2f, found by branch-and-bound in %.2f seconds%n",
+                exact.isOptimal() ? "optimal" : "best known", exactCost,
+                getHeuristicSolution().getCost() - exactCost, exact.getSolveTime());
+    }
+
     private void printSolution(
         final String title,
         final CloudletToVmMappingSolution solution,
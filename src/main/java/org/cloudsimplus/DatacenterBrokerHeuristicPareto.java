@@ -0,0 +1,201 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus;
+
+import ch.qos.logback.classic.Level;
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerHeuristic;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.power.models.PowerModelHostSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.cloudsimplus.util.Log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * An example that maps Cloudlets to VMs trading off makespan, processing cost and energy
+ * by a {@link MultiObjectiveSimulatedAnnealingHeuristic} used by a {@link DatacenterBrokerHeuristic}.
+ * There are two Datacenters: a cheap one, whose Hosts are slow and consume a lot of power,
+ * and an expensive one, whose Hosts are fast and power efficient.
+ * This way, there is no single best mapping, but a Pareto front of mappings.
+ *
+ * <p>The broker maps the Cloudlets according to the point of the front selected by the heuristic weights,
+ * which can be given as command line arguments (the makespan, cost and energy weights, in this order).
+ * The example also shows the points selected by other weights, which could be used without running the search again.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+public class DatacenterBrokerHeuristicPareto {
+    private static final int HOSTS_BY_DATACENTER = 6;
+    private static final int HOST_PES = 8;
+    private static final int VMS_TO_CREATE = 20;
+    private static final int CLOUDLETS_TO_CREATE = 100;
+
+    /**
+     * Simulated Annealing (SA) parameters.
+     */
+    private static final int SA_NUMBER_OF_NEIGHBORHOOD_SEARCHES = 10;
+    private static final long SA_MAX_ITERATIONS = 20_000;
+
+    private final CloudSim simulation;
+    private final SplittableRandom random;
+    private final MultiObjectiveSimulatedAnnealingHeuristic heuristic;
+    private final DatacenterBrokerHeuristic broker0;
+    private final List<Vm> vmList = new ArrayList<>(VMS_TO_CREATE);
+    private final List<Cloudlet> cloudletList = new ArrayList<>(CLOUDLETS_TO_CREATE);
+
+    public static void main(String[] args) {
+        final double[] weights = {1, 1, 1};
+        for (int i = 0; i < Math.min(args.length, weights.length); i++) {
+            weights[i] = Double.parseDouble(args[i]);
+        }
+        new DatacenterBrokerHeuristicPareto(1, weights);
+    }
+
+    /**
+     * Builds and runs the simulation.
+     *
+     * @param seed the seed to create the Cloudlets and run the heuristic
+     * @param weights the makespan, cost and energy weights used to select the mapping from the Pareto front
+     */
+    public DatacenterBrokerHeuristicPareto(final long seed, final double[] weights) {
+        Log.setLevel(Level.WARN);
+        System.out.println("Starting " + getClass().getSimpleName());
+
+        simulation = new CloudSim();
+        random = new SplittableRandom(seed);
+        createDatacenter(1000, 0.01, 250, 150);
+        createDatacenter(2000, 0.03, 200, 50);
+
+        heuristic = new MultiObjectiveSimulatedAnnealingHeuristic();
+        heuristic.setSeed(seed);
+        heuristic.setSearchesByIteration(SA_NUMBER_OF_NEIGHBORHOOD_SEARCHES);
+        heuristic.setBudget(new SearchBudget().setMaxIterations(SA_MAX_ITERATIONS));
+        heuristic.setWeights(weights[0], weights[1], weights[2]);
+
+        broker0 = new DatacenterBrokerHeuristic(simulation);
+        broker0.setHeuristic(heuristic);
+        createAndSubmitVms();
+        createAndSubmitCloudlets();
+
+        simulation.start();
+        print();
+    }
+
+    /**
+     * Creates a Datacenter whose Hosts have a given PE capacity, cost and power consumption.
+     */
+    private void createDatacenter(final long mips, final double costPerSecond, final double maxPower, final double staticPower) {
+        final List<Host> hostList = new ArrayList<>(HOSTS_BY_DATACENTER);
+        for (int i = 0; i < HOSTS_BY_DATACENTER; i++) {
+            final List<Pe> peList = new ArrayList<>(HOST_PES);
+            for (int j = 0; j < HOST_PES; j++) {
+                peList.add(new PeSimple(mips));
+            }
+
+            final Host host = new HostSimple(20480, 100000, 1000000, peList);
+            host.setVmScheduler(new VmSchedulerTimeShared())
+                .setPowerModel(new PowerModelHostSimple(maxPower, staticPower));
+            hostList.add(host);
+        }
+
+        new DatacenterSimple(simulation, hostList, new VmAllocationPolicySimple())
+            .getCharacteristics().setCostPerSecond(costPerSecond);
+    }
+
+    /**
+     * Creates half of the VMs with the MIPS of each Datacenter,
+     * so that the fast VMs can just be placed into the second one.
+     */
+    private void createAndSubmitVms() {
+        for (int i = 0; i < VMS_TO_CREATE; i++) {
+            final Vm vm = new VmSimple(i, i % 2 == 0 ? 1000 : 2000, 4)
+                .setRam(512).setBw(1000).setSize(10000)
+                .setCloudletScheduler(new CloudletSchedulerTimeShared());
+            vmList.add(vm);
+        }
+        broker0.submitVmList(vmList);
+    }
+
+    private void createAndSubmitCloudlets() {
+        for (int i = 0; i < CLOUDLETS_TO_CREATE; i++) {
+            final Cloudlet cloudlet = new CloudletSimple(i, random.nextLong(10_000, 100_000), random.nextInt(1, 5))
+                .setFileSize(300).setOutputSize(300)
+                .setUtilizationModelCpu(new UtilizationModelFull())
+                .setUtilizationModelRam(new UtilizationModelDynamic(0.1))
+                .setUtilizationModelBw(new UtilizationModelDynamic(0.1));
+            cloudletList.add(cloudlet);
+        }
+        broker0.submitCloudletList(cloudletList);
+    }
+
+    private void print() {
+        final List<MultiObjectiveMappingSolution> front = new ArrayList<>(heuristic.getParetoFront());
+        front.sort(Comparator.comparingDouble(MultiObjectiveMappingSolution::getMakespan));
+        System.out.printf("%nPareto front found in %.2f seconds (%d solutions)%n", heuristic.getSolveTime(), front.size());
+        System.out.println("    Makespan (s) |   Cost ($) | Energy (kJ)");
+        front.forEach(solution -> printSolution("", solution));
+
+        System.out.println();
+        printSolution("Selected by weights " + Arrays.toString(heuristic.getWeights()) + ": ", heuristic.getBestSolutionSoFar());
+        printSelection("Selected for the lowest makespan: ", 1, 0, 0);
+        printSelection("Selected for the lowest cost:     ", 0, 1, 0);
+        printSelection("Selected for the lowest energy:   ", 0, 0, 1);
+
+        System.out.printf("%nSimulated makespan: %.2f s%n", simulation.clock());
+        System.out.println(getClass().getSimpleName() + " finished!");
+    }
+
+    /**
+     * Prints the solution the heuristic would select with other weights, restoring the current ones afterwards.
+     */
+    private void printSelection(final String title, final double makespan, final double cost, final double energy) {
+        final double[] weights = heuristic.getWeights();
+        heuristic.setWeights(makespan, cost, energy);
+        printSolution(title, heuristic.getBestSolutionSoFar());
+        heuristic.setWeights(weights[0], weights[1], weights[2]);
+    }
+
+    private void printSolution(final String title, final MultiObjectiveMappingSolution solution) {
+        System.out.printf(
+            "%-36s%16.2f | %10.2f | %11.2f%n",
+            title, solution.getMakespan(), solution.getProcessingCost(), solution.getEnergy() / 1000);
+    }
+}
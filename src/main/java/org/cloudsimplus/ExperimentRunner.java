@@ -0,0 +1,142 @@
+package org.cloudsimplus;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Runs independent repetitions of an experiment concurrently, on a bounded pool of threads.
+ * Each repetition gets its own seed (the base seed plus the repetition number),
+ * so the results are reproducible regardless of the order repetitions run.
+ * Each repetition must build its own simulation, since a {@link org.cloudbus.cloudsim.core.CloudSim}
+ * instance cannot be shared between threads.
+ *
+ * <p>Up to {@link #getThreads()} repetitions run at the same time, and the next one starts
+ * as soon as the result of the earliest running one is taken.
+ * Results are given to the {@link #setResultListener(Consumer) result listener} one by one,
+ * in the order of their seeds, and the {@link #setStopCondition(BooleanSupplier) stop condition}
+ * is checked after each one, so that the experiment can stop as soon as it has enough repetitions
+ * (such as when the confidence interval of a metric is narrow enough), regardless of the number of threads.
+ * Since the condition is checked in seed order, the repetitions taken don't depend on which ones finish first.
+ * The repetitions still running when the experiment stops are cancelled.</p>
+ *
+ * @param <T> the type of the result of each repetition
+ */
+public class ExperimentRunner<T> {
+	public static final int DEFAULT_REPETITIONS = 30;
+	public static final long DEFAULT_BASE_SEED = 1;
+
+	private final LongFunction<T> experiment;
+	private int repetitions = DEFAULT_REPETITIONS;
+	private long baseSeed = DEFAULT_BASE_SEED;
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private Consumer<T> resultListener = result -> {};
+	private BooleanSupplier stopCondition = () -> false;
+
+	/**
+	 * Creates a runner for an experiment.
+	 *
+	 * @param experiment a function that runs a repetition with a given seed and returns its result
+	 */
+	public ExperimentRunner(final LongFunction<T> experiment) {
+		this.experiment = experiment;
+	}
+
+	public int getRepetitions() {
+		return repetitions;
+	}
+
+	public ExperimentRunner<T> setRepetitions(final int repetitions) {
+		if (repetitions <= 0) {
+			throw new IllegalArgumentException("The number of repetitions must be greater than zero.");
+		}
+		this.repetitions = repetitions;
+		return this;
+	}
+
+	public long getBaseSeed() {
+		return baseSeed;
+	}
+
+	/**
+	 * Sets the seed of the first repetition. Each next repetition uses the next seed.
+	 */
+	public ExperimentRunner<T> setBaseSeed(final long baseSeed) {
+		this.baseSeed = baseSeed;
+		return this;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Sets the maximum number of repetitions running at the same time.
+	 * By default, one for each available processor.
+	 */
+	public ExperimentRunner<T> setThreads(final int threads) {
+		if (threads <= 0) {
+			throw new IllegalArgumentException("The number of threads must be greater than zero.");
+		}
+		this.threads = threads;
+		return this;
+	}
+
+	/**
+	 * Sets a listener notified of the result of each repetition, in the order of their seeds.
+	 */
+	public ExperimentRunner<T> setResultListener(final Consumer<T> resultListener) {
+		this.resultListener = resultListener;
+		return this;
+	}
+
+	/**
+	 * Sets a condition checked after the result of each repetition is taken,
+	 * which stops the experiment before the maximum {@link #getRepetitions() number of repetitions}
+	 * when it's true.
+	 */
+	public ExperimentRunner<T> setStopCondition(final BooleanSupplier stopCondition) {
+		this.stopCondition = stopCondition;
+		return this;
+	}
+
+	/**
+	 * Runs the repetitions until all of them finish or the stop condition is met.
+	 *
+	 * @return the result of each repetition run, in the order of their seeds
+	 */
+	public List<T> run() {
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, repetitions));
+		try {
+			final List<T> results = new ArrayList<>(repetitions);
+			final Deque<Future<T>> running = new ArrayDeque<>(threads);
+			int submitted = 0;
+			while (results.size() < repetitions && !stopCondition.getAsBoolean()) {
+				while (submitted < repetitions && running.size() < threads) {
+					final long seed = baseSeed + submitted++;
+					running.add(executor.submit(() -> experiment.apply(seed)));
+				}
+
+				final T result = running.poll().get();
+				results.add(result);
+				resultListener.accept(result);
+			}
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The experiment was interrupted.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("A repetition of the experiment failed.", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
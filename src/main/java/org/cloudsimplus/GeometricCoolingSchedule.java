@@ -0,0 +1,16 @@
+package org.cloudsimplus;
+
+/**
+ * A {@link CoolingSchedule} that multiplies the temperature by {@code 1 - coolingRate}
+ * at each iteration, so that {@code T(k) = T0 * (1 - coolingRate)^k}.
+ */
+public class GeometricCoolingSchedule extends CoolingScheduleAbstract {
+	public GeometricCoolingSchedule(final double initialTemperature, final double coldTemperature, final double coolingRate) {
+		super(initialTemperature, coldTemperature, coolingRate);
+	}
+
+	@Override
+	public double nextTemperature(final double temperature, final long iteration) {
+		return temperature * (1 - getCoolingRate());
+	}
+}
@@ -0,0 +1,63 @@
+package org.cloudsimplus;
+
+/**
+ * The configuration of a {@link DatacenterBrokerHeuristicCustom} scenario:
+ * the size of the simulated infrastructure and workload and the Simulated Annealing (SA) parameters.
+ *
+ * @param hosts the number of Hosts to create
+ * @param vms the number of VMs to create
+ * @param cloudlets the number of Cloudlets to create
+ * @param initialTemperature the SA initial temperature
+ * @param coldTemperature the SA temperature at which the search stops
+ * @param coolingRate the SA cooling rate
+ * @param neighborhoodSearches the number of neighbors evaluated at each SA iteration
+ */
+public record HeuristicScenarioConfig(
+	int hosts, int vms, int cloudlets,
+	double initialTemperature, double coldTemperature, double coolingRate,
+	int neighborhoodSearches)
+{
+	/**
+	 * Creates the configuration given by the {@link DatacenterBrokerHeuristicCustom} constants.
+	 */
+	public static HeuristicScenarioConfig createDefault() {
+		return new HeuristicScenarioConfig(
+			DatacenterBrokerHeuristicCustom.HOSTS_TO_CREATE,
+			DatacenterBrokerHeuristicCustom.VMS_TO_CREATE,
+			DatacenterBrokerHeuristicCustom.CLOUDLETS_TO_CREATE,
+			DatacenterBrokerHeuristicCustom.SA_INITIAL_TEMPERATURE,
+			DatacenterBrokerHeuristicCustom.SA_COLD_TEMPERATURE,
+			DatacenterBrokerHeuristicCustom.SA_COOLING_RATE,
+			DatacenterBrokerHeuristicCustom.SA_NUMBER_OF_NEIGHBORHOOD_SEARCHES);
+	}
+
+	/**
+	 * Creates a copy of this configuration with a different value for a parameter.
+	 */
+	public HeuristicScenarioConfig with(final SweepParameter parameter, final double value) {
+		return switch (parameter) {
+			case HOSTS -> new HeuristicScenarioConfig((int) value, vms, cloudlets, initialTemperature, coldTemperature, coolingRate, neighborhoodSearches);
+			case VMS -> new HeuristicScenarioConfig(hosts, (int) value, cloudlets, initialTemperature, coldTemperature, coolingRate, neighborhoodSearches);
+			case CLOUDLETS -> new HeuristicScenarioConfig(hosts, vms, (int) value, initialTemperature, coldTemperature, coolingRate, neighborhoodSearches);
+			case INITIAL_TEMPERATURE -> new HeuristicScenarioConfig(hosts, vms, cloudlets, value, coldTemperature, coolingRate, neighborhoodSearches);
+			case COLD_TEMPERATURE -> new HeuristicScenarioConfig(hosts, vms, cloudlets, initialTemperature, value, coolingRate, neighborhoodSearches);
+			case COOLING_RATE -> new HeuristicScenarioConfig(hosts, vms, cloudlets, initialTemperature, coldTemperature, value, neighborhoodSearches);
+			case NEIGHBORHOOD_SEARCHES -> new HeuristicScenarioConfig(hosts, vms, cloudlets, initialTemperature, coldTemperature, coolingRate, (int) value);
+		};
+	}
+
+	/**
+	 * Gets the value of a parameter.
+	 */
+	public double get(final SweepParameter parameter) {
+		return switch (parameter) {
+			case HOSTS -> hosts;
+			case VMS -> vms;
+			case CLOUDLETS -> cloudlets;
+			case INITIAL_TEMPERATURE -> initialTemperature;
+			case COLD_TEMPERATURE -> coldTemperature;
+			case COOLING_RATE -> coolingRate;
+			case NEIGHBORHOOD_SEARCHES -> neighborhoodSearches;
+		};
+	}
+}
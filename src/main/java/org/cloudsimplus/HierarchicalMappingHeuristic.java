@@ -0,0 +1,416 @@
+package org.cloudsimplus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.heuristics.CloudletToVmMappingHeuristic;
+import org.cloudsimplus.heuristics.CloudletToVmMappingSolution;
+
+/**
+ * A two-level heuristic to map Cloudlets to a large number of VMs.
+ * First, the VMs are partitioned into groups of VMs with the same PEs, MIPS and Datacenter,
+ * where large groups are split so that no group has more than {@link #getMaxGroupSize()} VMs.
+ * Then, a greedy pass assigns each Cloudlet (from the ones requesting more PEs) to the group
+ * with the most free PEs. Finally, each group maps its Cloudlets to its VMs by its own
+ * {@link SimulatedAnnealingHeuristic}, and all groups are annealed in parallel.
+ *
+ * <p>Since the VM cost just depends on the Cloudlets bound to that VM,
+ * the cost of the whole mapping is the sum of the costs of the groups.
+ * A flat annealing over thousands of VMs spends most of its moves on VMs far from each other,
+ * while the groups are small enough for their searches to converge,
+ * so the solve time grows about linearly with the number of VMs.</p>
+ *
+ * <p>Each group has its own random generator, {@link SplittableRandom#split() split} from the one
+ * of this heuristic, so the search is reproducible when a {@link #setSeed(long) seed} is given.</p>
+ */
+public class HierarchicalMappingHeuristic implements CloudletToVmMappingHeuristic {
+	public static final int DEFAULT_MAX_GROUP_SIZE = 256;
+
+	private int maxGroupSize = DEFAULT_MAX_GROUP_SIZE;
+	private ForkJoinPool pool;
+	private Supplier<SimulatedAnnealingHeuristic> groupHeuristicFactory = HierarchicalMappingHeuristic::createDefaultGroupHeuristic;
+	private SplittableRandom random = new SplittableRandom();
+	private List<Cloudlet> cloudletList;
+	private List<Vm> vmList;
+	private int searchesByIteration = 1;
+	private SearchBudget budget;
+	private long elapsedNanos;
+	private CloudletToVmMappingIndex index;
+
+	/**
+	 * The indexes (in the {@link #index}) of the VMs in each group
+	 * and of the Cloudlets assigned to each group by the greedy pass.
+	 */
+	private final List<int[]> groupVms = new ArrayList<>();
+	private final List<int[]> groupCloudlets = new ArrayList<>();
+	private final List<SimulatedAnnealingHeuristic> groupHeuristics = new ArrayList<>();
+	private SimulatedAnnealingSolution bestSolution;
+
+	private static SimulatedAnnealingHeuristic createDefaultGroupHeuristic() {
+		final SimulatedAnnealingHeuristic heuristic = new SimulatedAnnealingHeuristic();
+		heuristic.setInitialSolutionBuilder(new BestFitInitialSolutionBuilder());
+		return heuristic;
+	}
+
+	public int getMaxGroupSize() {
+		return maxGroupSize;
+	}
+
+	/**
+	 * Sets the maximum number of VMs in a group.
+	 * Smaller groups are annealed faster and in parallel,
+	 * but Cloudlets cannot move between groups after the greedy pass.
+	 */
+	public void setMaxGroupSize(final int maxGroupSize) {
+		if (maxGroupSize <= 0) {
+			throw new IllegalArgumentException("The maximum group size must be greater than zero.");
+		}
+		this.maxGroupSize = maxGroupSize;
+	}
+
+	/**
+	 * Sets the pool where the groups are annealed, or null to create a pool for each search (the default),
+	 * with one thread for each group up to the number of processors,
+	 * so that the groups don't compete with other users of the {@link ForkJoinPool#commonPool() common pool}.
+	 */
+	public void setPool(final ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Sets a function that creates the heuristic of each group, enabling them to be configured.
+	 * The group Cloudlets and VMs, random generator and searches by iteration are set afterwards.
+	 * By default, it creates a {@link SimulatedAnnealingHeuristic} starting from a
+	 * {@link BestFitInitialSolutionBuilder best fit} solution.
+	 */
+	public void setGroupHeuristicFactory(final Supplier<SimulatedAnnealingHeuristic> groupHeuristicFactory) {
+		this.groupHeuristicFactory = groupHeuristicFactory;
+	}
+
+	/**
+	 * Sets the seed of this heuristic, from which the random generator of each group is split,
+	 * making the whole search reproducible.
+	 */
+	public void setSeed(final long seed) {
+		this.random = new SplittableRandom(seed);
+	}
+
+	public SearchBudget getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Sets the limits of the search of each group. If not set, the budget of each group
+	 * is the one given by the {@link #setGroupHeuristicFactory(Supplier) group heuristic factory}.
+	 */
+	public void setBudget(final SearchBudget budget) {
+		this.budget = budget;
+	}
+
+	/**
+	 * Gets the number of VM groups of the last search.
+	 */
+	public int getGroupsNumber() {
+		return groupVms.size();
+	}
+
+	/**
+	 * Gets the heuristics of the groups that had some Cloudlet assigned in the last search.
+	 */
+	public List<SimulatedAnnealingHeuristic> getGroupHeuristics() {
+		return List.copyOf(groupHeuristics);
+	}
+
+	@Override
+	public CloudletToVmMappingSolution solve() {
+		final long startNanos = System.nanoTime();
+		partition();
+
+		final List<Callable<SimulatedAnnealingSolution>> tasks = new ArrayList<>(groupHeuristics.size());
+		for (final SimulatedAnnealingHeuristic groupHeuristic : groupHeuristics) {
+			tasks.add(() -> (SimulatedAnnealingSolution) groupHeuristic.solve());
+		}
+
+		final List<SimulatedAnnealingSolution> groupSolutions = new ArrayList<>(tasks.size());
+		final ForkJoinPool groupsPool = pool == null ? createPool(tasks.size()) : pool;
+		try {
+			for (final Future<SimulatedAnnealingSolution> future : groupsPool.invokeAll(tasks)) {
+				groupSolutions.add(getResult(future));
+			}
+		} finally {
+			if (groupsPool != pool) {
+				groupsPool.shutdown();
+			}
+		}
+
+		bestSolution = combine(groupSolutions);
+		elapsedNanos = System.nanoTime() - startNanos;
+		return bestSolution;
+	}
+
+	private static ForkJoinPool createPool(final int groups) {
+		return new ForkJoinPool(Math.max(1, Math.min(groups, Runtime.getRuntime().availableProcessors())));
+	}
+
+	private static SimulatedAnnealingSolution getResult(final Future<SimulatedAnnealingSolution> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The search was interrupted.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("The search of a VM group failed.", e.getCause());
+		}
+	}
+
+	/**
+	 * Groups the VMs, assigns the Cloudlets to groups and creates the heuristic of each group
+	 * that got some Cloudlet.
+	 */
+	private void partition() {
+		index = new CloudletToVmMappingIndex(this);
+		groupVms();
+		assignCloudletsToGroups();
+
+		groupHeuristics.clear();
+		final List<int[]> usedGroupVms = new ArrayList<>();
+		final List<int[]> usedGroupCloudlets = new ArrayList<>();
+		for (int group = 0; group < groupVms.size(); group++) {
+			if (groupCloudlets.get(group).length > 0) {
+				usedGroupVms.add(groupVms.get(group));
+				usedGroupCloudlets.add(groupCloudlets.get(group));
+				groupHeuristics.add(createGroupHeuristic(groupVms.get(group), groupCloudlets.get(group)));
+			}
+		}
+
+		// Keeps just the groups that have a heuristic, in the same order
+		groupVms.clear();
+		groupVms.addAll(usedGroupVms);
+		groupCloudlets.clear();
+		groupCloudlets.addAll(usedGroupCloudlets);
+	}
+
+	/**
+	 * Partitions the VMs by their PEs, MIPS and Datacenter,
+	 * splitting each partition into chunks of up to {@link #maxGroupSize} VMs with about the same size.
+	 */
+	private void groupVms() {
+		final Map<VmGroupKey, List<Integer>> partitions = new LinkedHashMap<>();
+		for (int vm = 0; vm < index.getVmsNumber(); vm++) {
+			partitions.computeIfAbsent(VmGroupKey.of(index.getVm(vm)), key -> new ArrayList<>()).add(vm);
+		}
+
+		groupVms.clear();
+		for (final List<Integer> partition : partitions.values()) {
+			final int chunks = (partition.size() + maxGroupSize - 1) / maxGroupSize;
+			for (int chunk = 0; chunk < chunks; chunk++) {
+				final int from = (int) ((long) partition.size() * chunk / chunks);
+				final int to = (int) ((long) partition.size() * (chunk + 1) / chunks);
+				groupVms.add(partition.subList(from, to).stream().mapToInt(Integer::intValue).toArray());
+			}
+		}
+	}
+
+	/**
+	 * Assigns each Cloudlet, from the ones requesting more PEs,
+	 * to the group with the most free PEs, which are kept in a heap.
+	 * It takes O(C log C + C log G) for C Cloudlets and G groups.
+	 */
+	private void assignCloudletsToGroups() {
+		final int groups = groupVms.size();
+		groupCloudlets.clear();
+		if (groups == 0) {
+			return;
+		}
+
+		final long[] freePes = new long[groups];
+		for (int group = 0; group < groups; group++) {
+			for (final int vm : groupVms.get(group)) {
+				freePes[group] += index.getVmPes(vm) - index.getVmBaselinePes(vm);
+			}
+		}
+
+		final PriorityQueue<Integer> groupHeap = new PriorityQueue<>(
+			groups, Comparator.<Integer>comparingLong(group -> -freePes[group]).thenComparingInt(group -> group));
+		for (int group = 0; group < groups; group++) {
+			groupHeap.add(group);
+		}
+
+		final int[] sortedCloudlets = IntStream.range(0, index.getCloudletsNumber())
+			.boxed()
+			.sorted(Comparator.comparingLong((Integer cloudlet) -> index.getCloudletPes(cloudlet)).reversed())
+			.mapToInt(Integer::intValue)
+			.toArray();
+
+		final int[] cloudletGroup = new int[sortedCloudlets.length];
+		final int[] groupSizes = new int[groups];
+		for (final int cloudlet : sortedCloudlets) {
+			final int group = groupHeap.poll();
+			cloudletGroup[cloudlet] = group;
+			groupSizes[group]++;
+			freePes[group] -= index.getCloudletPes(cloudlet);
+			groupHeap.add(group);
+		}
+
+		for (int group = 0; group < groups; group++) {
+			groupCloudlets.add(new int[groupSizes[group]]);
+		}
+		final int[] filled = new int[groups];
+		for (int cloudlet = 0; cloudlet < cloudletGroup.length; cloudlet++) {
+			final int group = cloudletGroup[cloudlet];
+			groupCloudlets.get(group)[filled[group]++] = cloudlet;
+		}
+	}
+
+	private SimulatedAnnealingHeuristic createGroupHeuristic(final int[] vms, final int[] cloudlets) {
+		final List<Vm> groupVmList = IntStream.of(vms).mapToObj(index::getVm).toList();
+		final List<Cloudlet> groupCloudletList = IntStream.of(cloudlets).mapToObj(index::getCloudlet).toList();
+		final long[] baselinePes = IntStream.of(vms).mapToLong(index::getVmBaselinePes).toArray();
+		final int[] baselineCloudlets = IntStream.of(vms).map(index::getVmBaselineCloudlets).toArray();
+
+		final SimulatedAnnealingHeuristic heuristic = groupHeuristicFactory.get();
+		heuristic.setIndex(new CloudletToVmMappingIndex(groupCloudletList, groupVmList, baselinePes, baselineCloudlets));
+		heuristic.setRandom(random.split());
+		heuristic.setSearchesByIteration(searchesByIteration);
+		if (budget != null) {
+			heuristic.setBudget(new SearchBudget(budget));
+		}
+		return heuristic;
+	}
+
+	/**
+	 * Builds the mapping of all Cloudlets from the mapping of each group.
+	 */
+	private SimulatedAnnealingSolution combine(final List<? extends CloudletToVmArrayMappingSolution> groupSolutions) {
+		final SimulatedAnnealingSolution solution = new SimulatedAnnealingSolution(this, index);
+		for (int group = 0; group < groupSolutions.size(); group++) {
+			final CloudletToVmArrayMappingSolution groupSolution = groupSolutions.get(group);
+			final int[] cloudlets = groupCloudlets.get(group);
+			final int[] vms = groupVms.get(group);
+			for (int i = 0; i < cloudlets.length; i++) {
+				final int vm = groupSolution.getVmIndex(i);
+				if (vm != CloudletToVmArrayMappingSolution.UNBOUND) {
+					solution.bindCloudletToVm(cloudlets[i], vms[vm]);
+				}
+			}
+		}
+		return solution;
+	}
+
+	/**
+	 * Gets the mean acceptance probability of the groups' latest neighbors.
+	 */
+	@Override
+	public double getAcceptanceProbability() {
+		return groupHeuristics.stream().mapToDouble(SimulatedAnnealingHeuristic::getAcceptanceProbability).average().orElse(0);
+	}
+
+	@Override
+	public int getRandomValue(final int maxValue) {
+		return random.nextInt(maxValue);
+	}
+
+	@Override
+	public boolean isToStopSearch() {
+		return groupHeuristics.stream().allMatch(SimulatedAnnealingHeuristic::isToStopSearch);
+	}
+
+	/**
+	 * Gets the mapping given by the greedy assignment of Cloudlets to groups
+	 * and the initial solution of each group.
+	 */
+	@Override
+	public CloudletToVmMappingSolution getInitialSolution() {
+		partition();
+		return combine(groupHeuristics.stream().map(SimulatedAnnealingHeuristic::getInitialSolution).toList());
+	}
+
+	@Override
+	public CloudletToVmMappingSolution getNeighborSolution() {
+		return bestSolution;
+	}
+
+	/**
+	 * Creates a copy of a solution with the VMs of two random Cloudlets swapped,
+	 * which may move Cloudlets between groups.
+	 */
+	@Override
+	public CloudletToVmMappingSolution createNeighbor(final CloudletToVmMappingSolution source) {
+		final SimulatedAnnealingSolution neighbor = new SimulatedAnnealingSolution(source);
+		neighbor.applyRandomSwap();
+		return neighbor;
+	}
+
+	@Override
+	public CloudletToVmMappingSolution getBestSolutionSoFar() {
+		return bestSolution;
+	}
+
+	@Override
+	public int getSearchesByIteration() {
+		return searchesByIteration;
+	}
+
+	@Override
+	public void setSearchesByIteration(final int searchesByIteration) {
+		this.searchesByIteration = searchesByIteration;
+	}
+
+	/**
+	 * Gets the wall-clock time the last search took, including grouping the VMs
+	 * and assigning Cloudlets to groups, in seconds.
+	 */
+	@Override
+	public double getSolveTime() {
+		return elapsedNanos / 1e9;
+	}
+
+	/**
+	 * Gets the total number of iterations run by all groups in the last search.
+	 */
+	public long getIterations() {
+		return groupHeuristics.stream().mapToLong(heuristic -> heuristic.getBudget().getIterations()).sum();
+	}
+
+	@Override
+	public List<Cloudlet> getCloudletList() {
+		return cloudletList;
+	}
+
+	@Override
+	public List<Vm> getVmList() {
+		return vmList;
+	}
+
+	@Override
+	public void setCloudletList(final List<Cloudlet> cloudletList) {
+		this.cloudletList = cloudletList;
+	}
+
+	@Override
+	public void setVmList(final List<Vm> vmList) {
+		this.vmList = vmList;
+	}
+
+	/**
+	 * The attributes of the VMs that can be in the same group.
+	 */
+	private record VmGroupKey(long pes, double mips, long datacenterId) {
+		static VmGroupKey of(final Vm vm) {
+			return new VmGroupKey(vm.getNumberOfPes(), vm.getMips(), vm.getHost().getDatacenter().getId());
+		}
+	}
+}
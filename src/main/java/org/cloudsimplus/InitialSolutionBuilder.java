@@ -0,0 +1,18 @@
+package org.cloudsimplus;
+
+import java.util.SplittableRandom;
+
+/**
+ * A strategy to build the solution a {@link SimulatedAnnealingHeuristic} starts searching from.
+ * A good initial solution (such as one built by a greedy rule) lets the search spend its
+ * iterations refining the mapping instead of undoing a bad start.
+ */
+public interface InitialSolutionBuilder {
+	/**
+	 * Binds every Cloudlet of an empty solution to some VM.
+	 *
+	 * @param solution the solution to fill, with no Cloudlet bound yet
+	 * @param random the random generator of the heuristic
+	 */
+	void build(SimulatedAnnealingSolution solution, SplittableRandom random);
+}
@@ -0,0 +1,17 @@
+package org.cloudsimplus;
+
+/**
+ * A {@link CoolingSchedule} that decreases the temperature by {@code coolingRate * T0}
+ * at each iteration, so that {@code T(k) = T0 * (1 - coolingRate * k)},
+ * reaching the cold temperature after about {@code 1/coolingRate} iterations.
+ */
+public class LinearCoolingSchedule extends CoolingScheduleAbstract {
+	public LinearCoolingSchedule(final double initialTemperature, final double coldTemperature, final double coolingRate) {
+		super(initialTemperature, coldTemperature, coolingRate);
+	}
+
+	@Override
+	public double nextTemperature(final double temperature, final long iteration) {
+		return Math.max(temperature - getCoolingRate() * getInitialTemperature(), getColdTemperature());
+	}
+}
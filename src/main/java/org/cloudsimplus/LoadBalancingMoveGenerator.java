@@ -0,0 +1,22 @@
+package org.cloudsimplus;
+
+import java.util.SplittableRandom;
+
+/**
+ * Moves a random Cloudlet from the {@link SimulatedAnnealingSolution#getMostLoadedVm() most loaded VM}
+ * to the {@link SimulatedAnnealingSolution#getLeastLoadedVm() least loaded one},
+ * directly reducing the imbalance between VMs.
+ */
+public class LoadBalancingMoveGenerator implements MoveGenerator {
+	@Override
+	public void generate(final SimulatedAnnealingSolution solution, final SplittableRandom random, final SimulatedAnnealingMove move) {
+		move.clear();
+		final int sourceVmIndex = solution.getMostLoadedVm();
+		final int targetVmIndex = solution.getLeastLoadedVm();
+		if (sourceVmIndex == targetVmIndex || solution.getVmCloudletsNumber(sourceVmIndex) == 0) {
+			return;
+		}
+
+		move.addRelocation(MoveGenerator.getRandomCloudletOfVm(solution, random, sourceVmIndex), targetVmIndex);
+	}
+}
@@ -0,0 +1,17 @@
+package org.cloudsimplus;
+
+/**
+ * A {@link CoolingSchedule} where {@code T(k) = T0 / (1 + ln(1 + coolingRate * k))}.
+ * It cools much slower than the other schedules, usually stopping by
+ * the iterations limit of the heuristic instead of reaching the cold temperature.
+ */
+public class LogarithmicCoolingSchedule extends CoolingScheduleAbstract {
+	public LogarithmicCoolingSchedule(final double initialTemperature, final double coldTemperature, final double coolingRate) {
+		super(initialTemperature, coldTemperature, coolingRate);
+	}
+
+	@Override
+	public double nextTemperature(final double temperature, final long iteration) {
+		return getInitialTemperature() / (1 + Math.log1p(getCoolingRate() * (iteration + 1)));
+	}
+}
@@ -0,0 +1,54 @@
+package org.cloudsimplus;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Binds the Cloudlets to VMs by the Longest Processing Time first (LPT) rule:
+ * the Cloudlets are sorted by decreasing work (length times PEs) and each one is
+ * bound to the VM that will finish its current work first.
+ * The VMs are kept in a heap ordered by their expected finish time (the assigned work
+ * divided by the VM capacity), so building the solution takes O(C log C + C log V)
+ * and gives a near-optimal makespan.
+ */
+public class LptInitialSolutionBuilder implements InitialSolutionBuilder {
+	@Override
+	public void build(final SimulatedAnnealingSolution solution, final SplittableRandom random) {
+		final CloudletToVmMappingIndex index = solution.getIndex();
+		final int vms = index.getVmsNumber();
+		if (vms == 0) {
+			return;
+		}
+
+		final double[] finishTime = new double[vms];
+		final double[] capacity = new double[vms];
+		for (int i = 0; i < vms; i++) {
+			capacity[i] = index.getVm(i).getMips() * index.getVmPes(i);
+		}
+
+		final PriorityQueue<Integer> vmHeap = new PriorityQueue<>(
+			vms, Comparator.<Integer>comparingDouble(vm -> finishTime[vm]).thenComparingInt(vm -> vm));
+		for (int i = 0; i < vms; i++) {
+			vmHeap.add(i);
+		}
+
+		final int[] sortedCloudlets = IntStream.range(0, index.getCloudletsNumber())
+			.boxed()
+			.sorted(Comparator.comparingLong((Integer cloudlet) -> getWork(index, cloudlet)).reversed())
+			.mapToInt(Integer::intValue)
+			.toArray();
+
+		for (final int cloudlet : sortedCloudlets) {
+			final int vm = vmHeap.poll();
+			solution.bindCloudletToVm(cloudlet, vm);
+			finishTime[vm] += getWork(index, cloudlet) / capacity[vm];
+			vmHeap.add(vm);
+		}
+	}
+
+	private static long getWork(final CloudletToVmMappingIndex index, final int cloudletIndex) {
+		return index.getCloudletLength(cloudletIndex) * index.getCloudletPes(cloudletIndex);
+	}
+}
@@ -0,0 +1,29 @@
+package org.cloudsimplus;
+
+/**
+ * The objectives a {@link MultiObjectiveMappingSolution} is evaluated by, all of them to be minimized.
+ * The {@link #ordinal()} of each objective is its position in the objective vectors.
+ */
+public enum MappingObjective {
+	/**
+	 * The estimated time (in seconds) for the last VM to finish its Cloudlets.
+	 */
+	MAKESPAN,
+
+	/**
+	 * The estimated processing cost ($) of the VMs while they run their Cloudlets,
+	 * as computed by {@link org.cloudbus.cloudsim.vms.VmCost#getProcessingCost()}.
+	 */
+	COST,
+
+	/**
+	 * The estimated energy (in Joules) consumed by the Hosts of the VMs,
+	 * according to their {@link org.cloudbus.cloudsim.power.models.PowerModelHostSimple power model}.
+	 */
+	ENERGY;
+
+	/**
+	 * The number of objectives, which is the length of the objective vectors.
+	 */
+	public static final int COUNT = values().length;
+}
@@ -0,0 +1,114 @@
+package org.cloudsimplus;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.power.models.PowerModelHostSimple;
+import org.cloudbus.cloudsim.vms.Vm;
+
+/**
+ * The parameters of each VM (and its Host) that the {@link MappingObjective}s of a
+ * {@link MultiObjectiveMappingSolution} are computed from, taken once from the VMs of a {@link CloudletToVmMappingIndex}
+ * and shared by all solutions created from it.
+ *
+ * <ul>
+ *     <li>The finish time of a VM is the work requested from it (the length times PEs of its Cloudlets)
+ *     divided by its total MIPS (its MIPS times PEs).</li>
+ *     <li>The cost of a VM is the cost per second of its Datacenter times its finish time,
+ *     as in {@link org.cloudbus.cloudsim.vms.VmCost#getProcessingCost()}.</li>
+ *     <li>While a VM runs, its Host consumes the share of the Host dynamic power
+ *     (max power minus static power) proportional to the VM PEs.
+ *     Hosts that have some VM running Cloudlets also consume their static power until the makespan.</li>
+ * </ul>
+ *
+ * <p>VMs not placed into a Host yet, or whose Hosts have no {@link PowerModelHostSimple},
+ * have no cost or energy.</p>
+ */
+public final class MappingObjectiveModel {
+	/**
+	 * Value of {@link #getVmHost(int)} for VMs not placed into a Host.
+	 */
+	public static final int NO_HOST = -1;
+
+	private final double[] vmTotalMips;
+	private final double[] vmCostPerSecond;
+	private final double[] vmDynamicPower;
+	private final int[] vmHost;
+	private final double[] hostStaticPower;
+
+	public MappingObjectiveModel(final CloudletToVmMappingIndex index) {
+		final int vms = index.getVmsNumber();
+		this.vmTotalMips = new double[vms];
+		this.vmCostPerSecond = new double[vms];
+		this.vmDynamicPower = new double[vms];
+		this.vmHost = new int[vms];
+
+		final Map<Host, Integer> hostIndexes = new HashMap<>();
+		for (int i = 0; i < vms; i++) {
+			final Vm vm = index.getVm(i);
+			final Host host = vm.getHost();
+			vmTotalMips[i] = vm.getMips() * vm.getNumberOfPes();
+			if (host == Host.NULL) {
+				vmHost[i] = NO_HOST;
+				continue;
+			}
+
+			vmHost[i] = hostIndexes.computeIfAbsent(host, h -> hostIndexes.size());
+			vmCostPerSecond[i] = host.getDatacenter().getCharacteristics().getCostPerSecond();
+			if (host.getPowerModel() instanceof PowerModelHostSimple powerModel) {
+				vmDynamicPower[i] = (powerModel.getMaxPower() - powerModel.getStaticPower()) * vm.getNumberOfPes() / host.getNumberOfPes();
+			}
+		}
+
+		this.hostStaticPower = new double[hostIndexes.size()];
+		hostIndexes.forEach((host, hostIndex) -> {
+			if (host.getPowerModel() instanceof PowerModelHostSimple powerModel) {
+				hostStaticPower[hostIndex] = powerModel.getStaticPower();
+			}
+		});
+	}
+
+	/**
+	 * Gets the time (in seconds) a VM takes to run a given amount of work.
+	 *
+	 * @param work the work (in MI) requested from the VM
+	 */
+	public double getFinishTime(final int vmIndex, final long work) {
+		return vmTotalMips[vmIndex] == 0 ? 0 : work / vmTotalMips[vmIndex];
+	}
+
+	/**
+	 * Gets the cost ($) per second a VM runs.
+	 */
+	public double getVmCostPerSecond(final int vmIndex) {
+		return vmCostPerSecond[vmIndex];
+	}
+
+	/**
+	 * Gets the power (in Watts) a VM adds to its Host while it runs.
+	 */
+	public double getVmDynamicPower(final int vmIndex) {
+		return vmDynamicPower[vmIndex];
+	}
+
+	/**
+	 * Gets the index of the Host of a VM, from 0 to {@link #getHostsNumber()} - 1.
+	 *
+	 * @return the Host index or {@link #NO_HOST}
+	 */
+	public int getVmHost(final int vmIndex) {
+		return vmHost[vmIndex];
+	}
+
+	public int getHostsNumber() {
+		return hostStaticPower.length;
+	}
+
+	/**
+	 * Gets the power (in Watts) a Host consumes while it has some VM running Cloudlets.
+	 */
+	public double getHostStaticPower(final int hostIndex) {
+		return hostStaticPower[hostIndex];
+	}
+}
@@ -0,0 +1,264 @@
+package org.cloudsimplus;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of Cloudlet to VM mappings keyed by the {@link WorkloadSignature} of the Cloudlets and VMs they map,
+ * so that repeated runs of the same workload pay for the heuristic search just once.
+ * Mappings are kept in the {@link WorkloadSignature canonical order}, so they can be reused by workloads
+ * whose Cloudlets and VMs have the same shapes, regardless of their order and ids.
+ *
+ * <p>The cache keeps up to {@link #getCapacity()} mappings in memory, evicting the least recently used one.
+ * If a spill directory is given, evicted mappings are written to a file named by the signature hash
+ * and are read back when requested again, which also enables sharing the cache among processes
+ * (such as nightly runs) by {@link #flush() flushing} it when the process finishes.</p>
+ *
+ * <p>Besides exact hits, the cache can {@link #findNearest(WorkloadSignature, double) find}
+ * the mapping of a similar workload (with the same VMs and most of the same Cloudlets)
+ * to warm start a search. Just the mappings in memory are considered.</p>
+ *
+ * <p>All methods are synchronized, so a cache can be shared by simulations running in parallel.</p>
+ *
+ * @see CachingMappingHeuristic
+ * @see CachedInitialSolutionBuilder
+ */
+public class MappingSolutionCache {
+	public static final int DEFAULT_CAPACITY = 64;
+	private static final int FILE_VERSION = 1;
+	private static final String FILE_EXTENSION = ".mapping";
+
+	/**
+	 * A mapping in the canonical order of a signature.
+	 *
+	 * @param signature the signature of the mapped workload
+	 * @param mapping the canonical position of the VM of each Cloudlet, in canonical order
+	 */
+	public record CachedMapping(WorkloadSignature signature, int[] mapping) {
+	}
+
+	private final int capacity;
+	private final Path spillDirectory;
+	private final Map<WorkloadSignature, CachedMapping> entries;
+	private long hits;
+	private long nearHits;
+	private long misses;
+
+	/**
+	 * Creates a cache that keeps mappings just in memory.
+	 */
+	public MappingSolutionCache(final int capacity) {
+		this(capacity, null);
+	}
+
+	/**
+	 * Creates a cache that spills evicted mappings to a directory.
+	 *
+	 * @param capacity the maximum number of mappings kept in memory
+	 * @param spillDirectory the directory to write evicted mappings to (created if needed),
+	 *                       or null to keep mappings just in memory
+	 */
+	public MappingSolutionCache(final int capacity, final Path spillDirectory) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("The cache capacity must be greater than zero.");
+		}
+		this.capacity = capacity;
+		this.spillDirectory = spillDirectory;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<WorkloadSignature, CachedMapping> eldest) {
+				if (size() <= MappingSolutionCache.this.capacity) {
+					return false;
+				}
+				spill(eldest.getValue());
+				return true;
+			}
+		};
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Gets the mapping of a workload with the given signature,
+	 * reading it from the spill directory if it's not in memory.
+	 *
+	 * @return the mapping or null if it's not cached
+	 */
+	public synchronized CachedMapping get(final WorkloadSignature signature) {
+		CachedMapping cached = entries.get(signature);
+		if (cached == null) {
+			cached = read(signature);
+			if (cached != null) {
+				entries.put(signature, cached);
+			}
+		}
+
+		if (cached == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return cached;
+	}
+
+	/**
+	 * Finds the in-memory mapping of the workload most similar to a given one:
+	 * a workload with the same VMs and the highest {@link WorkloadSignature#getCloudletSimilarity(WorkloadSignature) Cloudlet similarity}.
+	 *
+	 * @param minSimilarity the minimum Cloudlet similarity, in [0, 1]
+	 * @return the mapping or null if no workload is similar enough
+	 */
+	public synchronized CachedMapping findNearest(final WorkloadSignature signature, final double minSimilarity) {
+		CachedMapping nearest = null;
+		double nearestSimilarity = minSimilarity;
+		for (final CachedMapping cached : entries.values()) {
+			if (!cached.signature().hasSameVms(signature)) {
+				continue;
+			}
+
+			final double similarity = signature.getCloudletSimilarity(cached.signature());
+			if (similarity >= nearestSimilarity) {
+				nearest = cached;
+				nearestSimilarity = similarity;
+			}
+		}
+
+		if (nearest != null) {
+			nearHits++;
+		}
+		return nearest;
+	}
+
+	/**
+	 * Adds the mapping of a workload to the cache.
+	 *
+	 * @param mapping the canonical position of the VM of each Cloudlet, in canonical order
+	 * @see WorkloadSignature#toCanonicalMapping(CloudletToVmArrayMappingSolution)
+	 */
+	public synchronized void put(final WorkloadSignature signature, final int[] mapping) {
+		if (mapping.length != signature.getCloudletsNumber()) {
+			throw new IllegalArgumentException("There must be a VM for each one of the " + signature.getCloudletsNumber() + " Cloudlets.");
+		}
+		entries.put(signature, new CachedMapping(signature, mapping.clone()));
+	}
+
+	/**
+	 * Writes all mappings in memory to the spill directory, if there is one,
+	 * so that they can be read by other processes.
+	 */
+	public synchronized void flush() {
+		entries.values().forEach(this::spill);
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		hits = 0;
+		nearHits = 0;
+		misses = 0;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Gets the number of requested signatures that were cached.
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Gets the number of times the mapping of a similar workload was found.
+	 */
+	public synchronized long getNearHits() {
+		return nearHits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	private Path getFile(final WorkloadSignature signature) {
+		return spillDirectory.resolve("%016x%s".formatted(signature.getLongHash(), FILE_EXTENSION));
+	}
+
+	private void spill(final CachedMapping cached) {
+		if (spillDirectory == null) {
+			return;
+		}
+
+		final Path file = getFile(cached.signature());
+		try {
+			Files.createDirectories(spillDirectory);
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+				out.writeInt(FILE_VERSION);
+				writeArray(out, cached.signature().getVmShapes());
+				writeArray(out, cached.signature().getCloudletShapes());
+				out.writeInt(cached.mapping().length);
+				for (final int vm : cached.mapping()) {
+					out.writeInt(vm);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Error writing the cached mapping to " + file, e);
+		}
+	}
+
+	private static void writeArray(final DataOutputStream out, final long[] values) throws IOException {
+		out.writeInt(values.length);
+		for (final long value : values) {
+			out.writeLong(value);
+		}
+	}
+
+	/**
+	 * Reads the mapping of a signature from the spill directory.
+	 *
+	 * @return the mapping or null if there is no file for the signature,
+	 *         or the file is from another version or another signature with the same hash
+	 */
+	private CachedMapping read(final WorkloadSignature signature) {
+		if (spillDirectory == null || !Files.isRegularFile(getFile(signature))) {
+			return null;
+		}
+
+		final Path file = getFile(signature);
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != FILE_VERSION) {
+				return null;
+			}
+
+			final WorkloadSignature stored = new WorkloadSignature(readArray(in), readArray(in));
+			if (!stored.equals(signature)) {
+				return null;
+			}
+
+			final int[] mapping = new int[in.readInt()];
+			for (int i = 0; i < mapping.length; i++) {
+				mapping[i] = in.readInt();
+			}
+			return new CachedMapping(stored, mapping);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Error reading the cached mapping from " + file, e);
+		}
+	}
+
+	private static long[] readArray(final DataInputStream in) throws IOException {
+		final long[] values = new long[in.readInt()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = in.readLong();
+		}
+		return values;
+	}
+}
@@ -1,27 +1,125 @@
 package org.cloudsimplus;
 
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Runs repetitions of the {@link DatacenterBrokerHeuristicExample} in parallel,
+ * prints the metrics of each one as CSV and then a statistical summary of each metric.
+ * The repetitions stop as soon as the 95% confidence interval of the heuristic cost
+ * (as a percentage of the round robin cost) is narrow enough,
+ * or when the maximum number of repetitions is reached.
+ * Each run is also solved by a {@link BranchAndBoundMappingHeuristic}, so that the summary shows
+ * the optimality gap of the heuristic and the rate of runs the exact solver proved optimal within its node limit.
+ * Instances too large for the exact solver report NaN and are left out of its statistics.
+ * The maximum number of repetitions can be given as the first command line argument.
+ *
+ * <p>A directory can be given as the second argument to cache the mapping of each workload
+ * in a {@link MappingSolutionCache}, so that later executions (such as nightly runs)
+ * reuse the mappings instead of running the heuristic again.
+ * The solve time of runs whose mapping was cached is left out of its statistics,
+ * and the rate of such runs is reported separately.</p>
+ */
 public class Metrics {
-	private static final int ITERATIONS = 30;
-	private static double[][] results = new double[30][];
+	private static final int ITERATIONS = ExperimentRunner.DEFAULT_REPETITIONS;
+	/**
+	 * Seed of the first run. Each run uses the next seed, so all runs are reproducible.
+	 */
+	private static final long SEED = 1;
+
+	/**
+	 * Minimum number of runs before the confidence interval is checked,
+	 * since it's unreliable for very few runs.
+	 */
+	private static final int MIN_ITERATIONS = 5;
+	private static final double CONFIDENCE_LEVEL = 0.95;
+	/**
+	 * The runs stop when the confidence interval half-width of the
+	 * heuristic cost percentage is below this value (in percentage points).
+	 */
+	private static final double MAX_CI_HALF_WIDTH = 2.0;
 
+	private static final Map<String, ToDoubleFunction<SimulationRunResult>> METRICS = createMetrics();
+
+	private final Map<String, OnlineStatistics> statistics = new LinkedHashMap<>();
 
 	public static void main(String[] args) {
-		new Metrics();
+		final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : ITERATIONS;
+		final MappingSolutionCache cache =
+			args.length > 1 ? new MappingSolutionCache(MappingSolutionCache.DEFAULT_CAPACITY, Path.of(args[1])) : null;
+		new Metrics(iterations, cache);
+	}
+
+	private static Map<String, ToDoubleFunction<SimulationRunResult>> createMetrics() {
+		final Map<String, ToDoubleFunction<SimulationRunResult>> metrics = new LinkedHashMap<>();
+		metrics.put("roundRobinCost", SimulationRunResult::roundRobinCost);
+		metrics.put("roundRobinFitness", SimulationRunResult::roundRobinFitness);
+		metrics.put("heuristicCost", SimulationRunResult::heuristicCost);
+		metrics.put("heuristicFitness", SimulationRunResult::heuristicFitness);
+		metrics.put("costPercentOfRoundRobin", SimulationRunResult::getCostPercentOfRoundRobin);
+		// The lookup time of cached mappings would hide the time the heuristic takes
+		metrics.put("solveTime", result -> result.cacheHit() ? Double.NaN : result.solveTime());
+		metrics.put("cacheHit", result -> result.cacheHit() ? 1 : 0);
+		metrics.put("exactCost", SimulationRunResult::exactCost);
+		metrics.put("exactOptimal", result -> Double.isNaN(result.exactCost()) ? Double.NaN : result.exactOptimal() ? 1 : 0);
+		metrics.put("optimalityGap", SimulationRunResult::getOptimalityGap);
+		metrics.put("optimalityGapPercent", SimulationRunResult::getOptimalityGapPercent);
+		return metrics;
 	}
 
-	private Metrics() {
-		for (int i = 0; i<ITERATIONS; i++) {
-			DatacenterBrokerHeuristicExample simulation = new DatacenterBrokerHeuristicExample();
-			results[i] = simulation.print();
+	private Metrics(final int iterations, final MappingSolutionCache cache) {
+		METRICS.keySet().forEach(metric -> statistics.put(metric, new OnlineStatistics()));
+
+		System.out.println(SimulationRunResult.getCsvHeader());
+		final List<SimulationRunResult> results =
+			new ExperimentRunner<>(seed -> new DatacenterBrokerHeuristicExample(seed, false, cache).getResult())
+				.setRepetitions(iterations)
+				.setBaseSeed(SEED)
+				.setResultListener(this::addResult)
+				.setStopCondition(this::isConfidenceIntervalNarrowEnough)
+				.run();
+
+		System.out.printf("%nSummary of %d runs (%.0f%% confidence intervals)%n", results.size(), CONFIDENCE_LEVEL * 100);
+		System.out.println("metric,n,mean,stddev,min,p5,p50,p95,max,ciLow,ciHigh");
+		statistics.forEach(this::printSummary);
+
+		if (cache != null) {
+			cache.flush();
+			System.out.printf("%nSolution cache: %d hits, %d misses%n", cache.getHits(), cache.getMisses());
 		}
+	}
+
+	private void addResult(final SimulationRunResult result) {
+		System.out.println(result.toCsvRow());
+		METRICS.forEach((metric, getter) -> addValue(metric, getter.applyAsDouble(result)));
+	}
 
-		for (int i = 0; i<ITERATIONS; i++) {
-			double[] metrics = results[i];
-			for (int j = 0; j<metrics.length; j++) {
-				System.out.print(metrics[j]);
-				System.out.print(",");
-			}
-			System.out.println("");
+	/**
+	 * Adds the value of a metric to its statistics, unless it's NaN
+	 * (such as the exact cost of an instance too large for the exact solver).
+	 */
+	private void addValue(final String metric, final double value) {
+		if (!Double.isNaN(value)) {
+			statistics.get(metric).add(value);
 		}
 	}
+
+	private boolean isConfidenceIntervalNarrowEnough() {
+		final OnlineStatistics costPercent = statistics.get("costPercentOfRoundRobin");
+		return costPercent.getCount() >= MIN_ITERATIONS &&
+			   costPercent.getConfidenceIntervalHalfWidth(CONFIDENCE_LEVEL) < MAX_CI_HALF_WIDTH;
+	}
+
+	private void printSummary(final String metric, final OnlineStatistics stats) {
+		final double halfWidth = stats.getConfidenceIntervalHalfWidth(CONFIDENCE_LEVEL);
+		System.out.printf(
+			Locale.ROOT, "%s,%d,%.6f,%.6f,%.6f,%.6f,%.6f,%.6f,%.6f,%.6f,%.6f%n",
+			metric, stats.getCount(), stats.getMean(), stats.getStandardDeviation(),
+			stats.getMin(), stats.getPercentile(5), stats.getPercentile(50), stats.getPercentile(95), stats.getMax(),
+			stats.getMean() - halfWidth, stats.getMean() + halfWidth);
+	}
 }
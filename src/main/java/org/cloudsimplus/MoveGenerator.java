@@ -0,0 +1,43 @@
+package org.cloudsimplus;
+
+import java.util.SplittableRandom;
+
+/**
+ * A strategy to generate the {@link SimulatedAnnealingMove moves} from a
+ * {@link SimulatedAnnealingSolution} to its neighbors.
+ * Generating a move must not change the solution.
+ *
+ * <p>A generator may keep state (such as the acceptance rate of its moves),
+ * so each heuristic must have its own instance.</p>
+ *
+ * @see AdaptiveMoveGenerator
+ */
+public interface MoveGenerator {
+	/**
+	 * Fills a move to a neighbor of a solution,
+	 * leaving it empty if this generator cannot find any.
+	 *
+	 * @param solution the solution to move from
+	 * @param random the random generator of the heuristic
+	 * @param move the move to be filled, which is cleared first
+	 */
+	void generate(SimulatedAnnealingSolution solution, SplittableRandom random, SimulatedAnnealingMove move);
+
+	/**
+	 * Notifies the generator that a move it generated was submitted to the acceptance rule,
+	 * enabling generators that adapt to the acceptance rate of their moves.
+	 *
+	 * @param move the evaluated move
+	 * @param accepted true if the move was accepted, false otherwise
+	 */
+	default void notifyMoveEvaluated(SimulatedAnnealingMove move, boolean accepted) {
+		// Most generators don't depend on the accepted moves.
+	}
+
+	/**
+	 * Picks a random Cloudlet bound to a given VM.
+	 */
+	static int getRandomCloudletOfVm(final SimulatedAnnealingSolution solution, final SplittableRandom random, final int vmIndex) {
+		return solution.getVmCloudlet(vmIndex, random.nextInt(solution.getVmCloudletsNumber(vmIndex)));
+	}
+}
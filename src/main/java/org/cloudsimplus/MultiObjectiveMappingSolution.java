@@ -0,0 +1,136 @@
+package org.cloudsimplus;
+
+import java.util.Arrays;
+
+import org.cloudsimplus.heuristics.Heuristic;
+
+/**
+ * A Cloudlet to VM mapping evaluated by several {@link MappingObjective}s:
+ * makespan, processing cost and energy, computed according to a {@link MappingObjectiveModel}.
+ * Instead of being recomputed from all VMs, the objectives are updated just for the VMs
+ * whose Cloudlets change, so evaluating a move takes O(log V) as the single {@link #getCost() cost} does.
+ *
+ * <p>The {@link #getCost() cost} is still the one of the {@link SimulatedAnnealingSolution},
+ * so that the solution can be used wherever a single objective solution is.</p>
+ */
+public class MultiObjectiveMappingSolution extends SimulatedAnnealingSolution {
+	private final MappingObjectiveModel model;
+	private final double[] vmFinishTime;
+	/**
+	 * The finish time of VMs that have some work, whose maximum is the makespan.
+	 */
+	private final VmCostRange finishTimeRange;
+	private final int[] hostBusyVms;
+	private double processingCost;
+	private double dynamicEnergy;
+	/**
+	 * The sum of the static power of the Hosts that have some VM with work.
+	 */
+	private double busyHostsStaticPower;
+
+	public MultiObjectiveMappingSolution(final Heuristic heuristic, final CloudletToVmMappingIndex index, final MappingObjectiveModel model) {
+		super(heuristic, index);
+		this.model = model;
+		this.vmFinishTime = new double[index.getVmsNumber()];
+		this.finishTimeRange = new VmCostRange(index.getVmsNumber());
+		this.hostBusyVms = new int[model.getHostsNumber()];
+	}
+
+	/**
+	 * Creates a copy of a solution. Any move in progress at the source solution
+	 * is not part of the copy's undo log.
+	 */
+	public MultiObjectiveMappingSolution(final MultiObjectiveMappingSolution source) {
+		super(source);
+		this.model = source.model;
+		this.vmFinishTime = source.vmFinishTime.clone();
+		this.finishTimeRange = new VmCostRange(source.finishTimeRange);
+		this.hostBusyVms = source.hostBusyVms.clone();
+		this.processingCost = source.processingCost;
+		this.dynamicEnergy = source.dynamicEnergy;
+		this.busyHostsStaticPower = source.busyHostsStaticPower;
+	}
+
+	public MappingObjectiveModel getModel() {
+		return model;
+	}
+
+	@Override
+	protected void onVmChanged(final int vmIndex) {
+		final double previousFinishTime = vmFinishTime[vmIndex];
+		final double finishTime = model.getFinishTime(vmIndex, getVmRequestedWork(vmIndex));
+		final double delta = finishTime - previousFinishTime;
+		vmFinishTime[vmIndex] = finishTime;
+		processingCost += model.getVmCostPerSecond(vmIndex) * delta;
+		dynamicEnergy += model.getVmDynamicPower(vmIndex) * delta;
+
+		if (finishTime > 0) {
+			finishTimeRange.set(vmIndex, finishTime);
+		} else {
+			finishTimeRange.clear(vmIndex);
+		}
+
+		final int host = model.getVmHost(vmIndex);
+		if (host == MappingObjectiveModel.NO_HOST) {
+			return;
+		}
+
+		if (previousFinishTime == 0 && finishTime > 0 && hostBusyVms[host]++ == 0) {
+			busyHostsStaticPower += model.getHostStaticPower(host);
+		} else if (previousFinishTime > 0 && finishTime == 0 && --hostBusyVms[host] == 0) {
+			busyHostsStaticPower -= model.getHostStaticPower(host);
+		}
+	}
+
+	/**
+	 * Gets the time (in seconds) for the last VM to finish its Cloudlets.
+	 */
+	public double getMakespan() {
+		return finishTimeRange.isEmpty() ? 0 : finishTimeRange.getMax();
+	}
+
+	/**
+	 * Gets the processing cost ($) of all VMs while they run their Cloudlets.
+	 */
+	public double getProcessingCost() {
+		return processingCost;
+	}
+
+	/**
+	 * Gets the energy (in Joules) consumed by the Hosts of the VMs until the makespan.
+	 */
+	public double getEnergy() {
+		return dynamicEnergy + busyHostsStaticPower * getMakespan();
+	}
+
+	public double getObjective(final MappingObjective objective) {
+		return switch (objective) {
+			case MAKESPAN -> getMakespan();
+			case COST -> getProcessingCost();
+			case ENERGY -> getEnergy();
+		};
+	}
+
+	/**
+	 * Gets the value of all objectives, in the order of the {@link MappingObjective} values.
+	 *
+	 * @param objectives an array with length {@link MappingObjective#COUNT} to store the values,
+	 *                   avoiding allocating one for each evaluation
+	 * @return the given array
+	 */
+	public double[] getObjectives(final double[] objectives) {
+		objectives[MappingObjective.MAKESPAN.ordinal()] = getMakespan();
+		objectives[MappingObjective.COST.ordinal()] = getProcessingCost();
+		objectives[MappingObjective.ENERGY.ordinal()] = getEnergy();
+		return objectives;
+	}
+
+	public double[] getObjectives() {
+		return getObjectives(new double[MappingObjective.COUNT]);
+	}
+
+	@Override
+	public String toString() {
+		return "MultiObjectiveMappingSolution" + Arrays.toString(getObjectives());
+	}
+}
@@ -0,0 +1,434 @@
+package org.cloudsimplus;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.heuristics.CloudletToVmMappingHeuristic;
+import org.cloudsimplus.heuristics.CloudletToVmMappingSolution;
+
+/**
+ * An archive-based multi-objective Simulated Annealing heuristic to map Cloudlets to VMs,
+ * which trades off the {@link MappingObjective}s (makespan, processing cost and energy)
+ * instead of optimizing a single cost.
+ *
+ * <p>At each iteration, {@link #getSearchesByIteration()} candidate moves are generated by the
+ * {@link MoveGenerator} and evaluated by applying and undoing them.
+ * The {@link NonDominatedSorting#findFirstFront(double[][], int, int[]) first front} of candidates,
+ * the ones not dominated by any other, is offered to a {@link ParetoArchive}, which keeps the
+ * non-dominated solutions found so far.
+ * Among that front, the candidate with the lowest weighted sum of its objective changes is submitted to
+ * the Metropolis criterion. The changes are relative to the objectives of the initial solution,
+ * so that they have the same scale, and the search weights are drawn at random every
+ * {@link #getWeightChangeInterval()} iterations, so that the search walks along the whole front
+ * instead of converging to a single point.</p>
+ *
+ * <p>The {@link #getBestSolutionSoFar() best solution} is the archived one chosen by the
+ * {@link #setWeights(double, double, double) weights} given by the user,
+ * which can be changed at any time (even after the search finishes) to pick another point of the front.
+ * This way, a {@link org.cloudbus.cloudsim.brokers.DatacenterBrokerHeuristic} using this heuristic
+ * maps Cloudlets according to the current weights.</p>
+ */
+public class MultiObjectiveSimulatedAnnealingHeuristic implements CloudletToVmMappingHeuristic {
+	public static final int DEFAULT_WEIGHT_CHANGE_INTERVAL = 100;
+
+	private final CoolingSchedule coolingSchedule;
+	private double temperature;
+	private List<Cloudlet> cloudletList;
+	private List<Vm> vmList;
+	private SearchBudget budget = new SearchBudget().setMaxIterations(SimulatedAnnealingHeuristic.DEFAULT_MAX_ITERATIONS);
+	private int searchesByIteration = 1;
+	private int weightChangeInterval = DEFAULT_WEIGHT_CHANGE_INTERVAL;
+	private ParetoArchive archive = new ParetoArchive();
+	private MoveGenerator moveGenerator = new AdaptiveMoveGenerator();
+	private InitialSolutionBuilder initialSolutionBuilder = new RandomInitialSolutionBuilder();
+	private SplittableRandom random = new SplittableRandom();
+	private CloudletToVmMappingIndex index;
+	private MappingObjectiveModel model;
+
+	/**
+	 * The weights given by the user to select a solution from the archive.
+	 */
+	private final double[] weights = {1, 1, 1};
+	private MultiObjectiveMappingSolution selectedSolution;
+
+	/**
+	 * The solution the search walks through, which is changed in place by each move.
+	 */
+	private MultiObjectiveMappingSolution currentSolution;
+	private final double[] currentObjectives = new double[MappingObjective.COUNT];
+	/**
+	 * The objectives of the initial solution, which the objective changes are relative to.
+	 */
+	private final double[] objectiveScales = new double[MappingObjective.COUNT];
+	private final double[] searchWeights = new double[MappingObjective.COUNT];
+	private SimulatedAnnealingMove[] candidates = new SimulatedAnnealingMove[0];
+	private double[][] candidateObjectives = new double[0][];
+	/**
+	 * The index in {@link #candidates} of each evaluated candidate,
+	 * whose objectives are stored in the same position of {@link #candidateObjectives}.
+	 */
+	private int[] evaluatedPositions = new int[0];
+	/**
+	 * The positions in {@link #candidateObjectives} of the non-dominated candidates.
+	 */
+	private int[] front = new int[0];
+	private double latestDelta;
+
+	/**
+	 * Creates a heuristic with a {@link GeometricCoolingSchedule} using the default parameters
+	 * of the {@link SimulatedAnnealingHeuristic}.
+	 */
+	public MultiObjectiveSimulatedAnnealingHeuristic() {
+		this(new GeometricCoolingSchedule(
+			SimulatedAnnealingHeuristic.DEFAULT_INITIAL_TEMPERATURE,
+			SimulatedAnnealingHeuristic.DEFAULT_COLD_TEMPERATURE,
+			SimulatedAnnealingHeuristic.DEFAULT_COOLING_RATE));
+	}
+
+	public MultiObjectiveSimulatedAnnealingHeuristic(final CoolingSchedule coolingSchedule) {
+		this.coolingSchedule = coolingSchedule;
+		this.temperature = coolingSchedule.getInitialTemperature();
+	}
+
+	public CoolingSchedule getCoolingSchedule() {
+		return coolingSchedule;
+	}
+
+	public double getTemperature() {
+		return temperature;
+	}
+
+	/**
+	 * Gets the weights used to select the {@link #getBestSolutionSoFar() best solution} from the archive,
+	 * in the order of the {@link MappingObjective} values.
+	 */
+	public double[] getWeights() {
+		return weights.clone();
+	}
+
+	/**
+	 * Sets the weights used to select the {@link #getBestSolutionSoFar() best solution} from the archive.
+	 * Since each objective is normalized between its minimum and maximum values in the archive,
+	 * the weights just define the relative importance of the objectives.
+	 */
+	public void setWeights(final double makespan, final double cost, final double energy) {
+		if (makespan < 0 || cost < 0 || energy < 0 || makespan + cost + energy == 0) {
+			throw new IllegalArgumentException("The weights cannot be negative and at least one must be greater than zero.");
+		}
+		weights[MappingObjective.MAKESPAN.ordinal()] = makespan;
+		weights[MappingObjective.COST.ordinal()] = cost;
+		weights[MappingObjective.ENERGY.ordinal()] = energy;
+		selectedSolution = null;
+	}
+
+	public int getWeightChangeInterval() {
+		return weightChangeInterval;
+	}
+
+	/**
+	 * Sets the number of iterations after which new random search weights are drawn.
+	 */
+	public void setWeightChangeInterval(final int weightChangeInterval) {
+		if (weightChangeInterval <= 0) {
+			throw new IllegalArgumentException("The weight change interval must be greater than zero.");
+		}
+		this.weightChangeInterval = weightChangeInterval;
+	}
+
+	public ParetoArchive getArchive() {
+		return archive;
+	}
+
+	/**
+	 * Sets the archive that keeps the non-dominated solutions,
+	 * which is cleared each time the heuristic {@link #solve() solves} the mapping.
+	 */
+	public void setArchive(final ParetoArchive archive) {
+		this.archive = archive;
+		this.selectedSolution = null;
+	}
+
+	/**
+	 * Gets the non-dominated solutions found by the last search.
+	 */
+	public List<MultiObjectiveMappingSolution> getParetoFront() {
+		return archive.getSolutions();
+	}
+
+	public MoveGenerator getMoveGenerator() {
+		return moveGenerator;
+	}
+
+	/**
+	 * Sets the strategy to generate the moves to neighbor solutions,
+	 * which must not be shared with other heuristics.
+	 */
+	public void setMoveGenerator(final MoveGenerator moveGenerator) {
+		this.moveGenerator = moveGenerator;
+	}
+
+	public InitialSolutionBuilder getInitialSolutionBuilder() {
+		return initialSolutionBuilder;
+	}
+
+	public void setInitialSolutionBuilder(final InitialSolutionBuilder initialSolutionBuilder) {
+		this.initialSolutionBuilder = initialSolutionBuilder;
+	}
+
+	public SearchBudget getBudget() {
+		return budget;
+	}
+
+	public void setBudget(final SearchBudget budget) {
+		this.budget = budget;
+	}
+
+	/**
+	 * Sets the seed of the random number generator, making the search reproducible.
+	 */
+	public void setSeed(final long seed) {
+		this.random = new SplittableRandom(seed);
+	}
+
+	@Override
+	public int getRandomValue(final int maxValue) {
+		return random.nextInt(maxValue);
+	}
+
+	private CloudletToVmMappingIndex getIndex() {
+		if (index == null) {
+			index = new CloudletToVmMappingIndex(this);
+			model = null;
+		}
+		return index;
+	}
+
+	private MappingObjectiveModel getModel() {
+		if (model == null) {
+			model = new MappingObjectiveModel(getIndex());
+		}
+		return model;
+	}
+
+	@Override
+	public CloudletToVmMappingSolution solve() {
+		budget.start();
+		archive.clear();
+		selectedSolution = null;
+		coolingSchedule.start();
+		temperature = coolingSchedule.getInitialTemperature();
+		currentSolution = getInitialSolution();
+		currentSolution.getObjectives(currentObjectives);
+		for (int o = 0; o < MappingObjective.COUNT; o++) {
+			objectiveScales[o] = currentObjectives[o] == 0 ? 1 : currentObjectives[o];
+		}
+		archive.offer(currentObjectives, () -> new MultiObjectiveMappingSolution(currentSolution));
+
+		createCandidates();
+		while (!isToStopSearch()) {
+			if (budget.getIterations() % weightChangeInterval == 0) {
+				drawSearchWeights();
+			}
+			budget.addIterations(1);
+			budget.addEvaluations(candidates.length);
+
+			final int selected = searchNeighborhood();
+			if (selected >= 0) {
+				final SimulatedAnnealingMove move = candidates[selected];
+				final boolean accepted = acceptSolution();
+				moveGenerator.notifyMoveEvaluated(move, accepted);
+				if (accepted) {
+					currentSolution.applyMove(move);
+					currentSolution.commitMove();
+					currentSolution.getObjectives(currentObjectives);
+				}
+			}
+			temperature = coolingSchedule.nextTemperature(temperature, budget.getIterations());
+		}
+		budget.stop();
+		return getBestSolutionSoFar();
+	}
+
+	private void createCandidates() {
+		if (candidates.length != searchesByIteration) {
+			candidates = new SimulatedAnnealingMove[searchesByIteration];
+			candidateObjectives = new double[searchesByIteration][MappingObjective.COUNT];
+			evaluatedPositions = new int[searchesByIteration];
+			front = new int[searchesByIteration];
+			for (int i = 0; i < searchesByIteration; i++) {
+				candidates[i] = new SimulatedAnnealingMove();
+			}
+		}
+	}
+
+	/**
+	 * Draws search weights uniformly distributed over the weights that sum 1.
+	 */
+	private void drawSearchWeights() {
+		double sum = 0;
+		for (int o = 0; o < searchWeights.length; o++) {
+			searchWeights[o] = -Math.log(1 - random.nextDouble());
+			sum += searchWeights[o];
+		}
+		for (int o = 0; o < searchWeights.length; o++) {
+			searchWeights[o] /= sum;
+		}
+	}
+
+	/**
+	 * Evaluates the candidate moves from the current solution, offers the non-dominated ones to the archive
+	 * and selects the one with the lowest weighted objective change.
+	 *
+	 * @return the index of the selected candidate or -1 if no candidate changes the solution
+	 */
+	private int searchNeighborhood() {
+		int evaluated = 0;
+		for (int i = 0; i < candidates.length; i++) {
+			final SimulatedAnnealingMove candidate = candidates[i];
+			moveGenerator.generate(currentSolution, random, candidate);
+			if (candidate.isEmpty()) {
+				continue;
+			}
+
+			currentSolution.applyMove(candidate);
+			currentSolution.getObjectives(candidateObjectives[evaluated]);
+			currentSolution.undoMove();
+			evaluatedPositions[evaluated++] = i;
+		}
+
+		if (evaluated == 0) {
+			return -1;
+		}
+
+		final int frontSize = NonDominatedSorting.findFirstFront(candidateObjectives, evaluated, front);
+		int selected = -1;
+		for (int f = 0; f < frontSize; f++) {
+			final int position = front[f];
+			final SimulatedAnnealingMove candidate = candidates[evaluatedPositions[position]];
+			if (archive.offer(candidateObjectives[position], () -> copyWithMove(candidate))) {
+				budget.notifyImprovement();
+				selectedSolution = null;
+			}
+
+			final double delta = computeWeightedDelta(candidateObjectives[position]);
+			if (selected < 0 || delta < latestDelta) {
+				selected = evaluatedPositions[position];
+				latestDelta = delta;
+			}
+		}
+		return selected;
+	}
+
+	private MultiObjectiveMappingSolution copyWithMove(final SimulatedAnnealingMove move) {
+		currentSolution.applyMove(move);
+		final MultiObjectiveMappingSolution copy = new MultiObjectiveMappingSolution(currentSolution);
+		currentSolution.undoMove();
+		return copy;
+	}
+
+	private double computeWeightedDelta(final double[] objectives) {
+		double delta = 0;
+		for (int o = 0; o < objectives.length; o++) {
+			delta += searchWeights[o] * (objectives[o] - currentObjectives[o]) / objectiveScales[o];
+		}
+		return delta;
+	}
+
+	private boolean acceptSolution() {
+		final double probability = getAcceptanceProbability();
+		final boolean accepted = probability >= 1 || random.nextDouble() < probability;
+		coolingSchedule.notifyMoveEvaluated(accepted);
+		return accepted;
+	}
+
+	/**
+	 * Gets the probability of accepting the latest selected neighbor, according to the Metropolis criterion
+	 * applied to its weighted objective change.
+	 */
+	@Override
+	public double getAcceptanceProbability() {
+		return latestDelta <= 0 ? 1 : Math.exp(-latestDelta / temperature);
+	}
+
+	@Override
+	public boolean isToStopSearch() {
+		return budget.isExhausted() || coolingSchedule.isCold(temperature);
+	}
+
+	@Override
+	public MultiObjectiveMappingSolution getInitialSolution() {
+		final MultiObjectiveMappingSolution solution = new MultiObjectiveMappingSolution(this, getIndex(), getModel());
+		initialSolutionBuilder.build(solution, random);
+		return solution;
+	}
+
+	@Override
+	public CloudletToVmMappingSolution getNeighborSolution() {
+		return currentSolution;
+	}
+
+	@Override
+	public CloudletToVmMappingSolution createNeighbor(final CloudletToVmMappingSolution source) {
+		final MultiObjectiveMappingSolution neighbor = new MultiObjectiveMappingSolution((MultiObjectiveMappingSolution) source);
+		final SimulatedAnnealingMove move = new SimulatedAnnealingMove();
+		moveGenerator.generate(neighbor, random, move);
+		neighbor.applyMove(move);
+		return neighbor;
+	}
+
+	/**
+	 * Gets the archived solution selected by the current {@link #getWeights() weights}.
+	 */
+	@Override
+	public MultiObjectiveMappingSolution getBestSolutionSoFar() {
+		if (selectedSolution == null) {
+			selectedSolution = archive.select(weights);
+		}
+		return selectedSolution;
+	}
+
+	@Override
+	public int getSearchesByIteration() {
+		return searchesByIteration;
+	}
+
+	@Override
+	public void setSearchesByIteration(final int searchesByIteration) {
+		if (searchesByIteration <= 0) {
+			throw new IllegalArgumentException("The number of searches by iteration must be greater than zero.");
+		}
+		this.searchesByIteration = searchesByIteration;
+	}
+
+	/**
+	 * Gets the wall-clock time the last search took, in seconds.
+	 */
+	@Override
+	public double getSolveTime() {
+		return budget.getElapsedSeconds();
+	}
+
+	@Override
+	public List<Cloudlet> getCloudletList() {
+		return cloudletList;
+	}
+
+	@Override
+	public List<Vm> getVmList() {
+		return vmList;
+	}
+
+	@Override
+	public void setCloudletList(final List<Cloudlet> cloudletList) {
+		this.cloudletList = cloudletList;
+		this.index = null;
+	}
+
+	@Override
+	public void setVmList(final List<Vm> vmList) {
+		this.vmList = vmList;
+		this.index = null;
+	}
+}
@@ -0,0 +1,320 @@
+package org.cloudsimplus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.heuristics.CloudletToVmMappingHeuristic;
+import org.cloudsimplus.heuristics.CloudletToVmMappingSolution;
+
+/**
+ * Runs several independent {@link SimulatedAnnealingHeuristic} chains in parallel,
+ * each one starting from its own random initial solution, and returns the best solution
+ * found among all of them.
+ * Since the quality of a single chain depends a lot on its initial solution,
+ * running multiple chains on a multicore machine gives better mappings in about
+ * the same wall-clock time.
+ *
+ * <p>Each chain has its own random generator, {@link SplittableRandom#split() split} from the one
+ * of this heuristic (which can be seeded by {@link #setSeed(long)}) or seeded by {@link #setChainSeeds(long...)}.
+ * All chains share a stop flag, so that they all stop as soon as one finds a
+ * perfectly balanced solution.</p>
+ *
+ * <p>By default, the chains run on a pool with one thread for each chain, created for each search,
+ * so that all of them run at the same time and don't compete with other users of the
+ * {@link ForkJoinPool#commonPool() common pool}. All chains share the same {@link CloudletToVmMappingIndex}.</p>
+ *
+ * <p>If a {@link #setBudget(SearchBudget) budget} is given, each chain gets a copy of its limits.
+ * A wall-clock limit bounds the time of the whole search only if all chains run at the same time,
+ * which may not be the case if a {@link #setPool(ForkJoinPool) pool} with fewer threads than chains is given.</p>
+ */
+public class MultiStartSimulatedAnnealingHeuristic implements CloudletToVmMappingHeuristic {
+	private final int chainsNumber;
+	/**
+	 * The pool where the chains run, or null to create one for each search.
+	 */
+	private ForkJoinPool pool;
+	private Supplier<SimulatedAnnealingHeuristic> chainFactory = SimulatedAnnealingHeuristic::new;
+	private long[] chainSeeds;
+	private SplittableRandom random = new SplittableRandom();
+	private List<Cloudlet> cloudletList;
+	private List<Vm> vmList;
+	private CloudletToVmMappingIndex index;
+	private int searchesByIteration = 1;
+	private SearchBudget budget;
+	private long elapsedNanos;
+	private final List<SimulatedAnnealingHeuristic> chains = new ArrayList<>();
+	private SimulatedAnnealingHeuristic bestChain;
+	private CloudletToVmMappingSolution bestSolution;
+
+	/**
+	 * Creates a heuristic with one chain for each available processor.
+	 */
+	public MultiStartSimulatedAnnealingHeuristic() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	public MultiStartSimulatedAnnealingHeuristic(final int chainsNumber) {
+		if (chainsNumber <= 0) {
+			throw new IllegalArgumentException("The number of chains must be greater than zero.");
+		}
+		this.chainsNumber = chainsNumber;
+	}
+
+	public int getChainsNumber() {
+		return chainsNumber;
+	}
+
+	/**
+	 * Sets the seed of this heuristic, from which the random generator of each chain is split,
+	 * making the whole search reproducible.
+	 */
+	public void setSeed(final long seed) {
+		this.random = new SplittableRandom(seed);
+		this.chainSeeds = null;
+	}
+
+	/**
+	 * Sets the seed of each chain, instead of splitting their random generators
+	 * from the one of this heuristic.
+	 *
+	 * @param seeds one seed for each chain
+	 */
+	public void setChainSeeds(final long... seeds) {
+		if (seeds.length != chainsNumber) {
+			throw new IllegalArgumentException("There must be one seed for each one of the " + chainsNumber + " chains.");
+		}
+		this.chainSeeds = seeds.clone();
+	}
+
+	/**
+	 * Sets the pool where the chains run, or null to create a pool with one thread for each chain
+	 * for each search (the default).
+	 * If the pool has fewer threads than chains, some chains run one after another.
+	 */
+	public void setPool(final ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Sets a function that creates each chain, enabling them to be configured.
+	 * The shared index (with the Cloudlet and VM lists), seed, searches by iteration and stop flag are set afterwards.
+	 */
+	public void setChainFactory(final Supplier<SimulatedAnnealingHeuristic> chainFactory) {
+		this.chainFactory = chainFactory;
+	}
+
+	public SearchBudget getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Sets the limits of each chain. If not set, the budget of each chain
+	 * is the one given by the {@link #setChainFactory(Supplier) chain factory}.
+	 */
+	public void setBudget(final SearchBudget budget) {
+		this.budget = budget;
+	}
+
+	public List<SimulatedAnnealingHeuristic> getChains() {
+		return List.copyOf(chains);
+	}
+
+	/**
+	 * Gets the chain that found the best solution in the last search, or null if no search was run.
+	 */
+	public SimulatedAnnealingHeuristic getBestChain() {
+		return bestChain;
+	}
+
+	/**
+	 * Gets the index of the current Cloudlet and VM lists,
+	 * which is read-only, so it's built once and shared by all chains.
+	 */
+	public CloudletToVmMappingIndex getIndex() {
+		if (index == null) {
+			index = new CloudletToVmMappingIndex(this);
+		}
+		return index;
+	}
+
+	private SimulatedAnnealingHeuristic createChain(final int chainIndex, final AtomicBoolean stopFlag) {
+		final SimulatedAnnealingHeuristic chain = chainFactory.get();
+		chain.setIndex(getIndex());
+		if (chainSeeds == null) {
+			chain.setRandom(random.split());
+		} else {
+			chain.setSeed(chainSeeds[chainIndex]);
+		}
+		chain.setSearchesByIteration(searchesByIteration);
+		chain.setStopFlag(stopFlag);
+		if (budget != null) {
+			chain.setBudget(new SearchBudget(budget));
+		}
+		return chain;
+	}
+
+	@Override
+	public CloudletToVmMappingSolution solve() {
+		final long startNanos = System.nanoTime();
+		final AtomicBoolean stopFlag = new AtomicBoolean();
+		chains.clear();
+		final List<Callable<CloudletToVmMappingSolution>> tasks = new ArrayList<>(chainsNumber);
+		for (int i = 0; i < chainsNumber; i++) {
+			final SimulatedAnnealingHeuristic chain = createChain(i, stopFlag);
+			chains.add(chain);
+			tasks.add(chain::solve);
+		}
+
+		bestChain = null;
+		bestSolution = null;
+		final ForkJoinPool chainsPool = pool == null ? new ForkJoinPool(chainsNumber) : pool;
+		final List<Future<CloudletToVmMappingSolution>> results;
+		try {
+			results = chainsPool.invokeAll(tasks);
+		} finally {
+			if (chainsPool != pool) {
+				chainsPool.shutdown();
+			}
+		}
+		for (int i = 0; i < chainsNumber; i++) {
+			final CloudletToVmMappingSolution solution = getResult(results.get(i));
+			if (bestSolution == null || solution.compareTo(bestSolution) > 0) {
+				bestSolution = solution;
+				bestChain = chains.get(i);
+			}
+		}
+
+		elapsedNanos = System.nanoTime() - startNanos;
+		return bestSolution;
+	}
+
+	private static CloudletToVmMappingSolution getResult(final Future<CloudletToVmMappingSolution> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The search was interrupted.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("A simulated annealing chain failed.", e.getCause());
+		}
+	}
+
+	/**
+	 * Gets the acceptance probability of the chain that found the best solution.
+	 */
+	@Override
+	public double getAcceptanceProbability() {
+		return bestChain == null ? 0 : bestChain.getAcceptanceProbability();
+	}
+
+	@Override
+	public int getRandomValue(final int maxValue) {
+		return random.nextInt(maxValue);
+	}
+
+	@Override
+	public boolean isToStopSearch() {
+		return chains.stream().allMatch(SimulatedAnnealingHeuristic::isToStopSearch);
+	}
+
+	/**
+	 * Creates a random solution, as the one each chain starts from by default.
+	 * It uses its own random generator, so that it doesn't change the generators of the chains.
+	 */
+	@Override
+	public CloudletToVmMappingSolution getInitialSolution() {
+		final SimulatedAnnealingSolution solution = new SimulatedAnnealingSolution(this, getIndex());
+		new RandomInitialSolutionBuilder().build(solution, new SplittableRandom());
+		return solution;
+	}
+
+	@Override
+	public CloudletToVmMappingSolution getNeighborSolution() {
+		return bestChain == null ? null : bestChain.getNeighborSolution();
+	}
+
+	/**
+	 * Creates a neighbor by swapping the VMs of two random Cloudlets.
+	 * It uses its own random generator, so that it doesn't change the generators of the chains.
+	 */
+	@Override
+	public CloudletToVmMappingSolution createNeighbor(final CloudletToVmMappingSolution source) {
+		final SimulatedAnnealingSolution neighbor = new SimulatedAnnealingSolution(source);
+		final SimulatedAnnealingMove move = new SimulatedAnnealingMove();
+		new RandomSwapMoveGenerator().generate(neighbor, new SplittableRandom(), move);
+		neighbor.applyMove(move);
+		return neighbor;
+	}
+
+	@Override
+	public CloudletToVmMappingSolution getBestSolutionSoFar() {
+		return bestSolution;
+	}
+
+	@Override
+	public int getSearchesByIteration() {
+		return searchesByIteration;
+	}
+
+	@Override
+	public void setSearchesByIteration(final int searchesByIteration) {
+		this.searchesByIteration = searchesByIteration;
+	}
+
+	/**
+	 * Gets the wall-clock time the last search took for all chains to finish, in seconds.
+	 */
+	@Override
+	public double getSolveTime() {
+		return elapsedNanos / 1e9;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * Gets the total number of iterations run by all chains in the last search.
+	 */
+	public long getIterations() {
+		return chains.stream().mapToLong(chain -> chain.getBudget().getIterations()).sum();
+	}
+
+	/**
+	 * Gets the total number of cost evaluations done by all chains in the last search.
+	 */
+	public long getEvaluations() {
+		return chains.stream().mapToLong(chain -> chain.getBudget().getEvaluations()).sum();
+	}
+
+	@Override
+	public List<Cloudlet> getCloudletList() {
+		return cloudletList;
+	}
+
+	@Override
+	public List<Vm> getVmList() {
+		return vmList;
+	}
+
+	@Override
+	public void setCloudletList(final List<Cloudlet> cloudletList) {
+		this.cloudletList = cloudletList;
+		this.index = null;
+	}
+
+	@Override
+	public void setVmList(final List<Vm> vmList) {
+		this.vmList = vmList;
+		this.index = null;
+	}
+}
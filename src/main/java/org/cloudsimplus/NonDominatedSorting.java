@@ -0,0 +1,158 @@
+package org.cloudsimplus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The fast non-dominated sorting and crowding distance of
+ * <a href="https://doi.org/10.1109/4235.996017">NSGA-II (Deb et al., 2002)</a>
+ * for objective vectors to be minimized.
+ * Sorting N vectors of M objectives takes O(M N²).
+ */
+public final class NonDominatedSorting {
+	private NonDominatedSorting() {
+		// Utility class.
+	}
+
+	/**
+	 * Checks if an objective vector dominates another one:
+	 * it's not worse in any objective and it's better in at least one.
+	 */
+	public static boolean dominates(final double[] objectives, final double[] other) {
+		boolean better = false;
+		for (int i = 0; i < objectives.length; i++) {
+			if (objectives[i] > other[i]) {
+				return false;
+			}
+			better |= objectives[i] < other[i];
+		}
+		return better;
+	}
+
+	/**
+	 * Finds the first front of objective vectors: the ones not dominated by any other.
+	 * It doesn't allocate any object, so callers searching for the front repeatedly
+	 * can reuse the same buffers.
+	 *
+	 * @param objectives the objective vectors, of which just the first {@code size} ones are considered
+	 * @param size the number of vectors to consider
+	 * @param front the buffer where the indexes of the vectors in the front are stored,
+	 *              whose length must be at least {@code size}
+	 * @return the number of vectors in the front
+	 */
+	public static int findFirstFront(final double[][] objectives, final int size, final int[] front) {
+		int frontSize = 0;
+		for (int i = 0; i < size; i++) {
+			if (!isDominated(objectives, size, i)) {
+				front[frontSize++] = i;
+			}
+		}
+		return frontSize;
+	}
+
+	private static boolean isDominated(final double[][] objectives, final int size, final int i) {
+		for (int j = 0; j < size; j++) {
+			if (dominates(objectives[j], objectives[i])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Sorts objective vectors into fronts: the first one has the vectors not dominated by any other,
+	 * the second one has the vectors dominated just by the ones in the first front, and so on.
+	 *
+	 * @param objectives the objective vectors to sort
+	 * @return the indexes of the vectors in each front, from the first one
+	 */
+	public static List<int[]> sort(final double[][] objectives) {
+		final int size = objectives.length;
+		final int[] dominationCount = new int[size];
+		final int[][] dominated = new int[size][];
+		final int[] dominatedSize = new int[size];
+		final List<int[]> fronts = new ArrayList<>();
+
+		int[] front = new int[size];
+		int frontSize = 0;
+		for (int i = 0; i < size; i++) {
+			dominated[i] = new int[4];
+			for (int j = 0; j < size; j++) {
+				if (dominates(objectives[i], objectives[j])) {
+					if (dominatedSize[i] == dominated[i].length) {
+						dominated[i] = Arrays.copyOf(dominated[i], dominatedSize[i] * 2);
+					}
+					dominated[i][dominatedSize[i]++] = j;
+				} else if (dominates(objectives[j], objectives[i])) {
+					dominationCount[i]++;
+				}
+			}
+			if (dominationCount[i] == 0) {
+				front[frontSize++] = i;
+			}
+		}
+
+		while (frontSize > 0) {
+			fronts.add(Arrays.copyOf(front, frontSize));
+			final int[] next = new int[size];
+			int nextSize = 0;
+			for (int f = 0; f < frontSize; f++) {
+				final int i = front[f];
+				for (int d = 0; d < dominatedSize[i]; d++) {
+					final int j = dominated[i][d];
+					if (--dominationCount[j] == 0) {
+						next[nextSize++] = j;
+					}
+				}
+			}
+			front = next;
+			frontSize = nextSize;
+		}
+
+		return fronts;
+	}
+
+	/**
+	 * Computes the crowding distance of the vectors in a front: the sum, over all objectives,
+	 * of the normalized distance between the neighbours of each vector when sorted by that objective.
+	 * The vectors at the boundaries of any objective get an infinite distance,
+	 * so that they are always kept.
+	 *
+	 * @param objectives the objective vectors
+	 * @param front the indexes of the vectors in the front
+	 * @return the distance of each vector, in the order of the front
+	 */
+	public static double[] crowdingDistances(final double[][] objectives, final int[] front) {
+		final double[] distances = new double[front.length];
+		if (front.length <= 2) {
+			Arrays.fill(distances, Double.POSITIVE_INFINITY);
+			return distances;
+		}
+
+		final Integer[] positions = new Integer[front.length];
+		for (int objective = 0; objective < objectives[front[0]].length; objective++) {
+			final int o = objective;
+			for (int i = 0; i < positions.length; i++) {
+				positions[i] = i;
+			}
+			Arrays.sort(positions, Comparator.comparingDouble(p -> objectives[front[p]][o]));
+
+			final double min = objectives[front[positions[0]]][o];
+			final double range = objectives[front[positions[positions.length - 1]]][o] - min;
+			distances[positions[0]] = Double.POSITIVE_INFINITY;
+			distances[positions[positions.length - 1]] = Double.POSITIVE_INFINITY;
+			if (range == 0) {
+				continue;
+			}
+
+			for (int i = 1; i < positions.length - 1; i++) {
+				distances[positions[i]] +=
+					(objectives[front[positions[i + 1]]][o] - objectives[front[positions[i - 1]]][o]) / range;
+			}
+		}
+
+		return distances;
+	}
+}
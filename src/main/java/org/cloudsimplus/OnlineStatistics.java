@@ -0,0 +1,108 @@
+package org.cloudsimplus;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.distribution.TDistribution;
+
+/**
+ * Summary statistics of a metric, updated as each value arrives by
+ * <a href="https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance#Welford's_online_algorithm">Welford's algorithm</a>,
+ * which computes the mean and variance in a single pass without losing precision.
+ * The values are also kept to compute percentiles.
+ */
+public class OnlineStatistics {
+	private long count;
+	private double mean;
+	/**
+	 * Sum of the squared differences from the current mean.
+	 */
+	private double m2;
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+	private double[] values = new double[16];
+	private boolean sorted = true;
+
+	public void add(final double value) {
+		count++;
+		final double delta = value - mean;
+		mean += delta / count;
+		m2 += delta * (value - mean);
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+
+		if (count > values.length) {
+			values = Arrays.copyOf(values, values.length * 2);
+		}
+		values[(int) count - 1] = value;
+		sorted = false;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public double getMean() {
+		return count == 0 ? Double.NaN : mean;
+	}
+
+	/**
+	 * Gets the sample variance (dividing by n - 1).
+	 */
+	public double getVariance() {
+		return count < 2 ? Double.NaN : m2 / (count - 1);
+	}
+
+	public double getStandardDeviation() {
+		return Math.sqrt(getVariance());
+	}
+
+	public double getMin() {
+		return count == 0 ? Double.NaN : min;
+	}
+
+	public double getMax() {
+		return count == 0 ? Double.NaN : max;
+	}
+
+	/**
+	 * Gets a percentile of the values, interpolating between the closest ranks.
+	 *
+	 * @param percentile the percentile, from 0 to 100
+	 */
+	public double getPercentile(final double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("The percentile must be between 0 and 100.");
+		}
+		if (count == 0) {
+			return Double.NaN;
+		}
+		if (!sorted) {
+			Arrays.sort(values, 0, (int) count);
+			sorted = true;
+		}
+
+		final double rank = percentile / 100 * (count - 1);
+		final int lower = (int) Math.floor(rank);
+		final int upper = (int) Math.ceil(rank);
+		return values[lower] + (rank - lower) * (values[upper] - values[lower]);
+	}
+
+	/**
+	 * Gets the half-width of the confidence interval for the mean,
+	 * using the Student's t distribution.
+	 *
+	 * @param confidenceLevel the confidence level, such as 0.95
+	 * @return the half-width or {@link Double#POSITIVE_INFINITY} if there are less than 2 values
+	 */
+	public double getConfidenceIntervalHalfWidth(final double confidenceLevel) {
+		if (confidenceLevel <= 0 || confidenceLevel >= 1) {
+			throw new IllegalArgumentException("The confidence level must be in the range (0, 1).");
+		}
+		if (count < 2) {
+			return Double.POSITIVE_INFINITY;
+		}
+
+		final double t = new TDistribution(count - 1).inverseCumulativeProbability(1 - (1 - confidenceLevel) / 2);
+		return t * getStandardDeviation() / Math.sqrt(count);
+	}
+}
@@ -0,0 +1,375 @@
+package org.cloudsimplus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.heuristics.CloudletToVmMappingHeuristic;
+import org.cloudsimplus.heuristics.CloudletToVmMappingSolution;
+
+/**
+ * A <a href="https://en.wikipedia.org/wiki/Parallel_tempering">Parallel Tempering</a>
+ * (replica exchange) heuristic to map Cloudlets to VMs.
+ * It runs K replicas of the mapping, each one at a fixed temperature of a ladder,
+ * on a pool of threads. Each replica performs random swaps accepted by the Metropolis criterion
+ * and, after a given number of steps, the states of replicas at neighbouring temperatures
+ * are exchanged with probability {@code min(1, exp((1/Ti - 1/Tj) * (Ei - Ej)))}.
+ * This way, the replicas at high temperatures explore the search space,
+ * while the cold ones refine the best solutions found, avoiding both getting stuck
+ * and wandering around as a single temperature schedule does.
+ *
+ * <p>It can be used by a {@link org.cloudbus.cloudsim.brokers.DatacenterBrokerHeuristic}
+ * through its {@code setHeuristic} method.</p>
+ */
+public class ParallelTemperingHeuristic implements CloudletToVmMappingHeuristic {
+	private final double[] temperatures;
+	private int stepsBetweenExchanges = 100;
+	/**
+	 * The limits of the search, whose iterations are the steps run by each replica
+	 * and evaluations are the steps run by all replicas.
+	 */
+	private SearchBudget budget = new SearchBudget().setMaxIterations(10_000);
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private SplittableRandom random = new SplittableRandom();
+	private List<Cloudlet> cloudletList;
+	private List<Vm> vmList;
+	private CloudletToVmMappingIndex index;
+
+	/**
+	 * The solution of each replica, sorted by the temperature it's currently at.
+	 */
+	private SimulatedAnnealingSolution[] replicas;
+	private SplittableRandom[] replicaRandoms;
+	private SimulatedAnnealingSolution bestSolution;
+	private int exchangeAttempts;
+	private int acceptedExchanges;
+
+	/**
+	 * Creates a heuristic with a given temperature ladder.
+	 *
+	 * @param temperatures the temperature of each replica, one for each replica,
+	 *                     which are sorted from the coldest to the hottest
+	 * @see #createGeometricLadder(double, double, int)
+	 */
+	public ParallelTemperingHeuristic(final double... temperatures) {
+		if (temperatures.length == 0) {
+			throw new IllegalArgumentException("At least one temperature must be given.");
+		}
+		for (final double temperature : temperatures) {
+			if (temperature <= 0) {
+				throw new IllegalArgumentException("Temperatures must be greater than zero.");
+			}
+		}
+		this.temperatures = temperatures.clone();
+		Arrays.sort(this.temperatures);
+	}
+
+	/**
+	 * Creates a temperature ladder where each temperature is a constant ratio of the previous one,
+	 * which usually gives a similar exchange acceptance rate between all neighbouring replicas.
+	 *
+	 * @param coldTemperature the lowest temperature
+	 * @param hotTemperature the highest temperature
+	 * @param replicas the number of replicas (temperatures)
+	 * @return the temperatures, from the coldest to the hottest
+	 */
+	public static double[] createGeometricLadder(final double coldTemperature, final double hotTemperature, final int replicas) {
+		final double[] ladder = new double[replicas];
+		final double ratio = replicas == 1 ? 1 : Math.pow(hotTemperature / coldTemperature, 1.0 / (replicas - 1));
+		ladder[0] = coldTemperature;
+		for (int i = 1; i < replicas; i++) {
+			ladder[i] = ladder[i - 1] * ratio;
+		}
+		return ladder;
+	}
+
+	/**
+	 * Gets the temperature of each replica, from the coldest to the hottest.
+	 */
+	public double[] getTemperatures() {
+		return temperatures.clone();
+	}
+
+	public int getStepsBetweenExchanges() {
+		return stepsBetweenExchanges;
+	}
+
+	/**
+	 * Sets the number of steps each replica runs before trying to exchange
+	 * states with its neighbours.
+	 */
+	public void setStepsBetweenExchanges(final int stepsBetweenExchanges) {
+		if (stepsBetweenExchanges <= 0) {
+			throw new IllegalArgumentException("The number of steps between exchanges must be greater than zero.");
+		}
+		this.stepsBetweenExchanges = stepsBetweenExchanges;
+	}
+
+	public long getMaxSteps() {
+		return budget.getMaxIterations();
+	}
+
+	/**
+	 * Sets the maximum number of steps each replica runs.
+	 */
+	public void setMaxSteps(final long maxSteps) {
+		budget.setMaxIterations(maxSteps);
+	}
+
+	public SearchBudget getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Sets the limits of the search. The budget is checked just between replica exchanges,
+	 * so the search may run up to {@link #getStepsBetweenExchanges()} steps beyond it.
+	 */
+	public void setBudget(final SearchBudget budget) {
+		this.budget = budget;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Sets the number of threads used to run the replicas.
+	 * By default, one for each available processor.
+	 */
+	public void setThreads(final int threads) {
+		if (threads <= 0) {
+			throw new IllegalArgumentException("The number of threads must be greater than zero.");
+		}
+		this.threads = threads;
+	}
+
+	/**
+	 * Sets the seed of the random generator, from which the generator of each replica is split.
+	 */
+	public void setSeed(final long seed) {
+		this.random = new SplittableRandom(seed);
+	}
+
+	/**
+	 * Gets the rate of accepted state exchanges between replicas.
+	 */
+	public double getExchangeAcceptanceRate() {
+		return exchangeAttempts == 0 ? 0 : acceptedExchanges / (double) exchangeAttempts;
+	}
+
+	@Override
+	public CloudletToVmMappingSolution solve() {
+		index = new CloudletToVmMappingIndex(this);
+		budget.start();
+		exchangeAttempts = 0;
+		acceptedExchanges = 0;
+		replicas = new SimulatedAnnealingSolution[temperatures.length];
+		replicaRandoms = new SplittableRandom[temperatures.length];
+		for (int i = 0; i < replicas.length; i++) {
+			replicaRandoms[i] = random.split();
+			replicas[i] = createRandomSolution(replicaRandoms[i]);
+		}
+		bestSolution = new SimulatedAnnealingSolution(replicas[0]);
+		updateBestSolution();
+
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, replicas.length));
+		try {
+			while (!isToStopSearch()) {
+				runReplicas(executor);
+				budget.addIterations(stepsBetweenExchanges);
+				budget.addEvaluations((long) stepsBetweenExchanges * replicas.length);
+				updateBestSolution();
+				exchangeNeighbourReplicas();
+			}
+		} finally {
+			executor.shutdownNow();
+			budget.stop();
+		}
+
+		return bestSolution;
+	}
+
+	private SimulatedAnnealingSolution createRandomSolution(final SplittableRandom replicaRandom) {
+		final SimulatedAnnealingSolution solution = new SimulatedAnnealingSolution(this, index);
+		for (int i = 0; i < index.getCloudletsNumber(); i++) {
+			solution.bindCloudletToVm(i, replicaRandom.nextInt(index.getVmsNumber()));
+		}
+		return solution;
+	}
+
+	private void runReplicas(final ExecutorService executor) {
+		final List<Callable<Void>> tasks = new ArrayList<>(replicas.length);
+		for (int i = 0; i < replicas.length; i++) {
+			final int replica = i;
+			tasks.add(() -> {
+				runMetropolisSteps(replicas[replica], temperatures[replica], replicaRandoms[replica]);
+				return null;
+			});
+		}
+
+		try {
+			for (final Future<Void> future : executor.invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The search was interrupted.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("A replica failed.", e.getCause());
+		}
+	}
+
+	/**
+	 * Applies random swaps to a replica at a fixed temperature,
+	 * accepting the worse ones with probability {@code exp(-delta/T)}.
+	 */
+	private void runMetropolisSteps(final SimulatedAnnealingSolution solution, final double temperature, final SplittableRandom replicaRandom) {
+		final int cloudlets = index.getCloudletsNumber();
+		if (cloudlets < 2) {
+			return;
+		}
+
+		for (int step = 0; step < stepsBetweenExchanges; step++) {
+			solution.beginMove();
+			if (!solution.swapVmsOfCloudlets(replicaRandom.nextInt(cloudlets), replicaRandom.nextInt(cloudlets))) {
+				continue;
+			}
+
+			final double delta = solution.getCost() - solution.getCostBeforeMove();
+			if (delta <= 0 || replicaRandom.nextDouble() < Math.exp(-delta / temperature)) {
+				solution.commitMove();
+			} else {
+				solution.undoMove();
+			}
+		}
+	}
+
+	/**
+	 * Tries to exchange the states of neighbouring replicas,
+	 * alternating between even and odd pairs at each round.
+	 */
+	private void exchangeNeighbourReplicas() {
+		final int first = (int) (budget.getIterations() / stepsBetweenExchanges) % 2;
+		for (int i = first; i + 1 < replicas.length; i += 2) {
+			exchangeAttempts++;
+			final double exponent =
+				(1 / temperatures[i] - 1 / temperatures[i + 1]) * (replicas[i].getCost() - replicas[i + 1].getCost());
+			if (exponent >= 0 || random.nextDouble() < Math.exp(exponent)) {
+				final SimulatedAnnealingSolution solution = replicas[i];
+				replicas[i] = replicas[i + 1];
+				replicas[i + 1] = solution;
+				acceptedExchanges++;
+			}
+		}
+	}
+
+	private void updateBestSolution() {
+		for (final SimulatedAnnealingSolution replica : replicas) {
+			if (replica.compareTo(bestSolution) > 0) {
+				bestSolution = new SimulatedAnnealingSolution(replica);
+				budget.notifyImprovement();
+			}
+		}
+	}
+
+	@Override
+	public boolean isToStopSearch() {
+		return budget.isExhausted() || bestSolution.computeCostDiffOfAllVms() == 0;
+	}
+
+	/**
+	 * Gets the rate of accepted state exchanges between replicas.
+	 */
+	@Override
+	public double getAcceptanceProbability() {
+		return getExchangeAcceptanceRate();
+	}
+
+	@Override
+	public int getRandomValue(final int maxValue) {
+		return random.nextInt(maxValue);
+	}
+
+	@Override
+	public CloudletToVmMappingSolution getInitialSolution() {
+		if (index == null) {
+			index = new CloudletToVmMappingIndex(this);
+		}
+		return createRandomSolution(random);
+	}
+
+	/**
+	 * Gets the solution of the coldest replica.
+	 */
+	@Override
+	public CloudletToVmMappingSolution getNeighborSolution() {
+		return replicas == null ? null : replicas[0];
+	}
+
+	@Override
+	public CloudletToVmMappingSolution createNeighbor(final CloudletToVmMappingSolution source) {
+		final SimulatedAnnealingSolution neighbor = new SimulatedAnnealingSolution(source);
+		neighbor.applyRandomSwap();
+		return neighbor;
+	}
+
+	@Override
+	public CloudletToVmMappingSolution getBestSolutionSoFar() {
+		return bestSolution;
+	}
+
+	/**
+	 * Gets the number of replicas, since each one makes a move at each step.
+	 */
+	@Override
+	public int getSearchesByIteration() {
+		return temperatures.length;
+	}
+
+	/**
+	 * Does nothing, since each replica makes a single move at each step.
+	 */
+	@Override
+	public void setSearchesByIteration(final int searchesByIteration) {
+		// The number of searches is given by the number of replicas.
+	}
+
+	/**
+	 * Gets the wall-clock time the last search took, in seconds.
+	 * The number of steps run is given by the {@link #getBudget() budget}.
+	 */
+	@Override
+	public double getSolveTime() {
+		return budget.getElapsedSeconds();
+	}
+
+	@Override
+	public List<Cloudlet> getCloudletList() {
+		return cloudletList;
+	}
+
+	@Override
+	public List<Vm> getVmList() {
+		return vmList;
+	}
+
+	@Override
+	public void setCloudletList(final List<Cloudlet> cloudletList) {
+		this.cloudletList = cloudletList;
+		this.index = null;
+	}
+
+	@Override
+	public void setVmList(final List<Vm> vmList) {
+		this.vmList = vmList;
+		this.index = null;
+	}
+}
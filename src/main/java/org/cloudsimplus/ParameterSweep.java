@@ -0,0 +1,226 @@
+package org.cloudsimplus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Runs the {@link DatacenterBrokerHeuristicCustom} scenario for many {@link HeuristicScenarioConfig configurations},
+ * to tune the Simulated Annealing parameters for a given workload without changing constants and rerunning by hand.
+ * Each {@link SweepParameter} to vary gets a list of values, and the configurations are either
+ * the cartesian product of them (a grid search) or random samples between their minimum and maximum
+ * values (a {@link #setRandomSearch(int, long) random search}).
+ * The parameters not varied keep the values of the base configuration.
+ *
+ * <p>Each configuration runs a given number of repetitions, each one with a different seed.
+ * All runs are independent, so they are run in parallel by an {@link ExperimentRunner}.
+ * Since each run already anneals {@link DatacenterBrokerHeuristicCustom#SA_CHAINS} chains in parallel,
+ * by default just as many runs are run at the same time as the processors can take without
+ * oversubscribing them, which would distort the solve times recorded.</p>
+ */
+public class ParameterSweep {
+	private static final Path DEFAULT_OUTPUT_FILE = Path.of("parameter-sweep.csv");
+
+	private final HeuristicScenarioConfig baseConfig;
+	private final Map<SweepParameter, double[]> values = new EnumMap<>(SweepParameter.class);
+	private int randomSamples;
+	private long randomSeed;
+	private int repetitions = 1;
+	private long baseSeed = ExperimentRunner.DEFAULT_BASE_SEED;
+	private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / DatacenterBrokerHeuristicCustom.SA_CHAINS);
+
+	/**
+	 * The result of a run of a configuration.
+	 *
+	 * @param config the configuration run
+	 * @param result the metrics of the run
+	 */
+	public record SweepResult(HeuristicScenarioConfig config, SimulationRunResult result) {
+	}
+
+	/**
+	 * Sweeps the cooling rate and the number of neighborhood searches of the default configuration,
+	 * writing the results to the file given as the first command line argument
+	 * (or {@code parameter-sweep.csv} if not given).
+	 */
+	public static void main(String[] args) {
+		final Path outputFile = args.length > 0 ? Path.of(args[0]) : DEFAULT_OUTPUT_FILE;
+		final ParameterSweep sweep = new ParameterSweep(HeuristicScenarioConfig.createDefault())
+			.vary(SweepParameter.COOLING_RATE, 0.001, 0.003, 0.01)
+			.vary(SweepParameter.NEIGHBORHOOD_SEARCHES, 10, 50, 100)
+			.setRepetitions(3);
+
+		final List<SweepResult> results = sweep.run();
+		writeCsv(results, outputFile);
+		System.out.printf("%d runs of %d configurations written to %s%n", results.size(), sweep.createConfigs().size(), outputFile);
+	}
+
+	/**
+	 * Creates a sweep over a configuration.
+	 *
+	 * @param baseConfig the configuration giving the values of the parameters not varied
+	 */
+	public ParameterSweep(final HeuristicScenarioConfig baseConfig) {
+		this.baseConfig = baseConfig;
+	}
+
+	/**
+	 * Sets the values a parameter takes.
+	 * For a random search, just the minimum and maximum values are used.
+	 */
+	public ParameterSweep vary(final SweepParameter parameter, final double... values) {
+		if (values.length == 0) {
+			throw new IllegalArgumentException("At least one value must be given for " + parameter + ".");
+		}
+		this.values.put(parameter, values.clone());
+		return this;
+	}
+
+	/**
+	 * Samples random configurations instead of running all combinations of the parameter values.
+	 * Each parameter is sampled uniformly between its minimum and maximum values
+	 * (rounded for {@link SweepParameter#isInteger() integer} parameters).
+	 *
+	 * @param samples the number of configurations to sample
+	 * @param seed the seed to sample the configurations, making them reproducible
+	 */
+	public ParameterSweep setRandomSearch(final int samples, final long seed) {
+		if (samples <= 0) {
+			throw new IllegalArgumentException("The number of samples must be greater than zero.");
+		}
+		this.randomSamples = samples;
+		this.randomSeed = seed;
+		return this;
+	}
+
+	/**
+	 * Sets the number of runs of each configuration, each one with a different seed.
+	 */
+	public ParameterSweep setRepetitions(final int repetitions) {
+		if (repetitions <= 0) {
+			throw new IllegalArgumentException("The number of repetitions must be greater than zero.");
+		}
+		this.repetitions = repetitions;
+		return this;
+	}
+
+	/**
+	 * Sets the seed of the first repetition of each configuration.
+	 * All configurations use the same seeds, so they are compared on the same workloads.
+	 */
+	public ParameterSweep setBaseSeed(final long baseSeed) {
+		this.baseSeed = baseSeed;
+		return this;
+	}
+
+	/**
+	 * Sets the number of runs to run at the same time, each one using
+	 * {@link DatacenterBrokerHeuristicCustom#SA_CHAINS} threads for its chains.
+	 */
+	public ParameterSweep setThreads(final int threads) {
+		if (threads <= 0) {
+			throw new IllegalArgumentException("The number of threads must be greater than zero.");
+		}
+		this.threads = threads;
+		return this;
+	}
+
+	/**
+	 * Creates the configurations to run.
+	 */
+	public List<HeuristicScenarioConfig> createConfigs() {
+		return randomSamples > 0 ? createRandomConfigs() : createGridConfigs();
+	}
+
+	private List<HeuristicScenarioConfig> createGridConfigs() {
+		List<HeuristicScenarioConfig> configs = List.of(baseConfig);
+		for (final Map.Entry<SweepParameter, double[]> entry : values.entrySet()) {
+			final List<HeuristicScenarioConfig> expanded = new ArrayList<>(configs.size() * entry.getValue().length);
+			for (final HeuristicScenarioConfig config : configs) {
+				for (final double value : entry.getValue()) {
+					expanded.add(config.with(entry.getKey(), value));
+				}
+			}
+			configs = expanded;
+		}
+		return configs;
+	}
+
+	private List<HeuristicScenarioConfig> createRandomConfigs() {
+		final SplittableRandom random = new SplittableRandom(randomSeed);
+		final List<HeuristicScenarioConfig> configs = new ArrayList<>(randomSamples);
+		for (int i = 0; i < randomSamples; i++) {
+			HeuristicScenarioConfig config = baseConfig;
+			for (final Map.Entry<SweepParameter, double[]> entry : values.entrySet()) {
+				config = config.with(entry.getKey(), sample(entry.getKey(), entry.getValue(), random));
+			}
+			configs.add(config);
+		}
+		return configs;
+	}
+
+	private static double sample(final SweepParameter parameter, final double[] values, final SplittableRandom random) {
+		double min = values[0];
+		double max = values[0];
+		for (final double value : values) {
+			min = Math.min(min, value);
+			max = Math.max(max, value);
+		}
+
+		final double value = min == max ? min : min + random.nextDouble() * (max - min);
+		return parameter.isInteger() ? Math.round(value) : value;
+	}
+
+	/**
+	 * Runs all repetitions of all configurations.
+	 *
+	 * @return the result of each run, sorted by configuration and then by seed
+	 */
+	public List<SweepResult> run() {
+		final List<HeuristicScenarioConfig> configs = createConfigs();
+		// Each task of the runner is identified by its index, from which the configuration and seed are taken
+		return new ExperimentRunner<>(task -> runScenario(configs.get((int) (task / repetitions)), baseSeed + task % repetitions))
+			.setRepetitions(configs.size() * repetitions)
+			.setBaseSeed(0)
+			.setThreads(threads)
+			.run();
+	}
+
+	private static SweepResult runScenario(final HeuristicScenarioConfig config, final long seed) {
+		return new SweepResult(config, new DatacenterBrokerHeuristicCustom(config, seed, false).getResult());
+	}
+
+	/**
+	 * Writes the results to a CSV file, with one column for each parameter
+	 * followed by the columns of the {@link SimulationRunResult}.
+	 */
+	public static void writeCsv(final List<SweepResult> results, final Path file) {
+		try (Writer writer = Files.newBufferedWriter(file)) {
+			for (final SweepParameter parameter : SweepParameter.values()) {
+				writer.write(parameter.name().toLowerCase(Locale.ROOT) + ',');
+			}
+			writer.write(SimulationRunResult.getCsvHeader() + System.lineSeparator());
+
+			for (final SweepResult result : results) {
+				for (final SweepParameter parameter : SweepParameter.values()) {
+					writer.write(formatParameter(parameter, result.config().get(parameter)) + ',');
+				}
+				writer.write(result.result().toCsvRow() + System.lineSeparator());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Error writing the sweep results to " + file, e);
+		}
+	}
+
+	private static String formatParameter(final SweepParameter parameter, final double value) {
+		return parameter.isInteger() ? Long.toString((long) value) : Double.toString(value);
+	}
+}
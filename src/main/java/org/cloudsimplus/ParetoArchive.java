@@ -0,0 +1,149 @@
+package org.cloudsimplus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A bounded archive of mutually non-dominated {@link MultiObjectiveMappingSolution}s,
+ * which approximates the Pareto front of a multi-objective search.
+ * A solution is offered with its objective vector and is just copied into the archive if no archived
+ * solution dominates it, removing the ones it dominates.
+ * When the archive gets over its capacity, the solution in the most crowded region of the front
+ * (the lowest {@link NonDominatedSorting#crowdingDistances(double[][], int[]) crowding distance}) is removed,
+ * keeping the front spread out.
+ */
+public class ParetoArchive {
+	public static final int DEFAULT_CAPACITY = 50;
+
+	private final int capacity;
+	private final List<double[]> objectives = new ArrayList<>();
+	private final List<MultiObjectiveMappingSolution> solutions = new ArrayList<>();
+
+	public ParetoArchive() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public ParetoArchive(final int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("The archive capacity must be greater than zero.");
+		}
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Offers a solution to the archive.
+	 *
+	 * @param objectives the objective vector of the solution
+	 * @param solution a function to copy the solution, just called if it's archived
+	 * @return true if the solution was archived, false if it's dominated by (or equal to) an archived one
+	 */
+	public boolean offer(final double[] objectives, final Supplier<MultiObjectiveMappingSolution> solution) {
+		for (final double[] archived : this.objectives) {
+			if (NonDominatedSorting.dominates(archived, objectives) || Arrays.equals(archived, objectives)) {
+				return false;
+			}
+		}
+
+		for (int i = this.objectives.size() - 1; i >= 0; i--) {
+			if (NonDominatedSorting.dominates(objectives, this.objectives.get(i))) {
+				remove(i);
+			}
+		}
+
+		this.objectives.add(objectives.clone());
+		this.solutions.add(solution.get());
+		if (size() > capacity) {
+			removeMostCrowded();
+		}
+		return true;
+	}
+
+	private void removeMostCrowded() {
+		final double[][] vectors = objectives.toArray(double[][]::new);
+		final int[] front = new int[vectors.length];
+		for (int i = 0; i < front.length; i++) {
+			front[i] = i;
+		}
+
+		final double[] distances = NonDominatedSorting.crowdingDistances(vectors, front);
+		int mostCrowded = 0;
+		for (int i = 1; i < distances.length; i++) {
+			if (distances[i] < distances[mostCrowded]) {
+				mostCrowded = i;
+			}
+		}
+		remove(mostCrowded);
+	}
+
+	private void remove(final int position) {
+		final int last = size() - 1;
+		objectives.set(position, objectives.get(last));
+		solutions.set(position, solutions.get(last));
+		objectives.remove(last);
+		solutions.remove(last);
+	}
+
+	/**
+	 * Selects the archived solution with the lowest weighted sum of its objectives,
+	 * each one normalized to [0, 1] between its minimum and maximum values in the archive.
+	 *
+	 * @param weights the weight of each objective, in the order of the {@link MappingObjective} values
+	 * @return the selected solution or null if the archive is empty
+	 */
+	public MultiObjectiveMappingSolution select(final double[] weights) {
+		if (solutions.isEmpty()) {
+			return null;
+		}
+
+		final double[] min = objectives.get(0).clone();
+		final double[] max = objectives.get(0).clone();
+		for (final double[] vector : objectives) {
+			for (int o = 0; o < vector.length; o++) {
+				min[o] = Math.min(min[o], vector[o]);
+				max[o] = Math.max(max[o], vector[o]);
+			}
+		}
+
+		int selected = 0;
+		double selectedValue = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < objectives.size(); i++) {
+			double value = 0;
+			for (int o = 0; o < weights.length; o++) {
+				final double range = max[o] - min[o];
+				value += range == 0 ? 0 : weights[o] * (objectives.get(i)[o] - min[o]) / range;
+			}
+			if (value < selectedValue) {
+				selected = i;
+				selectedValue = value;
+			}
+		}
+
+		return solutions.get(selected);
+	}
+
+	public int size() {
+		return solutions.size();
+	}
+
+	public boolean isEmpty() {
+		return solutions.isEmpty();
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public void clear() {
+		objectives.clear();
+		solutions.clear();
+	}
+
+	/**
+	 * Gets the archived solutions, in no particular order.
+	 */
+	public List<MultiObjectiveMappingSolution> getSolutions() {
+		return List.copyOf(solutions);
+	}
+}
@@ -0,0 +1,16 @@
+package org.cloudsimplus;
+
+import java.util.SplittableRandom;
+
+/**
+ * Binds each Cloudlet to a random VM, giving a different starting point for each search.
+ */
+public class RandomInitialSolutionBuilder implements InitialSolutionBuilder {
+	@Override
+	public void build(final SimulatedAnnealingSolution solution, final SplittableRandom random) {
+		final CloudletToVmMappingIndex index = solution.getIndex();
+		for (int i = 0; i < index.getCloudletsNumber(); i++) {
+			solution.bindCloudletToVm(i, random.nextInt(index.getVmsNumber()));
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package org.cloudsimplus;
+
+import java.util.SplittableRandom;
+
+/**
+ * Moves a random Cloudlet to another random VM,
+ * which enables changing the number of Cloudlets of each VM and the set of used VMs.
+ */
+public class RandomRelocationMoveGenerator implements MoveGenerator {
+	@Override
+	public void generate(final SimulatedAnnealingSolution solution, final SplittableRandom random, final SimulatedAnnealingMove move) {
+		move.clear();
+		final int cloudlets = solution.getIndex().getCloudletsNumber();
+		final int vms = solution.getIndex().getVmsNumber();
+		if (cloudlets == 0 || vms < 2) {
+			return;
+		}
+
+		final int cloudletIndex = random.nextInt(cloudlets);
+		final int sourceVmIndex = solution.getVmIndex(cloudletIndex);
+		// Picks one of the other VMs, skipping the current one
+		int targetVmIndex = random.nextInt(vms - 1);
+		if (sourceVmIndex != SimulatedAnnealingSolution.UNBOUND && targetVmIndex >= sourceVmIndex) {
+			targetVmIndex++;
+		}
+		move.addRelocation(cloudletIndex, targetVmIndex);
+	}
+}
@@ -0,0 +1,20 @@
+package org.cloudsimplus;
+
+import java.util.SplittableRandom;
+
+/**
+ * Swaps the VMs of two random Cloudlets.
+ * It never changes the number of Cloudlets of any VM.
+ */
+public class RandomSwapMoveGenerator implements MoveGenerator {
+	@Override
+	public void generate(final SimulatedAnnealingSolution solution, final SplittableRandom random, final SimulatedAnnealingMove move) {
+		final int cloudlets = solution.getIndex().getCloudletsNumber();
+		if (cloudlets < 2) {
+			move.clear();
+			return;
+		}
+
+		move.setSwap(solution, random.nextInt(cloudlets), random.nextInt(cloudlets));
+	}
+}
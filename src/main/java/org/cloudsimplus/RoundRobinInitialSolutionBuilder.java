@@ -0,0 +1,17 @@
+package org.cloudsimplus;
+
+import java.util.SplittableRandom;
+
+/**
+ * Binds the Cloudlets to VMs cyclically, in the order they were submitted,
+ * as done by the {@link org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple}.
+ */
+public class RoundRobinInitialSolutionBuilder implements InitialSolutionBuilder {
+	@Override
+	public void build(final SimulatedAnnealingSolution solution, final SplittableRandom random) {
+		final CloudletToVmMappingIndex index = solution.getIndex();
+		for (int i = 0; i < index.getCloudletsNumber(); i++) {
+			solution.bindCloudletToVm(i, i % index.getVmsNumber());
+		}
+	}
+}
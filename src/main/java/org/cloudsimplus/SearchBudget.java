@@ -0,0 +1,174 @@
+package org.cloudsimplus;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The limits of a heuristic search and the resources it has used so far:
+ * wall-clock time, iterations, cost evaluations and iterations without improving the best solution.
+ * The search must stop as soon as any of the limits is reached.
+ * A limit equal to {@link #UNLIMITED} (the default) is not checked.
+ *
+ * <p>A budget is {@link #start() started} by the heuristic when the search begins and is
+ * updated by it as the search goes, so it must not be shared by heuristics running in parallel.
+ * The {@link #SearchBudget(SearchBudget) copy constructor} can be used to give the same limits
+ * to different heuristics.</p>
+ */
+public class SearchBudget {
+	/**
+	 * Value of a limit that is not checked.
+	 */
+	public static final long UNLIMITED = 0;
+
+	private long maxMillis = UNLIMITED;
+	private long maxIterations = UNLIMITED;
+	private long maxEvaluations = UNLIMITED;
+	private long maxIterationsWithoutImprovement = UNLIMITED;
+
+	private long startNanos;
+	private long stopNanos;
+	private boolean running;
+	private long iterations;
+	private long evaluations;
+	private long lastImprovementIteration;
+
+	public SearchBudget() {
+		// Only default limits.
+	}
+
+	/**
+	 * Creates a budget with the same limits of another one, which is not started yet.
+	 */
+	public SearchBudget(final SearchBudget budget) {
+		this.maxMillis = budget.maxMillis;
+		this.maxIterations = budget.maxIterations;
+		this.maxEvaluations = budget.maxEvaluations;
+		this.maxIterationsWithoutImprovement = budget.maxIterationsWithoutImprovement;
+	}
+
+	public long getMaxMillis() {
+		return maxMillis;
+	}
+
+	/**
+	 * Sets the maximum wall-clock time the search can take, in milliseconds.
+	 */
+	public SearchBudget setMaxMillis(final long maxMillis) {
+		this.maxMillis = requireNonNegative(maxMillis, "time");
+		return this;
+	}
+
+	public long getMaxIterations() {
+		return maxIterations;
+	}
+
+	public SearchBudget setMaxIterations(final long maxIterations) {
+		this.maxIterations = requireNonNegative(maxIterations, "number of iterations");
+		return this;
+	}
+
+	public long getMaxEvaluations() {
+		return maxEvaluations;
+	}
+
+	/**
+	 * Sets the maximum number of solution cost evaluations (such as neighbors scored).
+	 */
+	public SearchBudget setMaxEvaluations(final long maxEvaluations) {
+		this.maxEvaluations = requireNonNegative(maxEvaluations, "number of evaluations");
+		return this;
+	}
+
+	public long getMaxIterationsWithoutImprovement() {
+		return maxIterationsWithoutImprovement;
+	}
+
+	/**
+	 * Sets the maximum number of consecutive iterations that don't improve the best solution found.
+	 */
+	public SearchBudget setMaxIterationsWithoutImprovement(final long maxIterationsWithoutImprovement) {
+		this.maxIterationsWithoutImprovement = requireNonNegative(maxIterationsWithoutImprovement, "number of iterations without improvement");
+		return this;
+	}
+
+	private static long requireNonNegative(final long limit, final String name) {
+		if (limit < 0) {
+			throw new IllegalArgumentException("The maximum " + name + " cannot be negative.");
+		}
+		return limit;
+	}
+
+	/**
+	 * Resets the used resources and starts counting the elapsed time.
+	 */
+	public void start() {
+		iterations = 0;
+		evaluations = 0;
+		lastImprovementIteration = 0;
+		running = true;
+		startNanos = System.nanoTime();
+		stopNanos = startNanos;
+	}
+
+	/**
+	 * Stops counting the elapsed time, which is kept for later queries.
+	 */
+	public void stop() {
+		if (running) {
+			stopNanos = System.nanoTime();
+			running = false;
+		}
+	}
+
+	public void addIterations(final long iterations) {
+		this.iterations += iterations;
+	}
+
+	public void addEvaluations(final long evaluations) {
+		this.evaluations += evaluations;
+	}
+
+	/**
+	 * Notifies that the best solution was improved at the current iteration.
+	 */
+	public void notifyImprovement() {
+		lastImprovementIteration = iterations;
+	}
+
+	/**
+	 * Checks if any of the limits was reached.
+	 */
+	public boolean isExhausted() {
+		return isReached(maxIterations, iterations)
+			|| isReached(maxEvaluations, evaluations)
+			|| isReached(maxIterationsWithoutImprovement, getIterationsWithoutImprovement())
+			|| isReached(maxMillis, TimeUnit.NANOSECONDS.toMillis(getElapsedNanos()));
+	}
+
+	private static boolean isReached(final long limit, final long used) {
+		return limit != UNLIMITED && used >= limit;
+	}
+
+	public long getIterations() {
+		return iterations;
+	}
+
+	public long getEvaluations() {
+		return evaluations;
+	}
+
+	public long getIterationsWithoutImprovement() {
+		return iterations - lastImprovementIteration;
+	}
+
+	/**
+	 * Gets the wall-clock time since the search started,
+	 * up to the time it stopped if it isn't running anymore.
+	 */
+	public long getElapsedNanos() {
+		return (running ? System.nanoTime() : stopNanos) - startNanos;
+	}
+
+	public double getElapsedSeconds() {
+		return getElapsedNanos() / 1e9;
+	}
+}
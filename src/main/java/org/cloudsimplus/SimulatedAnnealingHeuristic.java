@@ -1,47 +1,245 @@
 package org.cloudsimplus;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudsimplus.heuristics.CloudletToVmMappingHeuristic;
 import org.cloudsimplus.heuristics.CloudletToVmMappingSolution;
 
+/**
+ * A <a href="http://en.wikipedia.org/wiki/Simulated_annealing">Simulated Annealing</a>
+ * heuristic to map Cloudlets to VMs, which moves Cloudlets among VMs according to a
+ * {@link MoveGenerator} (by default, an {@link AdaptiveMoveGenerator} that favours
+ * the strategies whose moves are being accepted) and accepts worse solutions according to the Metropolis criterion:
+ * with probability {@code exp(-delta/T)}, where {@code delta} is the cost increase
+ * and {@code T} is the current temperature, given by a {@link CoolingSchedule}.
+ * At each temperature, {@link #getSearchesByIteration()} candidate moves are generated
+ * and scored by their incremental cost change (optionally in parallel) and
+ * the best one is submitted to the acceptance rule.
+ * The search starts from a solution given by an {@link InitialSolutionBuilder}
+ * (by default, a random mapping).
+ * The search stops when the temperature gets cold, when the Cloudlets are
+ * perfectly balanced among VMs or when its {@link SearchBudget} is exhausted,
+ * which by default limits just the number of iterations.
+ */
 public class SimulatedAnnealingHeuristic implements CloudletToVmMappingHeuristic {
-	private final int maxTime = 200;
+	public static final double DEFAULT_INITIAL_TEMPERATURE = 1.0;
+	public static final double DEFAULT_COLD_TEMPERATURE = 0.0001;
+	public static final double DEFAULT_COOLING_RATE = 0.003;
+
+	/**
+	 * Default maximum number of iterations, for schedules that take too long to get cold.
+	 */
+	public static final long DEFAULT_MAX_ITERATIONS = 100_000;
+
+	private final CoolingSchedule coolingSchedule;
+	private double temperature;
 	private List<Cloudlet> cloudletList;
 	private List<Vm> vmList;
-	private double solveTime = 0;
+	private SearchBudget budget = new SearchBudget().setMaxIterations(DEFAULT_MAX_ITERATIONS);
 	private int searchesByIteration = 1;
+	private CloudletToVmMappingIndex index;
 	private SimulatedAnnealingSolution bestSolution;
+	/**
+	 * The solution the search walks through, which is changed in place by each move
+	 * and is copied to {@link #bestSolution} only when its cost improves.
+	 */
+	private SimulatedAnnealingSolution currentSolution;
 	private SimulatedAnnealingSolution latestNeighbor;
+	private double latestCostDelta;
+	private SimulatedAnnealingMove[] candidates = new SimulatedAnnealingMove[0];
+	private MoveGenerator moveGenerator = new AdaptiveMoveGenerator();
+	private InitialSolutionBuilder initialSolutionBuilder = new RandomInitialSolutionBuilder();
+	private boolean parallelNeighborhoodEvaluation;
+	private AnnealingTelemetry telemetry;
+	/**
+	 * A fast, non-synchronized random generator owned by this heuristic.
+	 * Parallel searches must use {@link SplittableRandom#split() split} generators
+	 * instead of sharing a single one.
+	 */
+	private SplittableRandom random = new SplittableRandom();
+	/**
+	 * A flag that stops the search when set, which may be shared with other
+	 * heuristics searching in parallel, so that all of them stop when any one
+	 * finds a perfectly balanced solution.
+	 */
+	private AtomicBoolean stopFlag = new AtomicBoolean();
+	/**
+	 * Indicates if the {@link #stopFlag} was created by this heuristic, so it's cleared at each search,
+	 * or was {@link #setStopFlag(AtomicBoolean) given}, so it's kept for the heuristics sharing it.
+	 */
+	private boolean ownStopFlag = true;
 
+	/**
+	 * Creates a heuristic with a {@link GeometricCoolingSchedule} using the default parameters.
+	 */
+	public SimulatedAnnealingHeuristic() {
+		this(new GeometricCoolingSchedule(DEFAULT_INITIAL_TEMPERATURE, DEFAULT_COLD_TEMPERATURE, DEFAULT_COOLING_RATE));
+	}
+
+	public SimulatedAnnealingHeuristic(CoolingSchedule coolingSchedule) {
+		this.coolingSchedule = coolingSchedule;
+		this.temperature = coolingSchedule.getInitialTemperature();
+	}
+
+	public CoolingSchedule getCoolingSchedule() {
+		return coolingSchedule;
+	}
+
+	public double getTemperature() {
+		return temperature;
+	}
+
+	/**
+	 * Gets the probability of accepting the latest neighbor, according to the Metropolis criterion:
+	 * 1 if it's not worse than the solution it came from or
+	 * {@code exp(-delta/T)} otherwise, where {@code delta} is the cost increase.
+	 */
 	@Override
 	public double getAcceptanceProbability() {
-		return 1 / this.solveTime;
+		return latestCostDelta <= 0 ? 1 : Math.exp(-latestCostDelta / temperature);
+	}
+
+	public MoveGenerator getMoveGenerator() {
+		return moveGenerator;
+	}
+
+	/**
+	 * Sets the strategy to generate the moves to neighbor solutions,
+	 * which must not be shared with other heuristics.
+	 */
+	public void setMoveGenerator(MoveGenerator moveGenerator) {
+		this.moveGenerator = moveGenerator;
+	}
+
+	public InitialSolutionBuilder getInitialSolutionBuilder() {
+		return initialSolutionBuilder;
+	}
+
+	/**
+	 * Sets the strategy to build the solution the search starts from,
+	 * such as a greedy {@link LptInitialSolutionBuilder} to warm start it.
+	 */
+	public void setInitialSolutionBuilder(InitialSolutionBuilder initialSolutionBuilder) {
+		this.initialSolutionBuilder = initialSolutionBuilder;
+	}
+
+	public boolean isParallelNeighborhoodEvaluation() {
+		return parallelNeighborhoodEvaluation;
+	}
+
+	/**
+	 * Enables or disables the evaluation of the candidate moves of each iteration in parallel.
+	 * Since evaluating a move is quite cheap, it just pays off for a large number of
+	 * {@link #getSearchesByIteration() searches by iteration}.
+	 */
+	public void setParallelNeighborhoodEvaluation(boolean parallelNeighborhoodEvaluation) {
+		this.parallelNeighborhoodEvaluation = parallelNeighborhoodEvaluation;
+	}
+
+	public AnnealingTelemetry getTelemetry() {
+		return telemetry;
+	}
+
+	/**
+	 * Sets a telemetry to record how the search converges, or null to disable it (the default).
+	 * The telemetry must not be shared with other heuristics.
+	 */
+	public void setTelemetry(AnnealingTelemetry telemetry) {
+		this.telemetry = telemetry;
 	}
 
 	@Override
 	public int getRandomValue(int maxValue) {
-		Random rand = new Random();
-		int number = rand.nextInt(maxValue);
-		return number;
+		return random.nextInt(maxValue);
+	}
+
+	/**
+	 * Sets the seed of the random number generator, making the search reproducible.
+	 */
+	public void setSeed(long seed) {
+		this.random = new SplittableRandom(seed);
+	}
+
+	public SplittableRandom getRandom() {
+		return random;
+	}
+
+	/**
+	 * Sets the random number generator, which must not be shared with heuristics
+	 * running in other threads (a {@link SplittableRandom#split() split} generator can be given instead).
+	 */
+	public void setRandom(SplittableRandom random) {
+		this.random = random;
+	}
+
+	public AtomicBoolean getStopFlag() {
+		return stopFlag;
 	}
 
-	private Vm getRandomVm() {
-		int id = getRandomValue(vmList.size());
-		return vmList.get(id);
+	/**
+	 * Sets a flag that stops the search when set.
+	 * The heuristic sets it when it finds a perfectly balanced solution.
+	 * Unlike the heuristic's own flag, a given flag isn't cleared when a search starts.
+	 */
+	public void setStopFlag(AtomicBoolean stopFlag) {
+		this.stopFlag = stopFlag;
+		this.ownStopFlag = false;
+	}
+
+	public SearchBudget getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Sets the limits of the search, such as a maximum wall-clock time,
+	 * number of cost evaluations or iterations without improvement.
+	 * The budget is started again each time the heuristic {@link #solve() solves} the mapping.
+	 */
+	public void setBudget(SearchBudget budget) {
+		this.budget = budget;
+	}
+
+	/**
+	 * Gets the index of the current Cloudlet and VM lists,
+	 * which is shared by all solutions created from them.
+	 */
+	public CloudletToVmMappingIndex getIndex() {
+		if (index == null) {
+			index = new CloudletToVmMappingIndex(this);
+		}
+		return index;
+	}
+
+	/**
+	 * Sets the index of the Cloudlets and VMs to map, which also sets the Cloudlet and VM lists.
+	 * It enables mapping Cloudlets to VMs that already have a
+	 * {@link CloudletToVmMappingIndex#getVmBaselinePes(int) baseline load}.
+	 */
+	public void setIndex(CloudletToVmMappingIndex index) {
+		this.cloudletList = index.getCloudletList();
+		this.vmList = index.getVmList();
+		this.index = index;
 	}
 
 	@Override
 	public boolean isToStopSearch() {
 		Boolean stop = false;
-		if (this.solveTime >= this.maxTime) {
-			// Reached max iteration count.
+		if (budget.isExhausted()) {
+			// Reached max time, iterations or evaluations.
+			stop = true;
+		} else if (coolingSchedule.isCold(temperature)) {
 			stop = true;
 		} else if (bestSolution.computeCostDiffOfAllVms() == 0) {
 			// Cloudlets are perfectly balanced between VMs.
+			stopFlag.set(true);
+			stop = true;
+		} else if (stopFlag.get()) {
+			// Another heuristic sharing the flag found a balanced solution.
 			stop = true;
 		}
 		return stop;
@@ -49,9 +247,8 @@ public class SimulatedAnnealingHeuristic implements CloudletToVmMappingHeuristic
 
 	@Override
 	public SimulatedAnnealingSolution getInitialSolution() {
-		SimulatedAnnealingSolution initialSolution = new SimulatedAnnealingSolution(this);
-		cloudletList
-				.forEach(cloudlet -> initialSolution.bindCloudletToVm(cloudlet, getRandomVm()));
+		SimulatedAnnealingSolution initialSolution = new SimulatedAnnealingSolution(this, getIndex());
+		initialSolutionBuilder.build(initialSolution, random);
 		return initialSolution;
 	}
 
@@ -60,40 +257,115 @@ public class SimulatedAnnealingHeuristic implements CloudletToVmMappingHeuristic
 		return this.latestNeighbor;
 	}
 
+	/**
+	 * Creates a copy of a given solution with a move from the {@link #getMoveGenerator() move generator} applied,
+	 * which can still be reverted by {@link SimulatedAnnealingSolution#undoMove()}.
+	 * The {@link #solve()} method doesn't use it, since it applies moves in place.
+	 */
 	@Override
 	public CloudletToVmMappingSolution createNeighbor(CloudletToVmMappingSolution source) {
 		SimulatedAnnealingSolution neighbor = new SimulatedAnnealingSolution(source);
-		neighbor.swapVmsOfTwoRandomSelectedMapEntries();
+		SimulatedAnnealingMove move = new SimulatedAnnealingMove();
+		moveGenerator.generate(neighbor, random, move);
+		neighbor.applyMove(move);
 		this.latestNeighbor = neighbor;
+		this.latestCostDelta = neighbor.getCost() - neighbor.getCostBeforeMove();
 		return neighbor;
 	}
 
 	public Boolean acceptSolution() {
-		Boolean isNeighborBest = latestNeighbor.compareTo(bestSolution) >= 0;
-		if (isNeighborBest) {
-			return true;
-		}
-		double temperature = getAcceptanceProbability();
-		double randomNumber = getRandomValue(101) / 100;
-		if (randomNumber <= temperature) {
-			return true;
-		}
-		return false;
+		final double probability = getAcceptanceProbability();
+		final boolean accepted = probability >= 1 || random.nextDouble() < probability;
+		coolingSchedule.notifyMoveEvaluated(accepted);
+		return accepted;
 	}
 
 	@Override
 	public CloudletToVmMappingSolution solve() {
-		bestSolution = getInitialSolution();
+		budget.start();
+		if (ownStopFlag) {
+			stopFlag.set(false);
+		}
+		coolingSchedule.start();
+		temperature = coolingSchedule.getInitialTemperature();
+		currentSolution = getInitialSolution();
+		bestSolution = new SimulatedAnnealingSolution(currentSolution);
+		latestNeighbor = currentSolution;
+		createCandidates();
+		if (telemetry != null) {
+			telemetry.start();
+		}
 		while (!isToStopSearch()) {
-			solveTime++;
-			createNeighbor(bestSolution);
-			if (acceptSolution()) {
-				bestSolution = latestNeighbor;
+			budget.addIterations(1);
+			final SimulatedAnnealingMove move = searchNeighborhood();
+			budget.addEvaluations(candidates.length);
+			latestCostDelta = move.getCostDelta();
+			boolean accepted = false;
+			if (!move.isEmpty()) {
+				accepted = acceptSolution();
+				moveGenerator.notifyMoveEvaluated(move, accepted);
+				if (accepted) {
+					currentSolution.applyMove(move);
+					currentSolution.commitMove();
+					updateBestSolution();
+				}
 			}
+			if (telemetry != null) {
+				telemetry.record(
+					budget.getIterations(), temperature, currentSolution.getCost(), bestSolution.getCost(),
+					move.getGenerator() == null ? moveGenerator : move.getGenerator(), !move.isEmpty(), accepted);
+			}
+			temperature = coolingSchedule.nextTemperature(temperature, budget.getIterations());
 		}
+		budget.stop();
 		return bestSolution;
 	}
 
+	private void createCandidates() {
+		if (candidates.length != searchesByIteration) {
+			candidates = new SimulatedAnnealingMove[searchesByIteration];
+			for (int i = 0; i < searchesByIteration; i++) {
+				candidates[i] = new SimulatedAnnealingMove();
+			}
+		}
+	}
+
+	/**
+	 * Generates a batch of candidate moves from the current solution,
+	 * scores them by their cost change and returns the best one.
+	 */
+	private SimulatedAnnealingMove searchNeighborhood() {
+		for (SimulatedAnnealingMove candidate : candidates) {
+			moveGenerator.generate(currentSolution, random, candidate);
+		}
+
+		if (parallelNeighborhoodEvaluation) {
+			Arrays.stream(candidates).parallel().forEach(currentSolution::computeCostDelta);
+		} else {
+			for (SimulatedAnnealingMove candidate : candidates) {
+				currentSolution.computeCostDelta(candidate);
+			}
+		}
+
+		SimulatedAnnealingMove best = candidates[0];
+		for (int i = 1; i < candidates.length; i++) {
+			if (best.isEmpty() || (!candidates[i].isEmpty() && candidates[i].getCostDelta() < best.getCostDelta())) {
+				best = candidates[i];
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Takes a snapshot of the current solution if it's better than the best one so far.
+	 */
+	private void updateBestSolution() {
+		if (currentSolution.compareTo(bestSolution) > 0) {
+			bestSolution = new SimulatedAnnealingSolution(currentSolution);
+			budget.notifyImprovement();
+		}
+	}
+
 	@Override
 	public CloudletToVmMappingSolution getBestSolutionSoFar() {
 		return this.bestSolution;
@@ -106,12 +378,19 @@ public class SimulatedAnnealingHeuristic implements CloudletToVmMappingHeuristic
 
 	@Override
 	public void setSearchesByIteration(int numberOfNeighborhoodSearches) {
+		if (numberOfNeighborhoodSearches <= 0) {
+			throw new IllegalArgumentException("The number of searches by iteration must be greater than zero.");
+		}
 		this.searchesByIteration = numberOfNeighborhoodSearches;
 	}
 
+	/**
+	 * Gets the wall-clock time the last search took, in seconds.
+	 * The number of iterations and evaluations are given by the {@link #getBudget() budget}.
+	 */
 	@Override
 	public double getSolveTime() {
-		return this.solveTime;
+		return budget.getElapsedSeconds();
 	}
 
 	@Override
@@ -127,10 +406,12 @@ public class SimulatedAnnealingHeuristic implements CloudletToVmMappingHeuristic
 	@Override
 	public void setCloudletList(List<Cloudlet> cloudletList) {
 		this.cloudletList = cloudletList;
+		this.index = null;
 	}
 
 	@Override
 	public void setVmList(List<Vm> vmList) {
 		this.vmList = vmList;
+		this.index = null;
 	}
 }
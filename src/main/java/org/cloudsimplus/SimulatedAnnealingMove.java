@@ -0,0 +1,160 @@
+package org.cloudsimplus;
+
+import java.util.Arrays;
+
+/**
+ * A move from a {@link SimulatedAnnealingSolution} to one of its neighbors,
+ * represented as a list of Cloudlets to be relocated to other VMs
+ * (given by their indexes in the solution {@link CloudletToVmMappingIndex}).
+ * A swap is represented by two relocations.
+ *
+ * <p>A move is mutable and reusable, so that neighbors can be generated and
+ * {@link SimulatedAnnealingSolution#computeCostDelta(SimulatedAnnealingMove) evaluated}
+ * without allocating objects. Each move also holds the working arrays used to evaluate it,
+ * so different moves can be evaluated in parallel against the same solution.
+ * A Cloudlet must not be relocated more than once in the same move.</p>
+ */
+public class SimulatedAnnealingMove {
+	private int[] cloudlets;
+	private int[] targetVms;
+	private int size;
+
+	/**
+	 * Working arrays with the VMs touched by the move and their changes,
+	 * used when evaluating the move.
+	 */
+	private int[] touchedVms;
+	private long[] touchedPesDelta;
+	private int[] touchedCloudletsDelta;
+
+	private double costDelta;
+	private MoveGenerator generator;
+
+	public SimulatedAnnealingMove() {
+		this(2);
+	}
+
+	/**
+	 * Creates a move.
+	 *
+	 * @param capacity the expected maximum number of relocations (it grows if needed)
+	 */
+	public SimulatedAnnealingMove(final int capacity) {
+		this.cloudlets = new int[capacity];
+		this.targetVms = new int[capacity];
+		this.touchedVms = new int[capacity * 2];
+		this.touchedPesDelta = new long[capacity * 2];
+		this.touchedCloudletsDelta = new int[capacity * 2];
+	}
+
+	/**
+	 * Removes all relocations and the generator, so the move can be reused.
+	 */
+	public SimulatedAnnealingMove clear() {
+		size = 0;
+		costDelta = 0;
+		generator = null;
+		return this;
+	}
+
+	/**
+	 * Adds the relocation of a Cloudlet to a VM.
+	 */
+	public SimulatedAnnealingMove addRelocation(final int cloudletIndex, final int targetVmIndex) {
+		if (size == cloudlets.length) {
+			cloudlets = Arrays.copyOf(cloudlets, size * 2);
+			targetVms = Arrays.copyOf(targetVms, size * 2);
+			touchedVms = Arrays.copyOf(touchedVms, size * 4);
+			touchedPesDelta = Arrays.copyOf(touchedPesDelta, size * 4);
+			touchedCloudletsDelta = Arrays.copyOf(touchedCloudletsDelta, size * 4);
+		}
+		cloudlets[size] = cloudletIndex;
+		targetVms[size] = targetVmIndex;
+		size++;
+		return this;
+	}
+
+	/**
+	 * Makes this move swap the VMs of two Cloudlets of a solution.
+	 */
+	public SimulatedAnnealingMove setSwap(final SimulatedAnnealingSolution solution, final int cloudletIndex0, final int cloudletIndex1) {
+		clear();
+		if (cloudletIndex0 != cloudletIndex1) {
+			addRelocation(cloudletIndex0, solution.getVmIndex(cloudletIndex1));
+			addRelocation(cloudletIndex1, solution.getVmIndex(cloudletIndex0));
+		}
+		return this;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int getCloudlet(final int relocation) {
+		return cloudlets[relocation];
+	}
+
+	public int getTargetVm(final int relocation) {
+		return targetVms[relocation];
+	}
+
+	/**
+	 * Gets the cost change computed by the last evaluation of this move.
+	 */
+	public double getCostDelta() {
+		return costDelta;
+	}
+
+	/**
+	 * Gets the generator that created this move, if it was set after the move was last
+	 * {@link #clear() cleared}; or null otherwise.
+	 */
+	public MoveGenerator getGenerator() {
+		return generator;
+	}
+
+	public SimulatedAnnealingMove setGenerator(final MoveGenerator generator) {
+		this.generator = generator;
+		return this;
+	}
+
+	void setCostDelta(final double costDelta) {
+		this.costDelta = costDelta;
+	}
+
+	/**
+	 * Accumulates a change to a VM touched by the move.
+	 *
+	 * @return the new number of touched VMs
+	 */
+	int touchVm(final int touched, final int vmIndex, final int cloudletsDelta, final long pesDelta) {
+		for (int i = 0; i < touched; i++) {
+			if (touchedVms[i] == vmIndex) {
+				touchedCloudletsDelta[i] += cloudletsDelta;
+				touchedPesDelta[i] += pesDelta;
+				return touched;
+			}
+		}
+
+		touchedVms[touched] = vmIndex;
+		touchedCloudletsDelta[touched] = cloudletsDelta;
+		touchedPesDelta[touched] = pesDelta;
+		return touched + 1;
+	}
+
+	int getTouchedVm(final int touched) {
+		return touchedVms[touched];
+	}
+
+	long getTouchedPesDelta(final int touched) {
+		return touchedPesDelta[touched];
+	}
+
+	int getTouchedCloudletsDelta(final int touched) {
+		return touchedCloudletsDelta[touched];
+	}
+}
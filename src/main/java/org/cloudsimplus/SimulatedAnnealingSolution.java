@@ -1,58 +1,202 @@
 package org.cloudsimplus;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.Map.Entry;
+import java.util.Arrays;
 
-import org.cloudbus.cloudsim.cloudlets.Cloudlet;
-import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudsimplus.heuristics.CloudletToVmMappingSolution;
 import org.cloudsimplus.heuristics.Heuristic;
 
-public class SimulatedAnnealingSolution extends CloudletToVmMappingSolution {
+/**
+ * A {@link CloudletToVmArrayMappingSolution} used by the {@link SimulatedAnnealingHeuristic},
+ * which keeps the cost of each VM up-to-date as Cloudlets are moved,
+ * so that a swap just updates the two VMs involved instead of regrouping the whole mapping.
+ *
+ * <p>A move can be applied in place and reverted if it's rejected:
+ * after {@link #beginMove()}, every Cloudlet rebinding is recorded into an undo log,
+ * which is used by {@link #undoMove()} to restore the previous mapping
+ * or is discarded by {@link #commitMove()}.
+ * This way, the search doesn't need to copy the whole solution for each neighbor.</p>
+ */
+public class SimulatedAnnealingSolution extends CloudletToVmArrayMappingSolution {
+	/**
+	 * Cloudlets rebound since the last {@link #beginMove()} and their previous VMs.
+	 */
+	private int[] undoCloudlets = new int[4];
+	private int[] undoVms = new int[4];
+	private int undoSize;
+	private boolean moving;
+	private double costBeforeMove;
 
 	public SimulatedAnnealingSolution(Heuristic heuristic) {
 		super(heuristic);
 	}
 
+	public SimulatedAnnealingSolution(Heuristic heuristic, CloudletToVmMappingIndex index) {
+		super(heuristic, index);
+	}
+
+	/**
+	 * Creates a copy of a solution. Any move in progress at the source solution
+	 * is not part of the copy's undo log.
+	 */
 	public SimulatedAnnealingSolution(final CloudletToVmMappingSolution solution) {
 		super(solution);
 	}
 
-	public double computeCostDiffOfAllVms() {
-		Set<Entry<Vm, List<Entry<Cloudlet, Vm>>>> map = groupCloudletsByVm()
-				.entrySet();
+	/**
+	 * Starts recording the changes to the mapping, so that they can be reverted by
+	 * {@link #undoMove()}. A previous move not committed yet is kept and cannot be undone anymore.
+	 */
+	public void beginMove() {
+		undoSize = 0;
+		moving = true;
+		costBeforeMove = getCost();
+	}
 
-		double max = map
-				.stream()
-				.mapToDouble(this::getVmCost).max().orElse(100);
+	/**
+	 * Keeps the changes made since {@link #beginMove()} and stops recording them.
+	 */
+	public void commitMove() {
+		undoSize = 0;
+		moving = false;
+	}
 
-		double min = map
-				.stream()
-				.mapToDouble(this::getVmCost).min().orElse(0);
+	/**
+	 * Reverts the changes made since {@link #beginMove()}, in reverse order,
+	 * and stops recording them.
+	 */
+	public void undoMove() {
+		moving = false;
+		for (int i = undoSize - 1; i >= 0; i--) {
+			super.bindCloudletToVm(undoCloudlets[i], undoVms[i]);
+		}
+		undoSize = 0;
+	}
 
-		return max - min;
+	/**
+	 * Gets the solution cost when the current move started.
+	 */
+	public double getCostBeforeMove() {
+		return moving ? costBeforeMove : getCost();
 	}
 
-	private boolean swapVmsOfTwoSelectedMapEntries(final List<Map.Entry<Cloudlet, Vm>> entries) {
-		if (entries == null || entries.size() != 2 || entries.get(0) == null || entries.get(1) == null) {
-			return false;
+	@Override
+	public void bindCloudletToVm(final int cloudletIndex, final int vmIndex) {
+		if (moving) {
+			logUndo(cloudletIndex, getVmIndex(cloudletIndex));
 		}
+		super.bindCloudletToVm(cloudletIndex, vmIndex);
+	}
+
+	private void logUndo(final int cloudletIndex, final int previousVmIndex) {
+		if (undoSize == undoCloudlets.length) {
+			undoCloudlets = Arrays.copyOf(undoCloudlets, undoSize * 2);
+			undoVms = Arrays.copyOf(undoVms, undoSize * 2);
+		}
+		undoCloudlets[undoSize] = cloudletIndex;
+		undoVms[undoSize] = previousVmIndex;
+		undoSize++;
+	}
+
+	/**
+	 * Gets the difference between the highest and the lowest VM cost,
+	 * considering only VMs that have Cloudlets.
+	 * Since the cost of each VM is kept up-to-date, this takes O(1).
+	 *
+	 * @return the cost difference or 100 if no Cloudlet was mapped yet
+	 */
+	public double computeCostDiffOfAllVms() {
+		if (isEmpty()) {
+			return 100;
+		}
+
+		return getMaxVmCost() - getMinVmCost();
+	}
 
-		final Vm vm0 = entries.get(0).getValue();
-		final Vm vm1 = entries.get(1).getValue();
-		final Cloudlet cloudlet0 = entries.get(0).getKey();
-		final Cloudlet cloudlet1 = entries.get(1).getKey();
-		bindCloudletToVm(cloudlet0, vm1);
-		bindCloudletToVm(cloudlet1, vm0);
-		entries.get(0).setValue(vm1);
-		entries.get(1).setValue(vm0);
+	/**
+	 * Swaps the VMs of two Cloudlets, given their indexes.
+	 *
+	 * @return true if the Cloudlets were bound to different VMs and were swapped, false otherwise
+	 */
+	public boolean swapVmsOfCloudlets(final int cloudletIndex0, final int cloudletIndex1) {
+		final int vmIndex0 = getVmIndex(cloudletIndex0);
+		final int vmIndex1 = getVmIndex(cloudletIndex1);
+		if (vmIndex0 == vmIndex1 || vmIndex0 == UNBOUND || vmIndex1 == UNBOUND) {
+			return false;
+		}
 
+		bindCloudletToVm(cloudletIndex0, vmIndex1);
+		bindCloudletToVm(cloudletIndex1, vmIndex0);
 		return true;
 	}
 
+	/**
+	 * Computes how much the cost of this solution would change if a move was applied,
+	 * without changing the solution. It takes time proportional to the move size
+	 * and doesn't change any shared state, so several moves can be evaluated in parallel.
+	 * The delta is also stored into the move.
+	 *
+	 * @return the cost change (negative if the move improves the solution)
+	 */
+	public double computeCostDelta(final SimulatedAnnealingMove move) {
+		int touched = 0;
+		for (int i = 0; i < move.size(); i++) {
+			final int cloudletIndex = move.getCloudlet(i);
+			final int sourceVmIndex = getVmIndex(cloudletIndex);
+			final int targetVmIndex = move.getTargetVm(i);
+			if (sourceVmIndex == targetVmIndex) {
+				continue;
+			}
+
+			final long pes = getIndex().getCloudletPes(cloudletIndex);
+			if (sourceVmIndex != UNBOUND) {
+				touched = move.touchVm(touched, sourceVmIndex, -1, -pes);
+			}
+			touched = move.touchVm(touched, targetVmIndex, 1, pes);
+		}
+
+		double delta = 0;
+		for (int i = 0; i < touched; i++) {
+			final int vmIndex = move.getTouchedVm(i);
+			final int cloudlets = getVmCloudletsNumber(vmIndex) + getIndex().getVmBaselineCloudlets(vmIndex) + move.getTouchedCloudletsDelta(i);
+			final long requestedPes = getVmRequestedPes(vmIndex) + move.getTouchedPesDelta(i);
+			final double cost = cloudlets == 0 ? 0 : Math.abs(getIndex().getVmPes(vmIndex) - requestedPes);
+			delta += cost - getVmCost(vmIndex);
+		}
+
+		move.setCostDelta(delta);
+		return delta;
+	}
+
+	/**
+	 * Begins a new move and applies the relocations of a given move,
+	 * which can be reverted by {@link #undoMove()}.
+	 */
+	public void applyMove(final SimulatedAnnealingMove move) {
+		beginMove();
+		for (int i = 0; i < move.size(); i++) {
+			bindCloudletToVm(move.getCloudlet(i), move.getTargetVm(i));
+		}
+	}
+
+	/**
+	 * Begins a new move and swaps the VMs of two random Cloudlets.
+	 * If the swap is rejected, it can be reverted by {@link #undoMove()}.
+	 *
+	 * @return true if the Cloudlets were swapped, false otherwise
+	 */
+	public boolean applyRandomSwap() {
+		beginMove();
+		return swapVmsOfTwoRandomSelectedMapEntries();
+	}
+
 	public boolean swapVmsOfTwoRandomSelectedMapEntries() {
-		return swapVmsOfTwoSelectedMapEntries(getRandomMapEntries());
+		final int cloudlets = getIndex().getCloudletsNumber();
+		if (cloudlets < 2) {
+			return false;
+		}
+
+		final int cloudletIndex0 = getHeuristic().getRandomValue(cloudlets);
+		final int cloudletIndex1 = getHeuristic().getRandomValue(cloudlets);
+		return swapVmsOfCloudlets(cloudletIndex0, cloudletIndex1);
 	}
 }
@@ -0,0 +1,65 @@
+package org.cloudsimplus;
+
+import java.util.Locale;
+
+/**
+ * The metrics collected from a single run of a Cloudlet to VM mapping experiment,
+ * comparing the heuristic solution with the round robin mapping
+ * and with the exact mapping found by a {@link BranchAndBoundMappingHeuristic}.
+ *
+ * @param seed the seed the run used
+ * @param roundRobinCost the cost of the round robin mapping
+ * @param roundRobinFitness the fitness of the round robin mapping
+ * @param heuristicCost the cost of the best mapping found by the heuristic
+ * @param heuristicFitness the fitness of the best mapping found by the heuristic
+ * @param solveTime the time the heuristic took to find its mapping, in seconds,
+ *                  or just to look it up if {@code cacheHit} is true
+ * @param cacheHit true if the mapping was taken from a {@link MappingSolutionCache} instead of searched
+ * @param exactCost the cost of the best mapping found by the exact solver,
+ *                  which is the optimal cost if {@code exactOptimal} is true,
+ *                  or NaN if the instance was too large to run the exact solver
+ * @param exactOptimal true if the exact solver proved its mapping optimal before its node limit
+ */
+public record SimulationRunResult(
+	long seed,
+	double roundRobinCost, double roundRobinFitness,
+	double heuristicCost, double heuristicFitness,
+	double solveTime, boolean cacheHit,
+	double exactCost, boolean exactOptimal)
+{
+	/**
+	 * Gets the heuristic cost as a percentage of the round robin cost.
+	 */
+	public double getCostPercentOfRoundRobin() {
+		return heuristicCost * 100.0 / roundRobinCost;
+	}
+
+	/**
+	 * Gets how much the heuristic cost exceeds the exact cost (in PEs).
+	 * If the exact mapping is not {@link #exactOptimal() optimal}, the real gap may be larger.
+	 */
+	public double getOptimalityGap() {
+		return heuristicCost - exactCost;
+	}
+
+	/**
+	 * Gets the {@link #getOptimalityGap() optimality gap} as a percentage of the exact cost,
+	 * or of 1 PE if the exact cost is zero, so that perfectly balanced mappings don't make it infinite.
+	 */
+	public double getOptimalityGapPercent() {
+		return getOptimalityGap() * 100.0 / Math.max(exactCost, 1);
+	}
+
+	public static String getCsvHeader() {
+		return "seed,roundRobinCost,roundRobinFitness,heuristicCost,heuristicFitness,costPercentOfRoundRobin,solveTime,cacheHit," +
+			   "exactCost,exactOptimal,optimalityGap,optimalityGapPercent";
+	}
+
+	public String toCsvRow() {
+		return String.format(
+			Locale.ROOT, "%d,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s",
+			seed, roundRobinCost, roundRobinFitness, heuristicCost, heuristicFitness,
+			getCostPercentOfRoundRobin(), solveTime, cacheHit,
+			exactCost, exactOptimal, getOptimalityGap(), getOptimalityGapPercent());
+	}
+}
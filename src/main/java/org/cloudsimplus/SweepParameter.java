@@ -0,0 +1,27 @@
+package org.cloudsimplus;
+
+/**
+ * The parameters of a {@link HeuristicScenarioConfig} a {@link ParameterSweep} can vary.
+ */
+public enum SweepParameter {
+	HOSTS(true),
+	VMS(true),
+	CLOUDLETS(true),
+	INITIAL_TEMPERATURE(false),
+	COLD_TEMPERATURE(false),
+	COOLING_RATE(false),
+	NEIGHBORHOOD_SEARCHES(true);
+
+	private final boolean integer;
+
+	SweepParameter(final boolean integer) {
+		this.integer = integer;
+	}
+
+	/**
+	 * Checks if the parameter just accepts integer values.
+	 */
+	public boolean isInteger() {
+		return integer;
+	}
+}
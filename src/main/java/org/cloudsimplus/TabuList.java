@@ -0,0 +1,158 @@
+package org.cloudsimplus;
+
+import java.util.Arrays;
+
+/**
+ * The short-term memory of a {@link TabuSearchHeuristic}: the latest {@link #getTenure() tenure}
+ * (Cloudlet, VM) attributes of the moves made, meaning that the Cloudlet must not be moved back to that VM.
+ * The attributes are kept in a FIFO ring and counted into an open addressing hash table,
+ * so that adding an attribute (and forgetting the oldest one) and checking
+ * if a relocation is tabu take O(1) without allocating objects.
+ */
+public class TabuList {
+	private static final long EMPTY = -1;
+
+	private final int tenure;
+	/**
+	 * The attributes in the order they were added, where {@link #head} is the oldest one.
+	 */
+	private final long[] ring;
+	private int head;
+	private int size;
+
+	/**
+	 * Hash table with linear probing from each attribute to the number of times it is in the {@link #ring}.
+	 */
+	private final long[] keys;
+	private final int[] counts;
+	private final int mask;
+
+	/**
+	 * Creates a tabu list.
+	 *
+	 * @param tenure the number of attributes to remember
+	 */
+	public TabuList(final int tenure) {
+		if (tenure <= 0) {
+			throw new IllegalArgumentException("The tabu tenure must be greater than zero.");
+		}
+		this.tenure = tenure;
+		this.ring = new long[tenure];
+		// Keeps the table at most half full, so probe sequences are short
+		final int capacity = Integer.highestOneBit(tenure * 2 - 1) << 1;
+		this.keys = new long[capacity];
+		this.counts = new int[capacity];
+		this.mask = capacity - 1;
+		clear();
+	}
+
+	public int getTenure() {
+		return tenure;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Forgets all attributes.
+	 */
+	public void clear() {
+		Arrays.fill(keys, EMPTY);
+		Arrays.fill(counts, 0);
+		head = 0;
+		size = 0;
+	}
+
+	/**
+	 * Makes the relocation of a Cloudlet to a VM tabu,
+	 * forgetting the oldest attribute if the list is full.
+	 */
+	public void add(final int cloudletIndex, final int vmIndex) {
+		final long key = toKey(cloudletIndex, vmIndex);
+		if (size == tenure) {
+			decrement(ring[head]);
+			ring[head] = key;
+			head = (head + 1) % tenure;
+		} else {
+			ring[(head + size) % tenure] = key;
+			size++;
+		}
+
+		final int slot = find(key);
+		keys[slot] = key;
+		counts[slot]++;
+	}
+
+	/**
+	 * Checks if relocating a Cloudlet to a VM is tabu.
+	 */
+	public boolean isTabu(final int cloudletIndex, final int vmIndex) {
+		return keys[find(toKey(cloudletIndex, vmIndex))] != EMPTY;
+	}
+
+	/**
+	 * Checks if any relocation of a move is tabu.
+	 */
+	public boolean isTabu(final SimulatedAnnealingMove move) {
+		for (int i = 0; i < move.size(); i++) {
+			if (isTabu(move.getCloudlet(i), move.getTargetVm(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static long toKey(final int cloudletIndex, final int vmIndex) {
+		return ((long) cloudletIndex << 32) | (vmIndex & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Gets the slot of a key or the empty slot where it should be added.
+	 */
+	private int find(final long key) {
+		int slot = hash(key);
+		while (keys[slot] != EMPTY && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private int hash(final long key) {
+		// Fibonacci hashing spreads the consecutive indexes of Cloudlets and VMs
+		return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+	}
+
+	private void decrement(final long key) {
+		final int slot = find(key);
+		if (--counts[slot] == 0) {
+			remove(slot);
+		}
+	}
+
+	/**
+	 * Removes the key at a slot, shifting back the following keys of the probe sequence,
+	 * so that no lookup stops at the freed slot before reaching them.
+	 */
+	private void remove(int slot) {
+		int next = slot;
+		while (true) {
+			next = (next + 1) & mask;
+			if (keys[next] == EMPTY) {
+				break;
+			}
+
+			final int home = hash(keys[next]);
+			// Moves the key back if its home slot is not in the cyclic range (slot, next]
+			final boolean inRange = slot <= next ? slot < home && home <= next : slot < home || home <= next;
+			if (!inRange) {
+				keys[slot] = keys[next];
+				counts[slot] = counts[next];
+				slot = next;
+			}
+		}
+
+		keys[slot] = EMPTY;
+		counts[slot] = 0;
+	}
+}
@@ -0,0 +1,319 @@
+package org.cloudsimplus;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.heuristics.CloudletToVmMappingHeuristic;
+import org.cloudsimplus.heuristics.CloudletToVmMappingSolution;
+
+/**
+ * A <a href="https://en.wikipedia.org/wiki/Tabu_search">Tabu Search</a> heuristic to map Cloudlets to VMs.
+ * At each iteration, {@link #getSearchesByIteration()} candidate moves are generated by a {@link MoveGenerator}
+ * and scored by their incremental cost change, as the {@link SimulatedAnnealingHeuristic} does,
+ * but the search always moves to the best admissible candidate, even if it's worse than the current solution.
+ * To avoid cycling back to the mappings just left, moving a Cloudlet makes moving it back to its
+ * previous VM tabu for the next {@link #getTenure() tenure} relocations, which are kept in a {@link TabuList}.
+ * A tabu candidate is still admissible if it leads to a solution better than the best one so far (aspiration criterion).
+ * The search stops when the Cloudlets are perfectly balanced among VMs
+ * or when its {@link SearchBudget} is exhausted, which by default limits just the number of iterations.
+ *
+ * <p>It can be used by a {@link org.cloudbus.cloudsim.brokers.DatacenterBrokerHeuristic}
+ * through its {@code setHeuristic} method.</p>
+ */
+public class TabuSearchHeuristic implements CloudletToVmMappingHeuristic {
+	public static final int DEFAULT_TENURE = 20;
+	public static final int DEFAULT_SEARCHES_BY_ITERATION = 20;
+
+	private int tenure = DEFAULT_TENURE;
+	private TabuList tabuList;
+	private List<Cloudlet> cloudletList;
+	private List<Vm> vmList;
+	private SearchBudget budget = new SearchBudget().setMaxIterations(SimulatedAnnealingHeuristic.DEFAULT_MAX_ITERATIONS);
+	private int searchesByIteration = DEFAULT_SEARCHES_BY_ITERATION;
+	private CloudletToVmMappingIndex index;
+	private SimulatedAnnealingSolution bestSolution;
+	/**
+	 * The solution the search walks through, which is changed in place by each move
+	 * and is copied to {@link #bestSolution} only when its cost improves.
+	 */
+	private SimulatedAnnealingSolution currentSolution;
+	private SimulatedAnnealingSolution latestNeighbor;
+	private SimulatedAnnealingMove[] candidates = new SimulatedAnnealingMove[0];
+	private MoveGenerator moveGenerator = new AdaptiveMoveGenerator();
+	private InitialSolutionBuilder initialSolutionBuilder = new RandomInitialSolutionBuilder();
+	private SplittableRandom random = new SplittableRandom();
+	private long moves;
+	private long aspirations;
+
+	public int getTenure() {
+		return tenure;
+	}
+
+	/**
+	 * Sets the number of latest relocations that cannot be reverted.
+	 * A short tenure may let the search cycle, while a long one may forbid too many moves.
+	 */
+	public void setTenure(final int tenure) {
+		if (tenure <= 0) {
+			throw new IllegalArgumentException("The tabu tenure must be greater than zero.");
+		}
+		this.tenure = tenure;
+	}
+
+	public MoveGenerator getMoveGenerator() {
+		return moveGenerator;
+	}
+
+	/**
+	 * Sets the strategy to generate the candidate moves,
+	 * which must not be shared with other heuristics.
+	 * It's notified that a move was accepted when it's applied and improves the current solution.
+	 */
+	public void setMoveGenerator(final MoveGenerator moveGenerator) {
+		this.moveGenerator = moveGenerator;
+	}
+
+	public InitialSolutionBuilder getInitialSolutionBuilder() {
+		return initialSolutionBuilder;
+	}
+
+	/**
+	 * Sets the strategy to build the solution the search starts from.
+	 */
+	public void setInitialSolutionBuilder(final InitialSolutionBuilder initialSolutionBuilder) {
+		this.initialSolutionBuilder = initialSolutionBuilder;
+	}
+
+	@Override
+	public int getRandomValue(final int maxValue) {
+		return random.nextInt(maxValue);
+	}
+
+	/**
+	 * Sets the seed of the random number generator, making the search reproducible.
+	 */
+	public void setSeed(final long seed) {
+		this.random = new SplittableRandom(seed);
+	}
+
+	public SearchBudget getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Sets the limits of the search.
+	 * The budget is started again each time the heuristic {@link #solve() solves} the mapping.
+	 */
+	public void setBudget(final SearchBudget budget) {
+		this.budget = budget;
+	}
+
+	/**
+	 * Gets the index of the current Cloudlet and VM lists,
+	 * which is shared by all solutions created from them.
+	 */
+	public CloudletToVmMappingIndex getIndex() {
+		if (index == null) {
+			index = new CloudletToVmMappingIndex(this);
+		}
+		return index;
+	}
+
+	/**
+	 * Gets the number of moves applied by the last search.
+	 */
+	public long getMoves() {
+		return moves;
+	}
+
+	/**
+	 * Gets the number of tabu moves applied by the last search because they improved the best solution.
+	 */
+	public long getAspirations() {
+		return aspirations;
+	}
+
+	@Override
+	public boolean isToStopSearch() {
+		return budget.isExhausted() || bestSolution.computeCostDiffOfAllVms() == 0;
+	}
+
+	@Override
+	public SimulatedAnnealingSolution getInitialSolution() {
+		final SimulatedAnnealingSolution initialSolution = new SimulatedAnnealingSolution(this, getIndex());
+		initialSolutionBuilder.build(initialSolution, random);
+		return initialSolution;
+	}
+
+	@Override
+	public CloudletToVmMappingSolution getNeighborSolution() {
+		return latestNeighbor;
+	}
+
+	/**
+	 * Creates a copy of a given solution with a move from the {@link #getMoveGenerator() move generator} applied,
+	 * regardless of the tabu list.
+	 * The {@link #solve()} method doesn't use it, since it applies moves in place.
+	 */
+	@Override
+	public CloudletToVmMappingSolution createNeighbor(final CloudletToVmMappingSolution source) {
+		final SimulatedAnnealingSolution neighbor = new SimulatedAnnealingSolution(source);
+		final SimulatedAnnealingMove move = new SimulatedAnnealingMove();
+		moveGenerator.generate(neighbor, random, move);
+		neighbor.applyMove(move);
+		latestNeighbor = neighbor;
+		return neighbor;
+	}
+
+	/**
+	 * Tabu search has no probabilistic acceptance rule,
+	 * so this is the rate of iterations that found an admissible move.
+	 */
+	@Override
+	public double getAcceptanceProbability() {
+		return budget.getIterations() == 0 ? 0 : moves / (double) budget.getIterations();
+	}
+
+	@Override
+	public CloudletToVmMappingSolution solve() {
+		budget.start();
+		moves = 0;
+		aspirations = 0;
+		if (tabuList == null || tabuList.getTenure() != tenure) {
+			tabuList = new TabuList(tenure);
+		} else {
+			tabuList.clear();
+		}
+
+		currentSolution = getInitialSolution();
+		bestSolution = new SimulatedAnnealingSolution(currentSolution);
+		latestNeighbor = currentSolution;
+		createCandidates();
+		while (!isToStopSearch()) {
+			budget.addIterations(1);
+			final SimulatedAnnealingMove move = searchNeighborhood();
+			budget.addEvaluations(candidates.length);
+			if (move != null) {
+				applyMove(move);
+			}
+		}
+		budget.stop();
+		return bestSolution;
+	}
+
+	private void createCandidates() {
+		if (candidates.length != searchesByIteration) {
+			candidates = new SimulatedAnnealingMove[searchesByIteration];
+			for (int i = 0; i < searchesByIteration; i++) {
+				candidates[i] = new SimulatedAnnealingMove();
+			}
+		}
+	}
+
+	/**
+	 * Generates a batch of candidate moves from the current solution,
+	 * scores them by their cost change and returns the best admissible one.
+	 *
+	 * @return the best admissible move or null if all candidates are empty or tabu
+	 */
+	private SimulatedAnnealingMove searchNeighborhood() {
+		final double aspirationDelta = bestSolution.getCost() - currentSolution.getCost();
+		SimulatedAnnealingMove best = null;
+		for (final SimulatedAnnealingMove candidate : candidates) {
+			moveGenerator.generate(currentSolution, random, candidate);
+			if (candidate.isEmpty()) {
+				continue;
+			}
+
+			final double delta = currentSolution.computeCostDelta(candidate);
+			if ((best == null || delta < best.getCostDelta()) && (delta < aspirationDelta || !tabuList.isTabu(candidate))) {
+				best = candidate;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Applies a move to the current solution, making its reversal tabu.
+	 */
+	private void applyMove(final SimulatedAnnealingMove move) {
+		if (tabuList.isTabu(move)) {
+			aspirations++;
+		}
+
+		for (int i = 0; i < move.size(); i++) {
+			final int cloudletIndex = move.getCloudlet(i);
+			final int sourceVmIndex = currentSolution.getVmIndex(cloudletIndex);
+			if (sourceVmIndex != SimulatedAnnealingSolution.UNBOUND) {
+				tabuList.add(cloudletIndex, sourceVmIndex);
+			}
+		}
+
+		moveGenerator.notifyMoveEvaluated(move, move.getCostDelta() < 0);
+		currentSolution.applyMove(move);
+		currentSolution.commitMove();
+		moves++;
+		updateBestSolution();
+	}
+
+	/**
+	 * Takes a snapshot of the current solution if it's better than the best one so far.
+	 */
+	private void updateBestSolution() {
+		if (currentSolution.compareTo(bestSolution) > 0) {
+			bestSolution = new SimulatedAnnealingSolution(currentSolution);
+			budget.notifyImprovement();
+		}
+	}
+
+	@Override
+	public CloudletToVmMappingSolution getBestSolutionSoFar() {
+		return bestSolution;
+	}
+
+	@Override
+	public int getSearchesByIteration() {
+		return searchesByIteration;
+	}
+
+	@Override
+	public void setSearchesByIteration(final int searchesByIteration) {
+		if (searchesByIteration <= 0) {
+			throw new IllegalArgumentException("The number of searches by iteration must be greater than zero.");
+		}
+		this.searchesByIteration = searchesByIteration;
+	}
+
+	/**
+	 * Gets the wall-clock time the last search took, in seconds.
+	 * The number of iterations and evaluations are given by the {@link #getBudget() budget}.
+	 */
+	@Override
+	public double getSolveTime() {
+		return budget.getElapsedSeconds();
+	}
+
+	@Override
+	public List<Cloudlet> getCloudletList() {
+		return cloudletList;
+	}
+
+	@Override
+	public List<Vm> getVmList() {
+		return vmList;
+	}
+
+	@Override
+	public void setCloudletList(final List<Cloudlet> cloudletList) {
+		this.cloudletList = cloudletList;
+		this.index = null;
+	}
+
+	@Override
+	public void setVmList(final List<Vm> vmList) {
+		this.vmList = vmList;
+		this.index = null;
+	}
+}
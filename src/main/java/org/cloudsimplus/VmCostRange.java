@@ -0,0 +1,104 @@
+package org.cloudsimplus;
+
+import java.util.Arrays;
+
+/**
+ * A segment tree over VM indexes that keeps the minimum and maximum cost
+ * (or any other value, such as the load) of the VMs currently in the range.
+ * Updating the cost of a single VM takes O(log V),
+ * while the min/max queries are O(1) and finding the VM with such a cost is O(log V).
+ * VMs without Cloudlets are kept out of the range by {@link #clear(int)}.
+ */
+final class VmCostRange {
+	private final int leaves;
+	private final double[] min;
+	private final double[] max;
+
+	VmCostRange(final int size) {
+		int leaves = 1;
+		while (leaves < size) {
+			leaves <<= 1;
+		}
+		this.leaves = leaves;
+		this.min = new double[2 * leaves];
+		this.max = new double[2 * leaves];
+		Arrays.fill(min, Double.POSITIVE_INFINITY);
+		Arrays.fill(max, Double.NEGATIVE_INFINITY);
+	}
+
+	VmCostRange(final VmCostRange source) {
+		this.leaves = source.leaves;
+		this.min = source.min.clone();
+		this.max = source.max.clone();
+	}
+
+	/**
+	 * Sets the cost of a VM, including it into the range.
+	 */
+	void set(final int vmIndex, final double cost) {
+		update(vmIndex, cost, cost);
+	}
+
+	/**
+	 * Removes a VM from the range (when it has no Cloudlet anymore).
+	 */
+	void clear(final int vmIndex) {
+		update(vmIndex, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
+	}
+
+	private void update(final int vmIndex, final double minValue, final double maxValue) {
+		int node = vmIndex + leaves;
+		min[node] = minValue;
+		max[node] = maxValue;
+		for (node >>= 1; node > 0; node >>= 1) {
+			min[node] = Math.min(min[2 * node], min[2 * node + 1]);
+			max[node] = Math.max(max[2 * node], max[2 * node + 1]);
+		}
+	}
+
+	boolean isEmpty() {
+		return max[1] == Double.NEGATIVE_INFINITY;
+	}
+
+	double getMin() {
+		return min[1];
+	}
+
+	double getMax() {
+		return max[1];
+	}
+
+	/**
+	 * Gets the index of a VM with the minimum cost.
+	 *
+	 * @return the VM index or -1 if the range is empty
+	 */
+	int getMinIndex() {
+		if (isEmpty()) {
+			return -1;
+		}
+
+		int node = 1;
+		while (node < leaves) {
+			node = min[2 * node] == min[node] ? 2 * node : 2 * node + 1;
+		}
+		return node - leaves;
+	}
+
+	/**
+	 * Gets the index of a VM with the maximum cost.
+	 *
+	 * @return the VM index or -1 if the range is empty
+	 */
+	int getMaxIndex() {
+		if (isEmpty()) {
+			return -1;
+		}
+
+		int node = 1;
+		while (node < leaves) {
+			node = max[2 * node] == max[node] ? 2 * node : 2 * node + 1;
+		}
+		return node - leaves;
+	}
+}
@@ -0,0 +1,236 @@
+package org.cloudsimplus;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * A canonical signature of the Cloudlets and VMs of a {@link CloudletToVmMappingIndex}:
+ * the sorted multiset of VM shapes (PEs, MIPS and baseline load) and
+ * the sorted multiset of Cloudlet shapes (PEs and length).
+ * Two workloads with the same signature have the same mappings and costs,
+ * regardless of the order and ids of their Cloudlets and VMs,
+ * so a mapping found for one can be reused by the other.
+ *
+ * <p>A mapping is made independent of the order of the Cloudlets and VMs by
+ * {@link #toCanonicalMapping(CloudletToVmArrayMappingSolution) converting} it to the
+ * canonical order of the signature, where Cloudlets and VMs are sorted by their shapes.
+ * Cloudlets (or VMs) with the same shape are interchangeable, so any order among them gives
+ * a mapping with the same cost.</p>
+ */
+public final class WorkloadSignature {
+	/**
+	 * The number of values in the shape of each VM and Cloudlet.
+	 */
+	static final int VM_SHAPE_SIZE = 4;
+	static final int CLOUDLET_SHAPE_SIZE = 2;
+
+	private final long[] vmShapes;
+	private final long[] cloudletShapes;
+	/**
+	 * The index (in the {@link CloudletToVmMappingIndex}) of the VM and Cloudlet at each canonical position,
+	 * which are not part of the signature.
+	 */
+	private final int[] vmOrder;
+	private final int[] cloudletOrder;
+	private final long hash;
+
+	/**
+	 * Creates the signature of the Cloudlets and VMs of an index.
+	 * It takes O(C log C + V log V).
+	 */
+	public WorkloadSignature(final CloudletToVmMappingIndex index) {
+		final long[] vmValues = new long[index.getVmsNumber() * VM_SHAPE_SIZE];
+		for (int vm = 0; vm < index.getVmsNumber(); vm++) {
+			final int offset = vm * VM_SHAPE_SIZE;
+			vmValues[offset] = index.getVmPes(vm);
+			// The bits of non-negative doubles sort as the doubles do
+			vmValues[offset + 1] = Double.doubleToLongBits(index.getVm(vm).getMips());
+			vmValues[offset + 2] = index.getVmBaselinePes(vm);
+			vmValues[offset + 3] = index.getVmBaselineCloudlets(vm);
+		}
+
+		final long[] cloudletValues = new long[index.getCloudletsNumber() * CLOUDLET_SHAPE_SIZE];
+		for (int cloudlet = 0; cloudlet < index.getCloudletsNumber(); cloudlet++) {
+			cloudletValues[cloudlet * CLOUDLET_SHAPE_SIZE] = index.getCloudletPes(cloudlet);
+			cloudletValues[cloudlet * CLOUDLET_SHAPE_SIZE + 1] = index.getCloudletLength(cloudlet);
+		}
+
+		this.vmOrder = sortShapes(vmValues, VM_SHAPE_SIZE);
+		this.vmShapes = reorder(vmValues, vmOrder, VM_SHAPE_SIZE);
+		this.cloudletOrder = sortShapes(cloudletValues, CLOUDLET_SHAPE_SIZE);
+		this.cloudletShapes = reorder(cloudletValues, cloudletOrder, CLOUDLET_SHAPE_SIZE);
+		this.hash = computeHash(vmShapes, cloudletShapes);
+	}
+
+	/**
+	 * Creates a signature from shapes already in canonical order, such as the ones read from a file.
+	 * The order of the VMs and Cloudlets is the canonical one.
+	 */
+	WorkloadSignature(final long[] vmShapes, final long[] cloudletShapes) {
+		this.vmShapes = vmShapes;
+		this.cloudletShapes = cloudletShapes;
+		this.vmOrder = IntStream.range(0, vmShapes.length / VM_SHAPE_SIZE).toArray();
+		this.cloudletOrder = IntStream.range(0, cloudletShapes.length / CLOUDLET_SHAPE_SIZE).toArray();
+		this.hash = computeHash(vmShapes, cloudletShapes);
+	}
+
+	/**
+	 * Sorts the positions of fixed-size tuples of values in lexicographic order.
+	 */
+	private static int[] sortShapes(final long[] values, final int shapeSize) {
+		final Comparator<Integer> comparator = (position0, position1) ->
+			Arrays.compare(values, position0 * shapeSize, (position0 + 1) * shapeSize,
+				values, position1 * shapeSize, (position1 + 1) * shapeSize);
+		return IntStream.range(0, values.length / shapeSize)
+			.boxed()
+			.sorted(comparator.thenComparingInt(position -> position))
+			.mapToInt(Integer::intValue)
+			.toArray();
+	}
+
+	private static long[] reorder(final long[] values, final int[] order, final int shapeSize) {
+		final long[] sorted = new long[values.length];
+		for (int i = 0; i < order.length; i++) {
+			System.arraycopy(values, order[i] * shapeSize, sorted, i * shapeSize, shapeSize);
+		}
+		return sorted;
+	}
+
+	private static long computeHash(final long[] vmShapes, final long[] cloudletShapes) {
+		// 64-bit FNV-1a over all values, so that file names rarely collide
+		long hash = 0xCBF29CE484222325L;
+		for (final long[] values : new long[][]{vmShapes, cloudletShapes}) {
+			hash = (hash ^ values.length) * 0x100000001B3L;
+			for (final long value : values) {
+				hash = (hash ^ value) * 0x100000001B3L;
+			}
+		}
+		return hash;
+	}
+
+	public int getVmsNumber() {
+		return vmOrder.length;
+	}
+
+	public int getCloudletsNumber() {
+		return cloudletOrder.length;
+	}
+
+	/**
+	 * Gets a 64-bit hash of the signature, such as to name a file.
+	 */
+	public long getLongHash() {
+		return hash;
+	}
+
+	long[] getVmShapes() {
+		return vmShapes;
+	}
+
+	long[] getCloudletShapes() {
+		return cloudletShapes;
+	}
+
+	/**
+	 * Checks if the VMs of another signature have the same shapes as the VMs of this one.
+	 */
+	public boolean hasSameVms(final WorkloadSignature other) {
+		return Arrays.equals(vmShapes, other.vmShapes);
+	}
+
+	/**
+	 * Compares the Cloudlets of another signature with the ones of this signature.
+	 *
+	 * @return the number of Cloudlets with the same shape in both signatures
+	 *         divided by the number of Cloudlets of the larger one, in [0, 1]
+	 */
+	public double getCloudletSimilarity(final WorkloadSignature other) {
+		final int size = Math.max(getCloudletsNumber(), other.getCloudletsNumber());
+		return size == 0 ? 1 : matchCloudlets(other, new int[getCloudletsNumber()]) / (double) size;
+	}
+
+	/**
+	 * Matches each Cloudlet of this signature to a distinct Cloudlet with the same shape in another one,
+	 * merging both sorted lists in O(C).
+	 *
+	 * @param matches an array to store, for each canonical position of this signature,
+	 *                the matched canonical position of the other signature or -1
+	 * @return the number of matched Cloudlets
+	 */
+	int matchCloudlets(final WorkloadSignature other, final int[] matches) {
+		Arrays.fill(matches, -1);
+		int matched = 0;
+		int i = 0;
+		int j = 0;
+		while (i < getCloudletsNumber() && j < other.getCloudletsNumber()) {
+			final int comparison = Arrays.compare(
+				cloudletShapes, i * CLOUDLET_SHAPE_SIZE, (i + 1) * CLOUDLET_SHAPE_SIZE,
+				other.cloudletShapes, j * CLOUDLET_SHAPE_SIZE, (j + 1) * CLOUDLET_SHAPE_SIZE);
+			if (comparison == 0) {
+				matches[i++] = j++;
+				matched++;
+			} else if (comparison < 0) {
+				i++;
+			} else {
+				j++;
+			}
+		}
+		return matched;
+	}
+
+	/**
+	 * Gets the index (in the {@link CloudletToVmMappingIndex} this signature was created from)
+	 * of the VM at a canonical position.
+	 */
+	public int getVmIndex(final int canonicalPosition) {
+		return vmOrder[canonicalPosition];
+	}
+
+	/**
+	 * Gets the index (in the {@link CloudletToVmMappingIndex} this signature was created from)
+	 * of the Cloudlet at a canonical position.
+	 */
+	public int getCloudletIndex(final int canonicalPosition) {
+		return cloudletOrder[canonicalPosition];
+	}
+
+	/**
+	 * Converts a mapping of the Cloudlets and VMs this signature was created from
+	 * to the canonical order.
+	 *
+	 * @return the canonical position of the VM of each Cloudlet, in canonical order,
+	 *         or {@link CloudletToVmArrayMappingSolution#UNBOUND} for unbound Cloudlets
+	 */
+	public int[] toCanonicalMapping(final CloudletToVmArrayMappingSolution solution) {
+		final int[] vmPositions = new int[getVmsNumber()];
+		for (int position = 0; position < vmPositions.length; position++) {
+			vmPositions[vmOrder[position]] = position;
+		}
+
+		final int[] mapping = new int[getCloudletsNumber()];
+		for (int position = 0; position < mapping.length; position++) {
+			final int vm = solution.getVmIndex(cloudletOrder[position]);
+			mapping[position] = vm == CloudletToVmArrayMappingSolution.UNBOUND ? vm : vmPositions[vm];
+		}
+		return mapping;
+	}
+
+	@Override
+	public boolean equals(final Object other) {
+		return other instanceof WorkloadSignature signature
+			&& hash == signature.hash
+			&& Arrays.equals(vmShapes, signature.vmShapes)
+			&& Arrays.equals(cloudletShapes, signature.cloudletShapes);
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(hash);
+	}
+
+	@Override
+	public String toString() {
+		return "WorkloadSignature[%d VMs, %d Cloudlets, %016x]".formatted(getVmsNumber(), getCloudletsNumber(), hash);
+	}
+}
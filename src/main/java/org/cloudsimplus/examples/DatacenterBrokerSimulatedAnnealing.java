@@ -27,14 +27,26 @@ import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.BestFitInitialSolutionBuilder;
+import org.cloudsimplus.CloudletToVmMappingIndex;
+import org.cloudsimplus.SearchBudget;
+import org.cloudsimplus.SimulatedAnnealingHeuristic;
 
-import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
- * A implementation of {@link DatacenterBroker} that uses a Best Fit
- * mapping between submitted cloudlets and Vm's, trying to place a Cloudlet
- * at the best suitable Vm which can be found (according to the required
- * Cloudlet's PEs).
+ * A implementation of {@link DatacenterBroker} that maps Cloudlets to VMs online,
+ * by a {@link SimulatedAnnealingHeuristic} that keeps its state across Cloudlet submissions.
+ * Each time new Cloudlets arrive, they are inserted into the current mapping
+ * (by the best fit rule of the {@link #defaultVmMapper(Cloudlet)}) and a short re-anneal,
+ * bounded by a {@link SearchBudget}, improves their placement.
+ * The Cloudlets mapped before and still running are not moved:
+ * they make up the baseline load of each VM, which the heuristic takes into account.
+ * This way, dynamic Cloudlet arrivals get a SA-quality placement without
+ * solving the whole mapping again for each new batch.
  * The Broker then places the submitted Vm's at the first Datacenter found.
  * If there isn't capacity in that one, it will try the other ones.
  *
@@ -42,14 +54,111 @@ import java.util.Comparator;
  * @since CloudSim Plus 4.3.8
  */
 public class DatacenterBrokerSimulatedAnnealing extends DatacenterBrokerSimple {
+    /**
+     * Default limits of each re-anneal, which bound the work the broker does
+     * to map a batch of arriving Cloudlets.
+     * They count iterations and cost evaluations instead of time, since the broker runs inside
+     * the simulation and a time limit would make the simulated results depend on the host speed.
+     * A time limit can still be set as a safety cap on the {@link SimulatedAnnealingHeuristic#getBudget() budget}.
+     */
+    public static final long DEFAULT_MAX_ITERATIONS = 2_000;
+    public static final long DEFAULT_MAX_EVALUATIONS = 20_000;
+
+    private final SimulatedAnnealingHeuristic heuristic;
+
+    /**
+     * The VMs selected by the latest re-anneal for the Cloudlets not dispatched yet.
+     */
+    private final Map<Cloudlet, Vm> plannedVms = new HashMap<>();
+
+    /**
+     * The Cloudlets dispatched to VMs that have not finished yet.
+     */
+    private final Map<Cloudlet, Vm> runningCloudlets = new HashMap<>();
+
+    /**
+     * The load of the running Cloudlets on each VM,
+     * which is the baseline load for the next re-anneal.
+     */
+    private final Map<Vm, VmLoad> vmLoads = new HashMap<>();
+
+    /**
+     * The created VMs indexed by their expected free PEs, for the best fit mapping.
+     * Since the list of created VMs only grows, just the VMs after the ones
+     * already indexed are added.
+     */
+    private final VmFreePesIndex vmFreePesIndex = new VmFreePesIndex();
+    private int indexedCreatedVms;
 
     public DatacenterBrokerSimulatedAnnealing(CloudSim simulation) {
+        this(simulation, createDefaultHeuristic());
+    }
+
+    /**
+     * Creates a broker that maps Cloudlets by a given heuristic,
+     * which must not be shared with other brokers.
+     */
+    public DatacenterBrokerSimulatedAnnealing(CloudSim simulation, SimulatedAnnealingHeuristic heuristic) {
         super(simulation);
+        this.heuristic = heuristic;
+        setVmMapper(this::SimulatedAnnealingVmMapper);
+    }
+
+    private static SimulatedAnnealingHeuristic createDefaultHeuristic() {
+        final SimulatedAnnealingHeuristic heuristic = new SimulatedAnnealingHeuristic();
+        heuristic.setInitialSolutionBuilder(new BestFitInitialSolutionBuilder());
+        heuristic.setBudget(new SearchBudget().setMaxIterations(DEFAULT_MAX_ITERATIONS).setMaxEvaluations(DEFAULT_MAX_EVALUATIONS));
+        return heuristic;
+    }
+
+    public SimulatedAnnealingHeuristic getHeuristic() {
+        return heuristic;
+    }
+
+    /**
+     * Maps the Cloudlets that arrived since the last call before the waiting Cloudlets
+     * are sent to the Datacenters.
+     */
+    @Override
+    protected void requestDatacentersToCreateWaitingCloudlets() {
+        mapArrivedCloudlets();
+        super.requestDatacentersToCreateWaitingCloudlets();
+    }
+
+    /**
+     * Re-anneals the mapping of the Cloudlets that arrived and were not mapped yet,
+     * considering the Cloudlets already running on each VM.
+     */
+    private void mapArrivedCloudlets() {
+        final List<Cloudlet> arrivedCloudlets = getCloudletWaitingList()
+                .stream()
+                .filter(cloudlet -> !cloudlet.isBoundToVm() && !plannedVms.containsKey(cloudlet))
+                .collect(Collectors.toList());
+        final List<Vm> vms = getVmExecList();
+        if (arrivedCloudlets.isEmpty() || vms.isEmpty()) {
+            return;
+        }
+
+        final long[] baselinePes = new long[vms.size()];
+        final int[] baselineCloudlets = new int[vms.size()];
+        for (int i = 0; i < vms.size(); i++) {
+            final VmLoad load = vmLoads.get(vms.get(i));
+            if (load != null) {
+                baselinePes[i] = load.pes;
+                baselineCloudlets[i] = load.cloudlets;
+            }
+        }
+
+        heuristic.setIndex(new CloudletToVmMappingIndex(arrivedCloudlets, vms, baselinePes, baselineCloudlets));
+        plannedVms.putAll(heuristic.solve().getResult());
+        LOGGER.debug("{}: {}: {} arrived Cloudlets mapped by simulated annealing in {} iterations ({} ms).",
+                getSimulation().clockStr(), getName(), arrivedCloudlets.size(),
+                heuristic.getBudget().getIterations(), heuristic.getBudget().getElapsedNanos() / 1_000_000);
     }
 
     /**
      * Selects the VM with the lowest number of PEs that is able to run a given
-     * Cloudlet.
+     * Cloudlet, by a {@link VmFreePesIndex} lookup that takes O(log V).
      * In case the algorithm can't find such a VM, it uses the
      * default DatacenterBroker VM mapper as a fallback.
      *
@@ -63,11 +172,8 @@ public class DatacenterBrokerSimulatedAnnealing extends DatacenterBrokerSimple {
             return cloudlet.getVm();
         }
 
-        final Vm mappedVm = getVmCreatedList()
-                .stream()
-                .filter(vm -> vm.getExpectedFreePesNumber() >= cloudlet.getNumberOfPes())
-                .min(Comparator.comparingLong(Vm::getExpectedFreePesNumber))
-                .orElse(Vm.NULL);
+        indexCreatedVms();
+        final Vm mappedVm = vmFreePesIndex.findBestFit(cloudlet.getNumberOfPes());
 
         if (Vm.NULL.equals(mappedVm)) {
             LOGGER.warn("{}: {}: {} (PEs: {}) couldn't be mapped to any suitable VM.",
@@ -81,7 +187,63 @@ public class DatacenterBrokerSimulatedAnnealing extends DatacenterBrokerSimple {
         return mappedVm;
     }
 
+    /**
+     * Adds the VMs created since the last call to the free PEs index.
+     */
+    private void indexCreatedVms() {
+        final List<Vm> createdVms = getVmCreatedList();
+        for (; indexedCreatedVms < createdVms.size(); indexedCreatedVms++) {
+            final Vm vm = createdVms.get(indexedCreatedVms);
+            vmFreePesIndex.add(vm, vm.getExpectedFreePesNumber());
+        }
+    }
+
+    /**
+     * Selects the VM planned for a Cloudlet by the latest re-anneal.
+     * If the Cloudlet wasn't planned (such as when it's already bound to a VM)
+     * or its VM is not running anymore, the {@link #defaultVmMapper(Cloudlet)} is used.
+     *
+     * @param cloudlet the Cloudlet to find a VM to run it
+     * @return the VM selected for the Cloudlet or {@link Vm#NULL} if no suitable VM
+     *         was found
+     */
     public Vm SimulatedAnnealingVmMapper(final Cloudlet cloudlet) {
-        return null;
+        final Vm plannedVm = plannedVms.remove(cloudlet);
+        final Vm mappedVm = plannedVm == null || !plannedVm.isCreated() || plannedVm.isFailed()
+                ? defaultVmMapper(cloudlet)
+                : plannedVm;
+
+        if (mappedVm.isCreated() && runningCloudlets.putIfAbsent(cloudlet, mappedVm) == null) {
+            indexCreatedVms();
+            vmFreePesIndex.update(mappedVm, -cloudlet.getNumberOfPes());
+            vmLoads.computeIfAbsent(mappedVm, vm -> new VmLoad()).add(cloudlet, 1);
+            cloudlet.addOnFinishListener(info -> releaseVmLoad(info.getCloudlet()));
+        }
+
+        return mappedVm;
+    }
+
+    /**
+     * Removes a finished Cloudlet from the load of its VM and frees its PEs.
+     */
+    private void releaseVmLoad(final Cloudlet cloudlet) {
+        final Vm vm = runningCloudlets.remove(cloudlet);
+        if (vm != null) {
+            vmLoads.get(vm).add(cloudlet, -1);
+            vmFreePesIndex.update(vm, cloudlet.getNumberOfPes());
+        }
+    }
+
+    /**
+     * The PEs requested by the running Cloudlets of a VM and their number.
+     */
+    private static final class VmLoad {
+        private long pes;
+        private int cloudlets;
+
+        private void add(final Cloudlet cloudlet, final int sign) {
+            pes += sign * cloudlet.getNumberOfPes();
+            cloudlets += sign;
+        }
     }
 }
@@ -0,0 +1,128 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.examples;
+
+import org.cloudbus.cloudsim.vms.Vm;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An index of VMs by their expected number of free PEs,
+ * where the VMs with the same number of free PEs are kept in a bucket of a tree.
+ * It finds the VM with the fewest free PEs that can still run a Cloudlet
+ * (the best fit) and updates the free PEs of a VM in O(log V),
+ * instead of scanning all VMs for each Cloudlet.
+ * The VMs of a bucket are kept in the order they were indexed or last updated.
+ */
+public final class VmFreePesIndex {
+    private final TreeMap<Long, Set<Vm>> vmsByFreePes = new TreeMap<>();
+    private final Map<Vm, Long> freePesByVm = new HashMap<>();
+
+    /**
+     * Adds a VM to the index.
+     *
+     * @param vm the VM to add
+     * @param freePes the number of free PEs the VM is expected to have
+     */
+    public void add(final Vm vm, final long freePes) {
+        if (freePesByVm.putIfAbsent(vm, freePes) != null) {
+            throw new IllegalArgumentException(vm + " is already indexed.");
+        }
+        vmsByFreePes.computeIfAbsent(freePes, pes -> new LinkedHashSet<>()).add(vm);
+    }
+
+    public boolean contains(final Vm vm) {
+        return freePesByVm.containsKey(vm);
+    }
+
+    /**
+     * Removes a VM from the index.
+     *
+     * @return true if the VM was indexed, false otherwise
+     */
+    public boolean remove(final Vm vm) {
+        final Long freePes = freePesByVm.remove(vm);
+        if (freePes == null) {
+            return false;
+        }
+
+        removeFromBucket(vm, freePes);
+        return true;
+    }
+
+    private void removeFromBucket(final Vm vm, final long freePes) {
+        final Set<Vm> bucket = vmsByFreePes.get(freePes);
+        bucket.remove(vm);
+        if (bucket.isEmpty()) {
+            vmsByFreePes.remove(freePes);
+        }
+    }
+
+    /**
+     * Changes the number of free PEs of an indexed VM,
+     * such as when a Cloudlet is bound to it (negative delta) or finishes (positive delta).
+     *
+     * @param vm the VM to update
+     * @param delta the number of PEs to add to the VM free PEs
+     * @throws IllegalArgumentException when the VM is not indexed
+     */
+    public void update(final Vm vm, final long delta) {
+        final long freePes = getFreePes(vm);
+        removeFromBucket(vm, freePes);
+        freePesByVm.put(vm, freePes + delta);
+        vmsByFreePes.computeIfAbsent(freePes + delta, pes -> new LinkedHashSet<>()).add(vm);
+    }
+
+    /**
+     * Gets the number of free PEs an indexed VM is expected to have.
+     *
+     * @throws IllegalArgumentException when the VM is not indexed
+     */
+    public long getFreePes(final Vm vm) {
+        final Long freePes = freePesByVm.get(vm);
+        if (freePes == null) {
+            throw new IllegalArgumentException(vm + " is not indexed.");
+        }
+        return freePes;
+    }
+
+    /**
+     * Finds the VM with the fewest free PEs that has at least a given number of free PEs.
+     *
+     * @param pes the number of PEs required
+     * @return the VM found or {@link Vm#NULL} if no VM has enough free PEs
+     */
+    public Vm findBestFit(final long pes) {
+        final Map.Entry<Long, Set<Vm>> entry = vmsByFreePes.ceilingEntry(pes);
+        return entry == null ? Vm.NULL : entry.getValue().iterator().next();
+    }
+
+    public int size() {
+        return freePesByVm.size();
+    }
+}
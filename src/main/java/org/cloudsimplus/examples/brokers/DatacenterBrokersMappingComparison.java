@@ -50,10 +50,16 @@ import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.vms.VmSimple;
+import org.cloudsimplus.CoolingSchedule;
+import org.cloudsimplus.GeometricCoolingSchedule;
+import org.cloudsimplus.SearchBudget;
+import org.cloudsimplus.SimulatedAnnealingHeuristic;
+import org.cloudsimplus.TabuSearchHeuristic;
 import org.cloudsimplus.builders.tables.CloudletsTableBuilder;
 import org.cloudsimplus.heuristics.CloudletToVmMappingHeuristic;
 import org.cloudsimplus.heuristics.CloudletToVmMappingSimulatedAnnealing;
 import org.cloudsimplus.heuristics.CloudletToVmMappingSolution;
+import org.cloudsimplus.heuristics.Heuristic;
 import org.cloudsimplus.heuristics.HeuristicSolution;
 import org.cloudsimplus.util.Log;
 
@@ -78,7 +84,9 @@ import java.util.Map;
  * with the {@link DatacenterBrokerHeuristic} class.</p>
  *
  * <p>A comparison of cloudlet-VM mapping is done among the best fit approach,
- * heuristic approach and round robin mapping.</p>
+ * heuristic approach and round robin mapping.
+ * The {@link SimulatedAnnealingHeuristic} and the {@link TabuSearchHeuristic}
+ * are also compared, given the same {@link SearchBudget}.</p>
  *
  * @author Humaira Abdul Salam
  * @author Manoel Campos da Silva Filho
@@ -93,6 +101,18 @@ public class DatacenterBrokersMappingComparison {
     public static final double SA_COOLING_RATE = 0.003;
     public static final int    SA_NUMBER_OF_NEIGHBORHOOD_SEARCHES = 50;
 
+    /**
+     * Tabu Search (TS) parameters.
+     */
+    public static final int TS_TENURE = 20;
+
+    /**
+     * The stopping budget given to each of the {@link SimulatedAnnealingHeuristic} and {@link TabuSearchHeuristic},
+     * so that they can be compared for the same number of scored neighbors.
+     * The SA cooling is slowed down so that it doesn't get cold before the budget is exhausted.
+     */
+    private static final SearchBudget HEURISTICS_BUDGET = new SearchBudget().setMaxEvaluations(500_000);
+
     private static final int HOSTS_TO_CREATE = 100;
     private static final int VMS_TO_CREATE = 50;
     private static final int CLOUDLETS_TO_CREATE = 100;
@@ -129,6 +149,19 @@ public class DatacenterBrokersMappingComparison {
         final DatacenterBroker broker2 = new DatacenterBrokerSimple(simulation2);
         new DatacenterBrokersMappingComparison(broker2, random2, verbose);
 
+        // Simulated Annealing and Tabu Search with the same budget
+        final CloudSim simulation3 = new CloudSim();
+        final UniformDistr random3 = new UniformDistr(0, 1, seed);
+        final DatacenterBrokerHeuristic broker3 = new DatacenterBrokerHeuristic(simulation3);
+        broker3.setHeuristic(createBudgetedSimulatedAnnealingHeuristic(seed));
+        new DatacenterBrokersMappingComparison(broker3, random3, verbose);
+
+        final CloudSim simulation4 = new CloudSim();
+        final UniformDistr random4 = new UniformDistr(0, 1, seed);
+        final DatacenterBrokerHeuristic broker4 = new DatacenterBrokerHeuristic(simulation4);
+        broker4.setHeuristic(createTabuSearchHeuristic(seed));
+        new DatacenterBrokersMappingComparison(broker4, random4, verbose);
+
         System.out.println("Comparison finished!");
     }
 
@@ -175,6 +208,33 @@ public class DatacenterBrokersMappingComparison {
         return heuristic;
     }
 
+    private static SimulatedAnnealingHeuristic createBudgetedSimulatedAnnealingHeuristic(final long seed) {
+        final SimulatedAnnealingHeuristic heuristic = new SimulatedAnnealingHeuristic(createBudgetedCoolingSchedule());
+        heuristic.setSeed(seed);
+        heuristic.setSearchesByIteration(SA_NUMBER_OF_NEIGHBORHOOD_SEARCHES);
+        heuristic.setBudget(new SearchBudget(HEURISTICS_BUDGET));
+        return heuristic;
+    }
+
+    /**
+     * Creates a geometric cooling schedule that gets cold just after the SA exhausts the {@link #HEURISTICS_BUDGET},
+     * so that the budget is what stops both the SA and the Tabu Search.
+     */
+    private static CoolingSchedule createBudgetedCoolingSchedule() {
+        final long iterations = HEURISTICS_BUDGET.getMaxEvaluations() / SA_NUMBER_OF_NEIGHBORHOOD_SEARCHES;
+        final double coolingRate = 1 - Math.pow(SA_COLD_TEMPERATURE / SA_INITIAL_TEMPERATURE, 1.0 / (iterations + 1));
+        return new GeometricCoolingSchedule(SA_INITIAL_TEMPERATURE, SA_COLD_TEMPERATURE, coolingRate);
+    }
+
+    private static TabuSearchHeuristic createTabuSearchHeuristic(final long seed) {
+        final TabuSearchHeuristic heuristic = new TabuSearchHeuristic();
+        heuristic.setSeed(seed);
+        heuristic.setTenure(TS_TENURE);
+        heuristic.setSearchesByIteration(SA_NUMBER_OF_NEIGHBORHOOD_SEARCHES);
+        heuristic.setBudget(new SearchBudget(HEURISTICS_BUDGET));
+        return heuristic;
+    }
+
     private List<Cloudlet> createCloudlets(final ContinuousDistribution rand) {
         final List<Cloudlet> list = new ArrayList<>(CLOUDLETS_TO_CREATE);
         for (int i = 0; i < CLOUDLETS_TO_CREATE; i++) {
@@ -195,8 +255,27 @@ public class DatacenterBrokersMappingComparison {
 
     private void print(final boolean verbose) {
         final double brokersMappingCost = computeBrokersMappingCost(verbose);
-        System.out.printf(
-            "The solution based on %s mapper costs %.2f.%n", broker.getClass().getSimpleName(), brokersMappingCost);
+        final String mapper = broker instanceof DatacenterBrokerHeuristic heuristicBroker
+            ? "%s (%s)".formatted(broker.getClass().getSimpleName(), heuristicBroker.getHeuristic().getClass().getSimpleName())
+            : broker.getClass().getSimpleName();
+        System.out.printf("The solution based on %s mapper costs %.2f.%n", mapper, brokersMappingCost);
+        if (broker instanceof DatacenterBrokerHeuristic heuristicBroker) {
+            final Heuristic<CloudletToVmMappingSolution> heuristic = heuristicBroker.getHeuristic();
+            final SearchBudget budget = getBudget(heuristic);
+            final String evaluations = budget == null ? "" : " (%d evaluations)".formatted(budget.getEvaluations());
+            System.out.printf("    Solved in %.3f seconds%s.%n", heuristic.getSolveTime(), evaluations);
+        }
+    }
+
+    /**
+     * Gets the budget of a heuristic, to show the work it did, or null if it has no budget.
+     */
+    private static SearchBudget getBudget(final Heuristic<CloudletToVmMappingSolution> heuristic) {
+        if (heuristic instanceof SimulatedAnnealingHeuristic saHeuristic) {
+            return saHeuristic.getBudget();
+        }
+
+        return heuristic instanceof TabuSearchHeuristic tsHeuristic ? tsHeuristic.getBudget() : null;
     }
 
     /**
@@ -0,0 +1,375 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.examples.performance;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicyBestFit;
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicyFirstFit;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerSpaceShared;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.util.BytesConversion;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.cloudsimplus.util.Log;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toCollection;
+
+/**
+ * A scalability suite for the whole simulation engine.
+ * Differently from the {@link PerformanceExample1} and {@link UtilizationModelStochasticPerformance},
+ * which measure a single fixed configuration, it runs the same simulation
+ * for geometrically growing numbers of Hosts, VMs and Cloudlets,
+ * for every combination of {@link VmAllocationPolicy}, scheduling interval and {@link CloudletScheduler}.
+ *
+ * <p>For each point, it records the wall time, simulated time, number of processed events,
+ * peak heap usage and GC time, writing all of them to a CSV report.
+ * The report also includes the scaling exponent of the wall time since the previous size
+ * of the same configuration: {@code log(time ratio) / log(size ratio)}.
+ * An exponent close to 1 means the time grows linearly with the simulation size,
+ * while values clearly above 1 reveal super-linear scaling in the event loop.</p>
+ *
+ * <p>The points run sequentially, since running them in parallel would mix their
+ * time and memory measurements. The output file can be given as the first command line argument.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+public class ScalabilityBenchmark {
+    private static final Path DEFAULT_OUTPUT_FILE = Path.of("scalability-report.csv");
+
+    private static final int DEFAULT_INITIAL_HOSTS = 50;
+    private static final int DEFAULT_SCALE_FACTOR = 2;
+    private static final int DEFAULT_STEPS = 5;
+
+    private static final int HOST_PES = 16;
+    private static final int VMS_BY_HOST = 2;
+    private static final int VM_PES = 4;
+    private static final int CLOUDLETS_BY_VM = 2;
+    private static final int CLOUDLET_PES = 2;
+    private static final long CLOUDLET_LENGTH = 100_000;
+
+    /**
+     * The percentage of RAM and BW each Cloudlet will request during all simulation execution
+     * (in scale from 0 to 1).
+     */
+    private static final double RAM_BW_RESOURCE_UTILIZATION_PERCENT = 0.2;
+
+    private int initialHosts = DEFAULT_INITIAL_HOSTS;
+    private int scaleFactor = DEFAULT_SCALE_FACTOR;
+    private int steps = DEFAULT_STEPS;
+
+    /**
+     * Functions that create a new instance of each {@link VmAllocationPolicy} to evaluate,
+     * since a policy cannot be shared between simulations.
+     */
+    private final Map<String, Supplier<VmAllocationPolicy>> vmAllocationPolicies = new LinkedHashMap<>();
+    private final Map<String, Supplier<CloudletScheduler>> cloudletSchedulers = new LinkedHashMap<>();
+    private final List<Double> schedulingIntervals = new ArrayList<>();
+
+    /**
+     * The measures of a single simulation run.
+     *
+     * @param vmAllocationPolicy the name of the {@link VmAllocationPolicy} used
+     * @param cloudletScheduler the name of the {@link CloudletScheduler} used
+     * @param schedulingInterval the Datacenter scheduling interval (in seconds)
+     * @param hosts the number of Hosts
+     * @param vms the number of VMs
+     * @param cloudlets the number of Cloudlets
+     * @param wallTimeSecs the time to build and run the simulation (in seconds)
+     * @param simulatedTimeSecs the simulation clock when it finished (in seconds)
+     * @param events the number of events processed
+     * @param peakHeapMB the peak usage of the heap during the run (in Megabytes)
+     * @param gcTimeSecs the time spent on garbage collection during the run (in seconds)
+     * @param wallTimeScalingExponent the wall time scaling exponent since the previous size
+     *                                of the same configuration, or NaN for the first size
+     */
+    public record ScalabilityPoint(
+        String vmAllocationPolicy, String cloudletScheduler, double schedulingInterval,
+        int hosts, int vms, int cloudlets,
+        double wallTimeSecs, double simulatedTimeSecs, long events,
+        double peakHeapMB, double gcTimeSecs, double wallTimeScalingExponent)
+    {
+        public static String getCsvHeader() {
+            return "vmAllocationPolicy,cloudletScheduler,schedulingInterval,hosts,vms,cloudlets," +
+                   "wallTimeSecs,simulatedTimeSecs,events,peakHeapMB,gcTimeSecs,wallTimeScalingExponent";
+        }
+
+        public String toCsvRow() {
+            return String.format(
+                Locale.ROOT, "%s,%s,%s,%d,%d,%d,%s,%s,%d,%s,%s,%s",
+                vmAllocationPolicy, cloudletScheduler, schedulingInterval, hosts, vms, cloudlets,
+                wallTimeSecs, simulatedTimeSecs, events, peakHeapMB, gcTimeSecs, wallTimeScalingExponent);
+        }
+    }
+
+    public static void main(String[] args) {
+        final Path outputFile = args.length > 0 ? Path.of(args[0]) : DEFAULT_OUTPUT_FILE;
+        final List<ScalabilityPoint> points =
+            new ScalabilityBenchmark()
+                .addVmAllocationPolicy("FirstFit", VmAllocationPolicyFirstFit::new)
+                .addVmAllocationPolicy("BestFit", VmAllocationPolicyBestFit::new)
+                .addCloudletScheduler("TimeShared", CloudletSchedulerTimeShared::new)
+                .addCloudletScheduler("SpaceShared", CloudletSchedulerSpaceShared::new)
+                .addSchedulingInterval(0)
+                .addSchedulingInterval(10)
+                .run();
+
+        writeCsv(points, outputFile);
+        System.out.printf("%d points written to %s%n", points.size(), outputFile);
+    }
+
+    public ScalabilityBenchmark() {
+        Log.setLevel(ch.qos.logback.classic.Level.WARN);
+    }
+
+    /**
+     * Sets how the simulation size grows: the number of Hosts starts at a given value
+     * and is multiplied by a scale factor at each step. The number of VMs and Cloudlets
+     * grows proportionally.
+     *
+     * @param initialHosts the number of Hosts of the first step
+     * @param scaleFactor the value to multiply the number of Hosts at each step
+     * @param steps the number of sizes to run
+     */
+    public ScalabilityBenchmark setScaling(final int initialHosts, final int scaleFactor, final int steps) {
+        if (initialHosts <= 0 || scaleFactor <= 1 || steps <= 0) {
+            throw new IllegalArgumentException("The initial number of Hosts and steps must be positive and the scale factor greater than 1.");
+        }
+        this.initialHosts = initialHosts;
+        this.scaleFactor = scaleFactor;
+        this.steps = steps;
+        return this;
+    }
+
+    public ScalabilityBenchmark addVmAllocationPolicy(final String name, final Supplier<VmAllocationPolicy> policySupplier) {
+        vmAllocationPolicies.put(name, policySupplier);
+        return this;
+    }
+
+    public ScalabilityBenchmark addCloudletScheduler(final String name, final Supplier<CloudletScheduler> schedulerSupplier) {
+        cloudletSchedulers.put(name, schedulerSupplier);
+        return this;
+    }
+
+    /**
+     * Adds a Datacenter scheduling interval to evaluate.
+     * @param schedulingInterval the interval in seconds (0 to update Cloudlets processing just when some event happens)
+     */
+    public ScalabilityBenchmark addSchedulingInterval(final double schedulingInterval) {
+        schedulingIntervals.add(schedulingInterval);
+        return this;
+    }
+
+    /**
+     * Runs all sizes for every configuration.
+     * @return the measures of each run, sorted by configuration and then by size
+     */
+    public List<ScalabilityPoint> run() {
+        if (vmAllocationPolicies.isEmpty() || cloudletSchedulers.isEmpty() || schedulingIntervals.isEmpty()) {
+            throw new IllegalStateException("At least one VmAllocationPolicy, CloudletScheduler and scheduling interval must be added.");
+        }
+
+        warmUp();
+        final List<ScalabilityPoint> points = new ArrayList<>();
+        for (final var policy : vmAllocationPolicies.entrySet()) {
+            for (final var scheduler : cloudletSchedulers.entrySet()) {
+                for (final double schedulingInterval : schedulingIntervals) {
+                    ScalabilityPoint previous = null;
+                    int hosts = initialHosts;
+                    for (int step = 0; step < steps; step++) {
+                        previous = runPoint(policy.getKey(), policy.getValue(), scheduler.getKey(), scheduler.getValue(), schedulingInterval, hosts, previous);
+                        points.add(previous);
+                        System.out.println(previous.toCsvRow());
+                        hosts *= scaleFactor;
+                    }
+                }
+            }
+        }
+
+        return points;
+    }
+
+    /**
+     * Runs the smallest simulation of the first configuration and discards its measures,
+     * so that the first point doesn't include the JIT compilation of the simulation engine.
+     */
+    private void warmUp() {
+        final var policy = vmAllocationPolicies.entrySet().iterator().next();
+        final var scheduler = cloudletSchedulers.entrySet().iterator().next();
+        runPoint(policy.getKey(), policy.getValue(), scheduler.getKey(), scheduler.getValue(), schedulingIntervals.get(0), initialHosts, null);
+    }
+
+    private ScalabilityPoint runPoint(
+        final String policyName, final Supplier<VmAllocationPolicy> policySupplier,
+        final String schedulerName, final Supplier<CloudletScheduler> schedulerSupplier,
+        final double schedulingInterval, final int hosts, final ScalabilityPoint previous)
+    {
+        final int vms = hosts * VMS_BY_HOST;
+        final int cloudlets = vms * CLOUDLETS_BY_VM;
+
+        // Collects the garbage of previous runs, so that it isn't accounted to this one
+        System.gc();
+        final List<MemoryPoolMXBean> heapPools = getHeapPools();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        final long gcStartMillis = getGcTimeMillis();
+        final long startNanos = System.nanoTime();
+
+        final CloudSim simulation = new CloudSim();
+        final long[] events = {0};
+        simulation.addOnEventProcessingListener(evt -> events[0]++);
+        new DatacenterSimple(simulation, createHosts(hosts), policySupplier.get())
+            .setSchedulingInterval(schedulingInterval);
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        final List<Vm> vmList = createVms(vms, schedulerSupplier);
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(createCloudlets(cloudlets));
+        simulation.start();
+
+        final double wallTimeSecs = (System.nanoTime() - startNanos) / 1e9;
+        final double gcTimeSecs = (getGcTimeMillis() - gcStartMillis) / 1000.0;
+        final double peakHeapMB = BytesConversion.bytesToMegaBytes(
+            heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum());
+
+        final double exponent = previous == null ?
+                                    Double.NaN :
+                                    Math.log(wallTimeSecs / previous.wallTimeSecs()) / Math.log(hosts / (double) previous.hosts());
+
+        return new ScalabilityPoint(
+            policyName, schedulerName, schedulingInterval, hosts, vms, cloudlets,
+            wallTimeSecs, simulation.clock(), events[0], peakHeapMB, gcTimeSecs, exponent);
+    }
+
+    private static List<MemoryPoolMXBean> getHeapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans()
+                                .stream()
+                                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                                .toList();
+    }
+
+    /**
+     * Gets the total time spent by all garbage collectors since the JVM started.
+     */
+    private static long getGcTimeMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans()
+                                .stream()
+                                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                                .filter(time -> time > 0)
+                                .sum();
+    }
+
+    private List<Host> createHosts(final int hosts) {
+        return IntStream.range(0, hosts)
+                        .mapToObj(i -> createHost())
+                        .collect(toCollection(() -> new ArrayList<>(hosts)));
+    }
+
+    private Host createHost() {
+        final List<Pe> peList =
+            IntStream.range(0, HOST_PES)
+                     .mapToObj(i -> new PeSimple(1000))
+                     .collect(toCollection(() -> new ArrayList<>(HOST_PES)));
+
+        final long ram = 20480; //in Megabytes
+        final long bw = 10000; //in Megabits/s
+        final long storage = 1000000; //in Megabytes
+        return new HostSimple(ram, bw, storage, peList).setVmScheduler(new VmSchedulerTimeShared());
+    }
+
+    private List<Vm> createVms(final int vms, final Supplier<CloudletScheduler> schedulerSupplier) {
+        final List<Vm> list = new ArrayList<>(vms);
+        for (int i = 0; i < vms; i++) {
+            final Vm vm =
+                new VmSimple(i, 1000, VM_PES)
+                    .setCloudletScheduler(schedulerSupplier.get())
+                    .setRam(512).setBw(1000).setSize(10000);
+            list.add(vm);
+        }
+
+        return list;
+    }
+
+    private List<Cloudlet> createCloudlets(final int cloudlets) {
+        final UtilizationModel ramBwModel = new UtilizationModelDynamic(RAM_BW_RESOURCE_UTILIZATION_PERCENT);
+        final UtilizationModel cpuModel = new UtilizationModelFull();
+        final List<Cloudlet> list = new ArrayList<>(cloudlets);
+        for (int i = 0; i < cloudlets; i++) {
+            final Cloudlet cloudlet =
+                new CloudletSimple(i, CLOUDLET_LENGTH, CLOUDLET_PES)
+                    .setFileSize(1024)
+                    .setOutputSize(1024)
+                    .setUtilizationModelBw(ramBwModel)
+                    .setUtilizationModelRam(ramBwModel)
+                    .setUtilizationModelCpu(cpuModel);
+            list.add(cloudlet);
+        }
+
+        return list;
+    }
+
+    /**
+     * Writes the points to a CSV file, one line for each point.
+     */
+    public static void writeCsv(final List<ScalabilityPoint> points, final Path file) {
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            writer.write(ScalabilityPoint.getCsvHeader() + System.lineSeparator());
+            for (final ScalabilityPoint point : points) {
+                writer.write(point.toCsvRow() + System.lineSeparator());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing the scalability report to " + file, e);
+        }
+    }
+}